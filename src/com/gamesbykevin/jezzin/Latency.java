@@ -0,0 +1,229 @@
+package com.gamesbykevin.jezzin;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.SystemClock;
+
+/**
+ * Measures the time from a swipe to the first frame showing the wall it started.<br>
+ * The time of the touch event ({@link android.view.MotionEvent#getEventTime()}) is compared to when the wall is started,
+ * and to when the next frame is posted to the screen. Each is added to a histogram that can be drawn over the game or dumped as text.
+ * All times use {@link SystemClock#uptimeMillis()}, the same clock as the touch events.
+ * @author GOD
+ */
+public final class Latency
+{
+    /**
+     * The stages we measure
+     */
+    public enum Stage
+    {
+        //from the touch event to the wall starting in the game thread
+        InputToWall,
+        
+        //from the wall starting to the frame showing it being posted
+        WallToFrame,
+        
+        //the total, from the touch event to the frame being posted
+        InputToFrame
+    }
+    
+    /**
+     * The width of each bucket of the histograms (milliseconds)
+     */
+    public static final int BUCKET_SIZE = 5;
+    
+    /**
+     * The number of buckets, anything longer goes in an extra bucket at the end
+     */
+    public static final int BUCKETS = 40;
+    
+    /**
+     * The most walls waiting for a frame, one per finger
+     */
+    private static final int PENDING_MAX = 10;
+    
+    //the number of times in each bucket of each stage
+    private static final int[][] HISTOGRAMS = new int[Stage.values().length][BUCKETS + 1];
+    
+    //the number of times, and the longest time, of each stage
+    private static final int[] COUNTS = new int[Stage.values().length];
+    private static final long[] MAXIMUMS = new long[Stage.values().length];
+    
+    //the walls waiting for a frame, the time of the touch event and the time the wall started
+    private static final long[] PENDING_INPUT = new long[PENDING_MAX], PENDING_WALL = new long[PENDING_MAX];
+    
+    //the number of walls waiting for a frame
+    private static int pending = 0;
+    
+    //the text of the overlay
+    private static Paint paint;
+    
+    /**
+     * A wall was started by a swipe, called from the game thread
+     * @param eventTime The time of the touch event that started the wall
+     */
+    public static synchronized void wall(final long eventTime)
+    {
+        final long time = SystemClock.uptimeMillis();
+        
+        add(Stage.InputToWall, time - eventTime);
+        
+        //wait for the frame showing the wall
+        if (pending < PENDING_MAX)
+        {
+            PENDING_INPUT[pending] = eventTime;
+            PENDING_WALL[pending] = time;
+            pending++;
+        }
+    }
+    
+    /**
+     * A frame was posted to the screen, called from the game thread after every frame
+     */
+    public static synchronized void posted()
+    {
+        //no walls waiting
+        if (pending == 0)
+            return;
+        
+        final long time = SystemClock.uptimeMillis();
+        
+        for (int i = 0; i < pending; i++)
+        {
+            add(Stage.WallToFrame, time - PENDING_WALL[i]);
+            add(Stage.InputToFrame, time - PENDING_INPUT[i]);
+        }
+        
+        pending = 0;
+    }
+    
+    /**
+     * Add the time to the histogram of the stage
+     * @param stage The stage measured
+     * @param duration The time of the stage (milliseconds)
+     */
+    private static void add(final Stage stage, final long duration)
+    {
+        final int bucket = (int)Math.min(BUCKETS, Math.max(0, duration) / BUCKET_SIZE);
+        
+        HISTOGRAMS[stage.ordinal()][bucket]++;
+        COUNTS[stage.ordinal()]++;
+        MAXIMUMS[stage.ordinal()] = Math.max(MAXIMUMS[stage.ordinal()], duration);
+    }
+    
+    /**
+     * Get the percentile of the stage
+     * @param stage The stage measured
+     * @param percent The percentile 0 - 100
+     * @return The end of the bucket containing the percentile (milliseconds), 0 if nothing was measured
+     */
+    public static synchronized long getPercentile(final Stage stage, final int percent)
+    {
+        if (COUNTS[stage.ordinal()] == 0)
+            return 0;
+        
+        //the number of times at or below the percentile
+        final int target = (int)Math.ceil(COUNTS[stage.ordinal()] * (percent / 100.0));
+        
+        int total = 0;
+        
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            total += HISTOGRAMS[stage.ordinal()][bucket];
+            
+            if (total >= target)
+                return (bucket + 1) * BUCKET_SIZE;
+        }
+        
+        //the percentile is in the extra bucket
+        return MAXIMUMS[stage.ordinal()];
+    }
+    
+    /**
+     * Get the summary of the stage
+     * @param stage The stage measured
+     * @return The count, median, 95th percentile and the longest time
+     */
+    public static synchronized String getSummary(final Stage stage)
+    {
+        return stage.toString() + " n=" + COUNTS[stage.ordinal()] +
+            " p50=" + getPercentile(stage, 50) + "ms" +
+            " p95=" + getPercentile(stage, 95) + "ms" +
+            " max=" + MAXIMUMS[stage.ordinal()] + "ms";
+    }
+    
+    /**
+     * Get the report of every stage, the summary followed by the count in each bucket that isn't empty
+     * @return The report as text
+     */
+    public static synchronized String getReport()
+    {
+        StringBuilder report = new StringBuilder();
+        
+        for (Stage stage : Stage.values())
+        {
+            report.append(getSummary(stage)).append('\n');
+            
+            for (int bucket = 0; bucket <= BUCKETS; bucket++)
+            {
+                final int count = HISTOGRAMS[stage.ordinal()][bucket];
+                
+                if (count == 0)
+                    continue;
+                
+                if (bucket < BUCKETS)
+                {
+                    report.append("  ").append(bucket * BUCKET_SIZE).append('-').append((bucket + 1) * BUCKET_SIZE).append("ms ");
+                }
+                else
+                {
+                    report.append("  >").append(BUCKETS * BUCKET_SIZE).append("ms ");
+                }
+                
+                report.append(count).append('\n');
+            }
+        }
+        
+        return report.toString();
+    }
+    
+    /**
+     * Remove every measurement
+     */
+    public static synchronized void reset()
+    {
+        for (int i = 0; i < HISTOGRAMS.length; i++)
+        {
+            for (int bucket = 0; bucket <= BUCKETS; bucket++)
+            {
+                HISTOGRAMS[i][bucket] = 0;
+            }
+            
+            COUNTS[i] = 0;
+            MAXIMUMS[i] = 0;
+        }
+        
+        pending = 0;
+    }
+    
+    /**
+     * Draw the summary of each stage in the top left corner
+     * @param canvas Object to write pixels to
+     */
+    public static void render(final Canvas canvas)
+    {
+        if (paint == null)
+        {
+            paint = new Paint();
+            paint.setTextSize(14f);
+            paint.setColor(Color.YELLOW);
+        }
+        
+        for (Stage stage : Stage.values())
+        {
+            canvas.drawText(getSummary(stage), 5, 15 + (stage.ordinal() * 16), paint);
+        }
+    }
+}
\ No newline at end of file
@@ -9,6 +9,9 @@ import android.view.WindowManager;
 
 import com.gamesbykevin.jezzin.panel.GamePanel;
 
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
 public class MainActivity extends Activity
 {
     //our game panel
@@ -39,6 +42,24 @@ public class MainActivity extends Activity
      */
     public static final String WEBPAGE_GAME_INSTRUCTIONS_URL = "http://gamesbykevin.com/2015/10/25/jezzin/";
     
+    /**
+     * The intent extra with the strategy that plays instead of the touch screen, used for soak tests and performance traces.<br>
+     * adb shell am start -n com.gamesbykevin.jezzin/.MainActivity --es strategy solver
+     */
+    public static final String EXTRA_STRATEGY = "strategy";
+    
+    /**
+     * The intent extra with the file name of a saved replay to play back when a game is started, or "latest" for the most recent.<br>
+     * adb shell am start -n com.gamesbykevin.jezzin/.MainActivity --es replay latest
+     */
+    public static final String EXTRA_REPLAY = "replay";
+    
+    /**
+     * The intent extra to advance the clock a fixed amount each update, so runs can be compared.<br>
+     * adb shell am start -n com.gamesbykevin.jezzin/.MainActivity --ez deterministic true
+     */
+    public static final String EXTRA_DETERMINISTIC = "deterministic";
+    
     /**
      * Called when the activity is first created
      * @param savedInstanceState 
@@ -46,6 +67,9 @@ public class MainActivity extends Activity
     @Override
     public void onCreate(Bundle savedInstanceState)
     {
+        //the main activity is starting
+        Startup.mark(Startup.Mark.Main);
+        
         //turn the title off
         super.requestWindowFeature(Window.FEATURE_NO_TITLE);
 
@@ -128,6 +152,49 @@ public class MainActivity extends Activity
         super.onPause();
     }
     
+    /**
+     * Add the start up times and swipe latency to the state of the activity, see "adb shell dumpsys activity com.gamesbykevin.jezzin"
+     */
+    @Override
+    public void dump(final String prefix, final FileDescriptor fd, final PrintWriter writer, final String[] args)
+    {
+        super.dump(prefix, fd, writer, args);
+        
+        writer.print(prefix);
+        writer.println("Start up: " + Startup.getReport());
+        
+        writer.print(prefix);
+        writer.println("Swipe latency:");
+        writer.print(Latency.getReport());
+    }
+    
+    /**
+     * Get the strategy requested when the app was started
+     * @return The name of the strategy "largest", "random" or "solver", null to let the user play
+     */
+    public String getStrategy()
+    {
+        return getIntent().getStringExtra(EXTRA_STRATEGY);
+    }
+    
+    /**
+     * Get the replay requested when the app was started
+     * @return The file name of the replay, "latest" for the most recent, null to play a new level
+     */
+    public String getReplay()
+    {
+        return getIntent().getStringExtra(EXTRA_REPLAY);
+    }
+    
+    /**
+     * Was deterministic mode requested when the app was started?
+     * @return true = yes, false = no
+     */
+    public boolean isDeterministic()
+    {
+        return getIntent().getBooleanExtra(EXTRA_DETERMINISTIC, false);
+    }
+    
     /**
      * Navigate to the desired web page
      * @param url The desired url
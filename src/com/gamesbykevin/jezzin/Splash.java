@@ -7,7 +7,8 @@ import android.os.Handler;
 import android.view.Window;
 import android.view.WindowManager;
 
-import com.gamesbykevin.jezzin.assets.Assets;
+import com.gamesbykevin.jezzin.assets.Warmup;
+import com.gamesbykevin.jezzin.screen.ScreenManager;
 
 /**
  * Splash loading screen
@@ -16,9 +17,15 @@ import com.gamesbykevin.jezzin.assets.Assets;
 public class Splash extends Activity
 {
     /**
-     * Time delay to show the splash screen
+     * The most time to show the splash screen, in case the assets are taking too long
      */
-    private static final long TIME_DELAY = 1500L;
+    private static final long TIME_LIMIT = 5000L;
+    
+    //used to start the main activity on the main thread
+    private Handler handler;
+    
+    //has the main activity been started
+    private boolean started = false;
     
     /**
      * Called when the activity is first created
@@ -27,6 +34,9 @@ public class Splash extends Activity
     @Override
     public void onCreate(Bundle savedInstanceState)
     {
+        //the launch starts now
+        Startup.mark(Startup.Mark.Splash);
+        
         //turn the title off
         super.requestWindowFeature(Window.FEATURE_NO_TITLE);
 
@@ -60,32 +70,47 @@ public class Splash extends Activity
         //call parent functionality
         super.onStart();
         
-        try
-        {
-            //load the game assets
-            Assets.load(this);
-        }
-        catch (Exception e)
-        {
-            e.printStackTrace();
-        }
+        //create our handler on the main thread
+        this.handler = new Handler();
         
-        //add a delay to show the splash image before starting main activity
-        new Handler().postDelayed(new Runnable() {
+        //start the main activity once the menu assets are loaded
+        final Runnable start = new Runnable() {
  
             /**
-             * Run will be executed once the time delay is over
+             * Run will be executed once the assets are loaded, or the time limit is over
              */
             @Override
             public void run() {
                 
+                //the assets and the time limit can both finish
+                if (started)
+                    return;
+                
+                started = true;
+                
                 //start our main activity
                 startActivity(new Intent(Splash.this, MainActivity.class));
  
                 //close this activity
                 finish();
             }
-        }, TIME_DELAY);
+        };
+        
+        //load the menu assets while the splash image is displayed
+        new Warmup().start(this, ScreenManager.State.Ready, new Runnable() {
+            
+            @Override
+            public void run() {
+                
+                Startup.mark(Startup.Mark.WarmupDone);
+                
+                //we are on a thread of the warm up, start the activity on the main thread
+                handler.post(start);
+            }
+        });
+        
+        //don't wait forever
+        handler.postDelayed(start, TIME_LIMIT);
     }
     
     /**
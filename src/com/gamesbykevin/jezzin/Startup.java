@@ -0,0 +1,109 @@
+package com.gamesbykevin.jezzin;
+
+import com.gamesbykevin.jezzin.thread.MainThread;
+
+/**
+ * Records when each step of the start up happens, from the splash screen to the first frame of the menu.<br>
+ * The times are reported once the first frame is drawn, see {@link #getReport()}. The first launch of the process is a cold start,
+ * any launch after that (the process was still alive) is a warm start.
+ * @author GOD
+ */
+public final class Startup
+{
+    /**
+     * The steps of the start up, in order
+     */
+    public enum Mark
+    {
+        Splash, WarmupDone, Main, Surface, FirstFrame
+    }
+    
+    //when each step happened (nanoseconds), 0 if it hasn't happened during this launch
+    private static final long[] TIMES = new long[Mark.values().length];
+    
+    //are we in the middle of a launch
+    private static boolean active = false;
+    
+    //the number of launches reported
+    private static int launches = 0;
+    
+    //the times of the latest launch, empty until the first frame is drawn
+    private static String report = "";
+    
+    /**
+     * Record the step, only the first time it happens during a launch
+     * @param mark The step that happened
+     */
+    public static synchronized void mark(final Mark mark)
+    {
+        //a launch starts at the splash screen, or the main activity if the splash screen was skipped
+        if (mark == Mark.Splash || (mark == Mark.Main && !active))
+        {
+            for (int i = 0; i < TIMES.length; i++)
+            {
+                TIMES[i] = 0;
+            }
+            
+            active = true;
+        }
+        
+        //nothing to record if we aren't launching, or the step was already recorded
+        if (!active || TIMES[mark.ordinal()] != 0)
+            return;
+        
+        TIMES[mark.ordinal()] = System.nanoTime();
+        
+        //the launch is complete
+        if (mark == Mark.FirstFrame)
+        {
+            report();
+            active = false;
+        }
+    }
+    
+    /**
+     * Get the report of the latest launch
+     * @return The time of each step since the start of the launch, empty if no launch has completed
+     */
+    public static synchronized String getReport()
+    {
+        return report;
+    }
+    
+    /**
+     * Store the time of each step since the start of the launch, and print it if we are debugging
+     */
+    private static void report()
+    {
+        //the first step recorded is the start of the launch
+        long start = 0;
+        
+        for (int i = 0; i < TIMES.length && start == 0; i++)
+        {
+            start = TIMES[i];
+        }
+        
+        StringBuilder result = new StringBuilder((launches == 0) ? "Cold start" : "Warm start");
+        
+        for (Mark mark : Mark.values())
+        {
+            result.append(", ").append(mark.toString()).append(' ');
+            
+            if (TIMES[mark.ordinal()] == 0)
+            {
+                result.append('-');
+            }
+            else
+            {
+                result.append((TIMES[mark.ordinal()] - start) / 1000000L).append(" ms");
+            }
+        }
+        
+        launches++;
+        
+        report = result.toString();
+        
+        if (MainThread.DEBUG)
+            System.out.println(report);
+    }
+}
\ No newline at end of file
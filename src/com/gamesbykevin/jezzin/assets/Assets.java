@@ -1,8 +1,20 @@
 package com.gamesbykevin.jezzin.assets;
 
 import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
 
 import com.gamesbykevin.androidframework.resources.*;
+import com.gamesbykevin.jezzin.screen.ScreenManager;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class will contain all of our assets
@@ -156,62 +168,408 @@ public class Assets
     }
     
     /**
-     * Load the specified background image.<br>
-     * Since there are many background images, we only load 1 at a time
+     * The most memory the images can use, if the device allows it (bytes)
+     */
+    private static final int BUDGET_MAX = 16 * 1024 * 1024;
+    
+    //the activity needed to load an asset the first time it is used
+    private static Activity activity;
+    
+    //the sorted file names of each directory, the key of an asset is the index of its file
+    private static final HashMap<String, String[]> FILES = new HashMap<String, String[]>();
+    
+    //the images in memory, the least recently used image is first
+    private static final LinkedHashMap<Object, Bitmap> IMAGES = new LinkedHashMap<Object, Bitmap>(16, 0.75f, true);
+    
+    //the number of times each image is pinned, a pinned image is never removed
+    private static final HashMap<Object, Integer> PINS = new HashMap<Object, Integer>();
+    
+    //the lock for the fonts and audio, they aren't safe to load from many threads
+    private static final Object RESOURCES = new Object();
+    
+    //the memory used by the images in memory (bytes)
+    private static int used = 0;
+    
+    //the memory the images can use before the least recently used are removed (bytes)
+    private static int budget = (int)Math.min(BUDGET_MAX, Runtime.getRuntime().maxMemory() / 8);
+    
+    /**
+     * Load the assets needed to display the menu.<br>
+     * All other assets are loaded when they are first used, or ahead of time with {@link #preload(Activity, ScreenManager.State)}.<br>
+     * If an asset already exists, it won't be loaded again
      * @param activity Object containing AssetManager needed to load assets
-     * @param key Unique key to access this image asset
      * @throws Exception 
      */
-    public static final void loadBackgroundImage(final Activity activity, final ImageGameBackgroundKey key) throws Exception
+    public static final void load(final Activity activity) throws Exception
+    {
+        //load all text files
+        Files.load(activity, TextKey.values(), DIRECTORY_TEXT, true);
+        
+        //load everything the menu needs
+        preload(activity, ScreenManager.State.Ready);
+    }
+    
+    /**
+     * Load the assets needed by a state, so they aren't loaded in the middle of it.<br>
+     * If an asset already exists, it won't be loaded again
+     * @param activity Object containing AssetManager needed to load assets
+     * @param state The state about to be displayed
+     * @throws Exception
+     */
+    public static final void preload(final Activity activity, final ScreenManager.State state) throws Exception
+    {
+        synchronized (Assets.class)
+        {
+            //store the activity so assets can be loaded when needed
+            Assets.activity = activity;
+            
+            for (Object key : getImageKeys(state))
+            {
+                loadImage(key);
+            }
+        }
+        
+        loadResources(activity, state);
+    }
+    
+    /**
+     * Get the images needed by a state
+     * @param state The state about to be displayed
+     * @return The keys of the images
+     */
+    static List<Object> getImageKeys(final ScreenManager.State state)
     {
-        Images.loadImage(activity, key, DIRECTORY_GAME_IMAGE_BACKGROUNDS);
+        List<Object> keys = new ArrayList<Object>();
+        
+        switch (state)
+        {
+            //the game needs its own images
+            case Running:
+                keys.addAll(Arrays.asList(ImageGameKey.values()));
+                break;
+                
+            //every other state is a menu, the splash image is only needed when the game starts
+            case Ready:
+            case Paused:
+            case Options:
+            case Exit:
+            case GameOver:
+            default:
+                keys.addAll(Arrays.asList(ImageMenuKey.values()));
+                keys.remove(ImageMenuKey.Splash);
+                break;
+        }
+        
+        return keys;
     }
     
     /**
-     * Load all assets.<br>
+     * Load the fonts and audio needed by a state.<br>
      * If an asset already exists, it won't be loaded again
      * @param activity Object containing AssetManager needed to load assets
+     * @param state The state about to be displayed
+     * @throws Exception
+     */
+    static void loadResources(final Activity activity, final ScreenManager.State state) throws Exception
+    {
+        synchronized (RESOURCES)
+        {
+            switch (state)
+            {
+                //the game needs its font and sound effects, the music is streamed by Music
+                case Running:
+                    Font.load(activity, FontGameKey.values(), DIRECTORY_GAME_FONT, true);
+                    Effects.load(activity);
+                    break;
+                
+                //every other state is a menu
+                case Ready:
+                case Paused:
+                case Options:
+                case Exit:
+                case GameOver:
+                default:
+                    Font.load(activity, FontMenuKey.values(), DIRECTORY_MENU_FONT, true);
+                    Audio.load(activity, AudioMenuKey.values(), DIRECTORY_MENU_AUDIO, true);
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Get the image, it will be loaded if it isn't in memory.<br>
+     * Don't keep a reference to the image, it can be removed once it is no longer used. Use {@link #pinImage(Object)} instead
+     * @param key The key of the image (ImageMenuKey, ImageGameKey or ImageGameBackgroundKey)
+     * @return The image, null if it could not be loaded
+     */
+    public static final synchronized Bitmap getImage(final Object key)
+    {
+        try
+        {
+            loadImage(key);
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+        
+        return IMAGES.get(key);
+    }
+    
+    /**
+     * Get the image and keep it in memory until {@link #unpinImage(Object)} is called.<br>
+     * Use this when an object keeps a reference to the image
+     * @param key The key of the image (ImageMenuKey, ImageGameKey or ImageGameBackgroundKey)
+     * @return The image, null if it could not be loaded
+     */
+    public static final synchronized Bitmap pinImage(final Object key)
+    {
+        //pin first so the image isn't removed to make room for itself
+        PINS.put(key, PINS.containsKey(key) ? PINS.get(key) + 1 : 1);
+        
+        return getImage(key);
+    }
+    
+    /**
+     * Allow the image to be removed when the memory is needed
+     * @param key The key of the image
+     */
+    public static final synchronized void unpinImage(final Object key)
+    {
+        if (!PINS.containsKey(key))
+            return;
+        
+        if (PINS.get(key) > 1)
+        {
+            PINS.put(key, PINS.get(key) - 1);
+        }
+        else
+        {
+            PINS.remove(key);
+            
+            //remove images if we are over our budget
+            trim();
+        }
+    }
+    
+    /**
+     * Set the memory budget, the least recently used images that aren't pinned are removed when it is exceeded
+     * @param budget The memory the images can use (bytes)
+     */
+    public static final synchronized void setBudget(final int budget)
+    {
+        Assets.budget = budget;
+        
+        //remove images if we are now over our budget
+        trim();
+    }
+    
+    /**
+     * Get the memory used
+     * @return The memory used by the images in memory (bytes)
+     */
+    public static final synchronized int getUsed()
+    {
+        return used;
+    }
+    
+    /**
+     * Is the image in memory?
+     * @param key The key of the image
+     * @return true if the image is loaded and hasn't been recycled, false otherwise
+     */
+    static synchronized boolean hasImage(final Object key)
+    {
+        return (IMAGES.containsKey(key) && !IMAGES.get(key).isRecycled());
+    }
+    
+    /**
+     * Get the location of the image file
+     * @param activity Object containing AssetManager needed to list the files
+     * @param key The key of the image
+     * @return The path of the file
+     * @throws Exception
+     */
+    static synchronized String getImagePath(final Activity activity, final Object key) throws Exception
+    {
+        if (key instanceof ImageMenuKey)
+            return getPath(activity, DIRECTORY_MENU_IMAGE, (ImageMenuKey)key);
+        if (key instanceof ImageGameKey)
+            return getPath(activity, DIRECTORY_GAME_IMAGE_MAIN, (ImageGameKey)key);
+        if (key instanceof ImageGameBackgroundKey)
+            return DIRECTORY_GAME_IMAGE_BACKGROUNDS + "/" + ((ImageGameBackgroundKey)key).getFilename();
+        
+        throw new Exception("Image key not handled here: " + key);
+    }
+    
+    /**
+     * Get the location of the audio file
+     * @param activity Object containing AssetManager needed to list the files
+     * @param key The key of the audio
+     * @return The path of the file
      * @throws Exception 
      */
-    public static final void load(final Activity activity) throws Exception
+    static String getAudioPath(final Activity activity, final AudioGameKey key) throws Exception
+    {
+        return getPath(activity, DIRECTORY_GAME_AUDIO, key);
+    }
+    
+    /**
+     * Decode the image file, this doesn't need the lock so many images can be decoded at the same time
+     * @param activity Object containing AssetManager needed to open the file
+     * @param path The path of the file
+     * @return The decoded image
+     * @throws Exception
+     */
+    static Bitmap decodeImage(final Activity activity, final String path) throws Exception
     {
-        //load all images for the menu
-        Images.load(activity, ImageMenuKey.values(), DIRECTORY_MENU_IMAGE, true);
+        InputStream stream = activity.getAssets().open(path);
         
-        //load all fonts for the menu
-        Font.load(activity, FontMenuKey.values(), DIRECTORY_MENU_FONT, true);
+        try
+        {
+            final Bitmap bitmap = BitmapFactory.decodeStream(stream);
+            
+            if (bitmap == null)
+                throw new Exception("Image could not be decoded: " + path);
+            
+            return bitmap;
+        }
+        finally
+        {
+            stream.close();
+        }
+    }
+    
+    /**
+     * Add the decoded image, then remove other images if we are over our budget
+     * @param key The key of the image
+     * @param bitmap The decoded image, recycled if the image was already added by another thread
+     */
+    static synchronized void addImage(final Object key, final Bitmap bitmap)
+    {
+        //another thread added the image first
+        if (hasImage(key))
+        {
+            bitmap.recycle();
+            return;
+        }
         
-        //load all audio for the menu
-        Audio.load(activity, AudioMenuKey.values(), DIRECTORY_MENU_AUDIO, true);
+        //the image was recycled outside of the cache
+        if (IMAGES.containsKey(key))
+            used -= IMAGES.remove(key).getByteCount();
         
-        //load images for the game
-        Images.load(activity, ImageGameKey.values(), DIRECTORY_GAME_IMAGE_MAIN, true);
+        //track the memory of the image
+        IMAGES.put(key, bitmap);
+        used += bitmap.getByteCount();
         
-        //load all audio for the game
-        Audio.load(activity, AudioGameKey.values(), DIRECTORY_GAME_AUDIO, true);
+        //remove other images if we are over our budget
+        trim(key);
+    }
+    
+    /**
+     * Load the image if it isn't in memory, then remove other images if we are over our budget
+     * @param key The key of the image
+     * @throws Exception
+     */
+    private static void loadImage(final Object key) throws Exception
+    {
+        //the image is in memory, checking it marks it as the most recently used
+        if (hasImage(key))
+            return;
         
-        //load all fonts for the game
-        Font.load(activity, FontGameKey.values(), DIRECTORY_GAME_FONT, true);
+        addImage(key, decodeImage(activity, getImagePath(activity, key)));
+    }
+    
+    /**
+     * Remove the least recently used images that aren't pinned until we are within our budget
+     */
+    private static void trim()
+    {
+        trim(null);
+    }
+    
+    /**
+     * Remove the least recently used images that aren't pinned until we are within our budget
+     * @param keep The key of an image that can't be removed, null if there is none
+     */
+    private static void trim(final Object keep)
+    {
+        Iterator<Map.Entry<Object, Bitmap>> iterator = IMAGES.entrySet().iterator();
         
-        //load all text files
-        Files.load(activity, TextKey.values(), DIRECTORY_TEXT, true);
+        while (used > budget && iterator.hasNext())
+        {
+            final Map.Entry<Object, Bitmap> entry = iterator.next();
+            
+            //skip images that are in use
+            if (entry.getKey() == keep || PINS.containsKey(entry.getKey()))
+                continue;
+            
+            //free the memory of the image
+            used -= entry.getValue().getByteCount();
+            entry.getValue().recycle();
+            iterator.remove();
+        }
+    }
+    
+    /**
+     * Get the location of the asset file
+     * @param activity Object containing AssetManager needed to list the files
+     * @param directory The directory of the asset
+     * @param key The key of the asset, the keys are in the same order as the file names
+     * @return The path of the file
+     * @throws Exception
+     */
+    private static String getPath(final Activity activity, final String directory, final Enum<?> key) throws Exception
+    {
+        String[] files;
+        
+        synchronized (FILES)
+        {
+            files = FILES.get(directory);
+            
+            //list the directory the first time it is used
+            if (files == null)
+            {
+                files = activity.getAssets().list(directory);
+                Arrays.sort(files);
+                FILES.put(directory, files);
+            }
+        }
+        
+        return directory + "/" + files[key.ordinal()];
     }
     
     /**
      * Recycle all assets
      */
-    public static void recycle()
+    public static synchronized void recycle()
     {
         try
         {
-            Images.dispose();
-            Font.dispose();
-            Audio.dispose();
-            Files.dispose();
+            synchronized (RESOURCES)
+            {
+                Font.dispose();
+                Audio.dispose();
+                Music.dispose();
+                Effects.dispose();
+                Files.dispose();
+            }
         }
         catch (Exception e)
         {
             e.printStackTrace();
         }
+        
+        //free the memory of every image
+        for (Bitmap bitmap : IMAGES.values())
+        {
+            bitmap.recycle();
+        }
+        
+        //nothing is in memory now
+        IMAGES.clear();
+        PINS.clear();
+        used = 0;
+        activity = null;
     }
 }
\ No newline at end of file
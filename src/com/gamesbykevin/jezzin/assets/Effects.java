@@ -0,0 +1,256 @@
+package com.gamesbykevin.jezzin.assets;
+
+import android.app.Activity;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioManager;
+import android.media.SoundPool;
+import android.os.Process;
+
+import com.gamesbykevin.androidframework.resources.Audio;
+import com.gamesbykevin.jezzin.assets.Assets.AudioGameKey;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays the sound effects of the game from a {@link SoundPool}, the samples are decoded once when loaded.<br>
+ * The game thread only adds a request to a queue and wakes the audio thread, it never waits on the audio.
+ * Each effect has a limit of voices (the oldest is stopped to make room) and a priority used when the pool is full.
+ * @author GOD
+ */
+public final class Effects
+{
+    /**
+     * The most effects that can be heard at the same time
+     */
+    public static final int VOICES_MAX = 4;
+    
+    /**
+     * The number of requests the queue can hold, the requests after that are dropped
+     */
+    private static final int QUEUE_SIZE = 32;
+    
+    //the requests waiting to be played, the game thread adds and the audio thread removes
+    private static final int[] QUEUE = new int[QUEUE_SIZE];
+    
+    //the next request to remove, and the next free spot (these only increase)
+    private static final AtomicInteger HEAD = new AtomicInteger(), TAIL = new AtomicInteger();
+    
+    //the pool playing the samples
+    private static SoundPool pool;
+    
+    //the thread playing the requests
+    private static Thread thread;
+    
+    //the sample of each effect, 0 if there is none
+    private static final int[] SAMPLES = new int[AudioGameKey.values().length];
+    
+    //the most voices of each effect
+    private static final int[] LIMIT = new int[AudioGameKey.values().length];
+    
+    //the priority of each effect, higher is kept when the pool is full
+    private static final int[] PRIORITY = new int[AudioGameKey.values().length];
+    
+    //the streams of each effect, the oldest is replaced first
+    private static final int[][] STREAMS = new int[AudioGameKey.values().length][];
+    
+    //the next stream of each effect to replace
+    private static final int[] NEXT = new int[AudioGameKey.values().length];
+    
+    static
+    {
+        //a wall can be completed often, allow a couple at the same time
+        setVoices(AudioGameKey.ProgressAdd, 2, 0);
+        setVoices(AudioGameKey.LoseLife, 1, 1);
+        
+        //the end of the level is always heard
+        setVoices(AudioGameKey.ProgressComplete, 1, 2);
+        setVoices(AudioGameKey.NoLives, 1, 2);
+        setVoices(AudioGameKey.TimeUp, 1, 2);
+    }
+    
+    /**
+     * Set the voices of the effect
+     * @param key The key of the effect
+     * @param limit The most streams of this effect playing at the same time
+     * @param priority The priority of the effect
+     */
+    private static void setVoices(final AudioGameKey key, final int limit, final int priority)
+    {
+        LIMIT[key.ordinal()] = limit;
+        PRIORITY[key.ordinal()] = priority;
+        STREAMS[key.ordinal()] = new int[limit];
+    }
+    
+    /**
+     * Load the samples of the effects and start the audio thread.<br>
+     * The music isn't an effect, see {@link Music}. If the effects are already loaded nothing is done
+     * @param activity Object containing AssetManager needed to load assets
+     * @throws Exception
+     */
+    public static synchronized void load(final Activity activity) throws Exception
+    {
+        if (pool != null)
+            return;
+        
+        pool = new SoundPool(VOICES_MAX, AudioManager.STREAM_MUSIC, 0);
+        
+        for (AudioGameKey key : AudioGameKey.values())
+        {
+            //only the keys with voices are effects
+            if (LIMIT[key.ordinal()] == 0)
+                continue;
+            
+            AssetFileDescriptor descriptor = activity.getAssets().openFd(Assets.getAudioPath(activity, key));
+            
+            try
+            {
+                //the pool decodes the sample in the background
+                SAMPLES[key.ordinal()] = pool.load(descriptor, 1);
+            }
+            finally
+            {
+                descriptor.close();
+            }
+        }
+        
+        //the thread sleeps until a request is added
+        thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                //the effects should be heard as soon as they are requested
+                Process.setThreadPriority(Process.THREAD_PRIORITY_AUDIO);
+                
+                while (!Thread.currentThread().isInterrupted())
+                {
+                    drain();
+                    LockSupport.park();
+                }
+            }
+        }, "Effects");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Play the effect, called from the game thread.<br>
+     * This only adds the request to the queue, if the queue is full the request is dropped
+     * @param key The key of the effect
+     */
+    public static void play(final AudioGameKey key)
+    {
+        //don't bother the audio thread if we can't hear it
+        if (Audio.isAudioEnabled())
+            add(key.ordinal());
+    }
+    
+    /**
+     * Add a request to the queue and wake the audio thread.<br>
+     * Only one thread (the game thread) adds requests, so no lock is needed
+     * @param request The ordinal of the effect
+     */
+    private static void add(final int request)
+    {
+        final Thread current = thread;
+        
+        //nothing loaded yet
+        if (current == null)
+            return;
+        
+        final int index = TAIL.get();
+        
+        //the queue is full, drop the request instead of waiting
+        if (index - HEAD.get() >= QUEUE_SIZE)
+            return;
+        
+        QUEUE[index % QUEUE_SIZE] = request;
+        
+        //publish the request after it is written
+        TAIL.set(index + 1);
+        
+        LockSupport.unpark(current);
+    }
+    
+    /**
+     * Play every request in the queue, on the audio thread
+     */
+    private static void drain()
+    {
+        //the effects already played in this batch, so a burst of the same effect is only played once
+        int played = 0;
+        
+        while (HEAD.get() != TAIL.get())
+        {
+            final int index = HEAD.get();
+            final int request = QUEUE[index % QUEUE_SIZE];
+            
+            //the spot can be reused now
+            HEAD.set(index + 1);
+            
+            if ((played & (1 << request)) == 0)
+            {
+                start(request);
+                played |= (1 << request);
+            }
+        }
+    }
+    
+    /**
+     * Start a stream of the effect, replacing the oldest stream if the effect is at its limit
+     * @param request The ordinal of the effect
+     */
+    private static synchronized void start(final int request)
+    {
+        if (pool == null || SAMPLES[request] == 0)
+            return;
+        
+        final int[] streams = STREAMS[request];
+        final int next = NEXT[request];
+        
+        //make room for the new voice
+        if (streams[next] != 0)
+            pool.stop(streams[next]);
+        
+        //0 if the sample isn't decoded yet or the pool had no room
+        streams[next] = pool.play(SAMPLES[request], 1f, 1f, PRIORITY[request], 0, 1f);
+        NEXT[request] = (next + 1) % streams.length;
+    }
+    
+    /**
+     * Stop the audio thread and release the pool
+     */
+    public static synchronized void dispose()
+    {
+        if (thread != null)
+        {
+            thread.interrupt();
+            LockSupport.unpark(thread);
+            thread = null;
+        }
+        
+        if (pool != null)
+        {
+            pool.release();
+            pool = null;
+        }
+        
+        for (int i = 0; i < SAMPLES.length; i++)
+        {
+            SAMPLES[i] = 0;
+            NEXT[i] = 0;
+            
+            if (STREAMS[i] != null)
+            {
+                for (int j = 0; j < STREAMS[i].length; j++)
+                {
+                    STREAMS[i][j] = 0;
+                }
+            }
+        }
+        
+        //forget the requests that were never played
+        HEAD.set(TAIL.get());
+    }
+}
\ No newline at end of file
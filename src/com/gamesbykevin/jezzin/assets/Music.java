@@ -0,0 +1,179 @@
+package com.gamesbykevin.jezzin.assets;
+
+import android.app.Activity;
+import android.content.res.AssetFileDescriptor;
+import android.media.MediaPlayer;
+
+import com.gamesbykevin.androidframework.resources.Audio;
+import com.gamesbykevin.jezzin.assets.Assets.AudioGameKey;
+
+/**
+ * A single channel for the music, the track is streamed from the asset file instead of being loaded with the sound effects.<br>
+ * Only one track is in memory at a time, and pausing keeps the position so the track continues where it left off.
+ * The track is prepared in the background, so starting a track never holds up the game.
+ * @author GOD
+ */
+public final class Music
+{
+    //the player streaming the track, created when first needed
+    private static MediaPlayer player;
+    
+    //the activity needed to open the track
+    private static Activity activity;
+    
+    //the track in the player
+    private static AudioGameKey key;
+    
+    //is the track loaded in the player, is it ready to play
+    private static boolean loaded = false, prepared = false;
+    
+    //do we want the track playing
+    private static boolean playing = false;
+    
+    /**
+     * Play the track.<br>
+     * If it is already the current track it continues from where it was paused
+     * @param activity Object containing AssetManager needed to open the track
+     * @param key The key of the track
+     */
+    public static synchronized void play(final Activity activity, final AudioGameKey key)
+    {
+        Music.activity = activity;
+        
+        //a new track has to be loaded
+        if (Music.key != key)
+        {
+            Music.key = key;
+            
+            //the previous track is no longer needed
+            if (player != null)
+                player.reset();
+            
+            loaded = false;
+            prepared = false;
+        }
+        
+        playing = true;
+        update();
+    }
+    
+    /**
+     * Continue the current track from where it was paused
+     */
+    public static synchronized void resume()
+    {
+        //there is no track to continue
+        if (key == null)
+            return;
+        
+        playing = true;
+        update();
+    }
+    
+    /**
+     * Pause the current track, the position is kept
+     */
+    public static synchronized void pause()
+    {
+        playing = false;
+        update();
+    }
+    
+    /**
+     * Start or pause the player so it matches what we want, loading the track if needed
+     */
+    private static void update()
+    {
+        //we don't want the track or can't hear it
+        if (!playing || !Audio.isAudioEnabled())
+        {
+            if (prepared && player.isPlaying())
+                player.pause();
+            
+            return;
+        }
+        
+        //the track is still being prepared, it will start once ready
+        if (loaded && !prepared)
+            return;
+        
+        if (!loaded)
+        {
+            load();
+        }
+        else if (!player.isPlaying())
+        {
+            player.start();
+        }
+    }
+    
+    /**
+     * Open the track and start preparing it in the background
+     */
+    private static void load()
+    {
+        try
+        {
+            if (player == null)
+            {
+                player = new MediaPlayer();
+                player.setOnPreparedListener(new MediaPlayer.OnPreparedListener()
+                {
+                    @Override
+                    public void onPrepared(final MediaPlayer mp)
+                    {
+                        synchronized (Music.class)
+                        {
+                            prepared = true;
+                            
+                            //the track may have been paused while it was prepared
+                            update();
+                        }
+                    }
+                });
+            }
+            
+            //stream straight from the asset file
+            AssetFileDescriptor descriptor = activity.getAssets().openFd(Assets.getAudioPath(activity, key));
+            
+            try
+            {
+                player.setDataSource(descriptor.getFileDescriptor(), descriptor.getStartOffset(), descriptor.getLength());
+            }
+            finally
+            {
+                descriptor.close();
+            }
+            
+            player.setLooping(true);
+            player.prepareAsync();
+            loaded = true;
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            
+            //start over if we try again
+            if (player != null)
+                player.reset();
+        }
+    }
+    
+    /**
+     * Release the player, a new one is created if music is played again
+     */
+    public static synchronized void dispose()
+    {
+        if (player != null)
+        {
+            player.release();
+            player = null;
+        }
+        
+        activity = null;
+        key = null;
+        loaded = false;
+        prepared = false;
+        playing = false;
+    }
+}
\ No newline at end of file
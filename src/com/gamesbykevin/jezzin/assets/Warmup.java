@@ -0,0 +1,110 @@
+package com.gamesbykevin.jezzin.assets;
+
+import android.app.Activity;
+
+import com.gamesbykevin.jezzin.screen.ScreenManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the assets of a state on a small pool of threads, so the work is done while the splash screen is displayed.<br>
+ * The images are decoded at the same time, the fonts and audio are loaded together on a single thread.
+ * @author GOD
+ */
+public final class Warmup
+{
+    /**
+     * The most threads we will use, the main thread still needs to draw the splash screen
+     */
+    public static final int THREADS_MAX = 3;
+    
+    //the threads decoding the assets
+    private final ExecutorService executor;
+    
+    //the number of tasks that haven't finished
+    private final AtomicInteger remaining = new AtomicInteger();
+    
+    /**
+     * Create the thread pool, leaving a core for the main thread
+     */
+    public Warmup()
+    {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(THREADS_MAX, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+    
+    /**
+     * Start loading the assets, the threads will stop once everything is loaded
+     * @param activity Object containing AssetManager needed to load assets
+     * @param state The state that will be displayed first
+     * @param done Called once every asset is loaded (or failed to load), on one of our threads
+     */
+    public void start(final Activity activity, final ScreenManager.State state, final Runnable done)
+    {
+        final List<Object> keys = Assets.getImageKeys(state);
+        
+        //each image is a task, plus the fonts and audio
+        remaining.set(keys.size() + 1);
+        
+        //start the audio first, it is the slowest to load
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Assets.loadResources(activity, state);
+                }
+                catch (Exception e)
+                {
+                    e.printStackTrace();
+                }
+                finally
+                {
+                    finish(done);
+                }
+            }
+        });
+        
+        for (final Object key : keys)
+        {
+            executor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        //decode without the lock, only adding the image needs it
+                        if (!Assets.hasImage(key))
+                            Assets.addImage(key, Assets.decodeImage(activity, Assets.getImagePath(activity, key)));
+                    }
+                    catch (Exception e)
+                    {
+                        e.printStackTrace();
+                    }
+                    finally
+                    {
+                        finish(done);
+                    }
+                }
+            });
+        }
+        
+        //no more tasks, the threads end once the work is done
+        executor.shutdown();
+    }
+    
+    /**
+     * A task has finished, let the caller know when all are done
+     * @param done Called once every task has finished
+     */
+    private void finish(final Runnable done)
+    {
+        if (remaining.decrementAndGet() == 0)
+            done.run();
+    }
+}
\ No newline at end of file
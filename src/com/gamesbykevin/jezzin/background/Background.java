@@ -3,7 +3,6 @@ package com.gamesbykevin.jezzin.background;
 import android.graphics.Canvas;
 import android.graphics.Rect;
 
-import com.gamesbykevin.androidframework.resources.Images;
 import com.gamesbykevin.jezzin.assets.Assets;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,14 +46,10 @@ public final class Background implements IBackground
     public void reset() throws Exception
     {
         /**
-         * If there is a previous reference we will recycle it
+         * If there is a previous reference we no longer need it, it will be recycled when the memory is needed
          */
         if (previous != null)
-        {
-            //make sure the resource is available before we recycle it
-            if (Images.getImage(previous) != null)
-                Images.getImage(previous).recycle();
-        }
+            Assets.unpinImage(previous);
         
         //if the list is empty, fill it
         if (options.isEmpty())
@@ -75,17 +70,17 @@ public final class Background implements IBackground
         //remove that option from the list
         options.remove(index);
         
-        //load the asset
-        Images.loadImage(
-            game.getScreen().getPanel().getActivity(), 
-            previous, 
-            Assets.DIRECTORY_GAME_IMAGE_BACKGROUNDS + "/" + previous.getFilename()
-        );
+        //load the asset, and keep it while it is displayed
+        Assets.pinImage(previous);
     }
     
     @Override
     public void dispose()
     {
+        //the image is no longer displayed
+        if (previous != null)
+            Assets.unpinImage(previous);
+        
         previous = null;
         
         if (options != null)
@@ -99,11 +94,11 @@ public final class Background implements IBackground
     public void render(final Canvas canvas) throws Exception
     {
         //makes sure image exists before rendering
-        if (previous != null && Images.getImage(previous) != null)
+        if (previous != null && Assets.getImage(previous) != null)
         {
             //make sure object hasn't been recycled before rendering
-            if (!Images.getImage(previous).isRecycled())
-                canvas.drawBitmap(Images.getImage(previous), source, Boundaries.DEFAULT_BOUNDS, null);
+            if (!Assets.getImage(previous).isRecycled())
+                canvas.drawBitmap(Assets.getImage(previous), source, Boundaries.DEFAULT_BOUNDS, null);
         }
     }
 }
\ No newline at end of file
@@ -1,39 +1,55 @@
 package com.gamesbykevin.jezzin.balls;
 
-import com.gamesbykevin.androidframework.base.Entity;
-
 /**
  * A single ball
  * @author GOD
  */
-public final class Ball extends Entity
+public final class Ball
 {
+    /**
+     * The different types of balls
+     */
+    public enum Type
+    {
+        Ball1, Ball2, Ball3, Ball4, Ball5, Ball6,
+        Ball7, Ball8, Ball9, Ball10, Ball11, Ball12,
+        Ball13, Ball14, Ball15, Ball16, Ball17, Ball18,
+        Ball19, Ball20;// Ball21, Ball22, Ball23, Ball24,
+    }
+    
     //the animation type
-    private final Balls.Type type;
+    private final Type type;
 
     //the boundary the ball is inside
     private int index = 0;
     
-    protected Ball(final Balls.Type type)
+    //the location (center of the ball)
+    private double x, y;
+    
+    //the velocity
+    private double dx, dy;
+    
+    //the dimensions
+    private double width, height;
+    
+    public Ball(final Type type)
     {
-        super();
-
         //assign type
         this.type = type;
     }
-        
+    
     /**
      * Get the animation type
      * @return The animation type of the ball
      */
-    public Balls.Type getType()
+    public Type getType()
     {
         return this.type;
     }
 
     /**
      * Set the boundary index
-     * @param index The index location of the boundary the ball is trapped within
+     * @param index The id of the boundary the ball is trapped within
      */
     public void setIndex(final int index)
     {
@@ -42,10 +58,139 @@ public final class Ball extends Entity
 
     /**
      * Get the assigned boundary index
-     * @return The index location of the boundary the ball is trapped within
+     * @return The id of the boundary the ball is trapped within
      */
     public int getIndex()
     {
         return this.index;
     }
+    
+    /**
+     * Get the x-coordinate
+     * @return The x-coordinate of the center of the ball
+     */
+    public double getX()
+    {
+        return this.x;
+    }
+    
+    /**
+     * Assign the x-coordinate
+     * @param x The x-coordinate of the center of the ball
+     */
+    public void setX(final double x)
+    {
+        this.x = x;
+    }
+    
+    /**
+     * Get the y-coordinate
+     * @return The y-coordinate of the center of the ball
+     */
+    public double getY()
+    {
+        return this.y;
+    }
+    
+    /**
+     * Assign the y-coordinate
+     * @param y The y-coordinate of the center of the ball
+     */
+    public void setY(final double y)
+    {
+        this.y = y;
+    }
+    
+    /**
+     * Get the x-velocity
+     * @return The pixels the ball moves horizontally each update
+     */
+    public double getDX()
+    {
+        return this.dx;
+    }
+    
+    /**
+     * Assign the x-velocity
+     * @param dx The pixels the ball moves horizontally each update
+     */
+    public void setDX(final double dx)
+    {
+        this.dx = dx;
+    }
+    
+    /**
+     * Get the y-velocity
+     * @return The pixels the ball moves vertically each update
+     */
+    public double getDY()
+    {
+        return this.dy;
+    }
+    
+    /**
+     * Assign the y-velocity
+     * @param dy The pixels the ball moves vertically each update
+     */
+    public void setDY(final double dy)
+    {
+        this.dy = dy;
+    }
+    
+    /**
+     * Get the width
+     * @return The width of the ball
+     */
+    public double getWidth()
+    {
+        return this.width;
+    }
+    
+    /**
+     * Assign the width
+     * @param width The width of the ball
+     */
+    public void setWidth(final double width)
+    {
+        this.width = width;
+    }
+    
+    /**
+     * Get the height
+     * @return The height of the ball
+     */
+    public double getHeight()
+    {
+        return this.height;
+    }
+    
+    /**
+     * Assign the height
+     * @param height The height of the ball
+     */
+    public void setHeight(final double height)
+    {
+        this.height = height;
+    }
+    
+    /**
+     * Get the distance
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return The distance from the center of the ball to the specified location
+     */
+    public double getDistance(final double x, final double y)
+    {
+        return Math.sqrt(((getX() - x) * (getX() - x)) + ((getY() - y) * (getY() - y)));
+    }
+    
+    /**
+     * Get the distance
+     * @param ball The ball we want to check
+     * @return The distance between the center of both balls
+     */
+    public double getDistance(final Ball ball)
+    {
+        return getDistance(ball.getX(), ball.getY());
+    }
 }
\ No newline at end of file
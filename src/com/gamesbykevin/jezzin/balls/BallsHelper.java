@@ -11,64 +11,58 @@ import java.util.List;
 public final class BallsHelper 
 {
     /**
-     * Get the ball that is in collision with the specified ball.<br>
-     * The ball won't have collision with another ball if they are assigned a different boundary index
-     * @param ball The ball we want to check if it has collision
-     * @param balls The list of balls we need to check
-     * @return The ball that has collision, if none found null will be returned
+     * Resolve the contact between every pair of touching balls, all balls in the list are expected to be in the same boundary.<br>
+     * The pairs are resolved in list order so the result is always the same.
+     * Approaching balls exchange the part of their velocity along the line between them (elastic, equal mass),
+     * then overlapping balls are pushed apart equally so they don't stay stuck together
+     * @param balls The List of balls in a single boundary
      */
-    protected static Ball getCollisionBall(final Ball ball, final List<Ball> balls)
+    public static void checkBallCollision(final List<Ball> balls)
     {
-        for (Ball tmp : balls)
+        for (int i = 0; i < balls.size(); i++)
         {
-            //don't check self
-            if (ball.hasId(tmp))
-                continue;
+            final Ball ball = balls.get(i);
             
-            //don't check balls in a different boundary
-            if (ball.getIndex() != tmp.getIndex())
-                continue;
-            
-            //if the ball is close enough, we have collision
-            if (ball.getDistance(tmp) < ball.getWidth())
-                return tmp;
-        }
-        
-        //none in collision, return null
-        return null;
-    }
-    
-    
-    /**
-     * Check for ball collision
-     * @param ball The current ball we want to check for collision
-     * @param balls The List of balls in play
-     */
-    protected static void checkBallCollision(final Ball ball, final List<Ball> balls)
-    {
-        //check if there is another ball that has collision
-        Ball tmp = getCollisionBall(ball, balls);
-
-        //if ball exists, there was collision
-        if (tmp != null)
-        {
-            //store velocity
-            final double dx1 = ball.getDX();
-            final double dy1 = ball.getDY();
-            final double dx2 = tmp.getDX();
-            final double dy2 = tmp.getDY();
-
-            //switch velocity
-            ball.setDX(dx2);
-            ball.setDY(dy2);
-            tmp.setDX(dx1);
-            tmp.setDY(dy1);
-
-            //move the balls
-            ball.setX(ball.getX() + ball.getDX());
-            ball.setY(ball.getY() + ball.getDY());
-            tmp.setX(tmp.getX() + tmp.getDX());
-            tmp.setY(tmp.getY() + tmp.getDY());
+            for (int j = i + 1; j < balls.size(); j++)
+            {
+                final Ball tmp = balls.get(j);
+                
+                //the distance the balls need to be apart
+                final double minimum = (ball.getWidth() + tmp.getWidth()) / 2;
+                
+                final double x = tmp.getX() - ball.getX();
+                final double y = tmp.getY() - ball.getY();
+                
+                //skip if they aren't touching
+                if ((x * x) + (y * y) >= minimum * minimum)
+                    continue;
+                
+                final double distance = Math.sqrt((x * x) + (y * y));
+                
+                //the direction from the ball to the other ball, pick one if they are in the same location
+                final double normalX = (distance == 0) ? 1 : x / distance;
+                final double normalY = (distance == 0) ? 0 : y / distance;
+                
+                //how fast the balls are approaching each other
+                final double speed = ((tmp.getDX() - ball.getDX()) * normalX) + ((tmp.getDY() - ball.getDY()) * normalY);
+                
+                //exchange the velocity along the normal, if they are moving apart already leave them alone
+                if (speed < 0)
+                {
+                    ball.setDX(ball.getDX() + (speed * normalX));
+                    ball.setDY(ball.getDY() + (speed * normalY));
+                    tmp.setDX(tmp.getDX() - (speed * normalX));
+                    tmp.setDY(tmp.getDY() - (speed * normalY));
+                }
+                
+                //push both balls apart by half the overlap
+                final double overlap = (minimum - distance) / 2;
+                
+                ball.setX(ball.getX() - (overlap * normalX));
+                ball.setY(ball.getY() - (overlap * normalY));
+                tmp.setX(tmp.getX() + (overlap * normalX));
+                tmp.setY(tmp.getY() + (overlap * normalY));
+            }
         }
     }
     
@@ -78,7 +72,7 @@ public final class BallsHelper
      * @param ball The ball we want to check
      * @param boundary The boundary containing the ball
      */
-    protected static void checkBallVelocity(final Ball ball, final Boundary boundary)
+    public static void checkBallVelocity(final Ball ball, final Boundary boundary)
     {
         //calculate half the dimension
         final double h = ball.getHeight() / 2;
@@ -87,48 +81,48 @@ public final class BallsHelper
         //manage x-velocity
         if (ball.getDX() < 0)
         {
-            if (ball.getX() < boundary.getRect().left + w)
+            if (ball.getX() < boundary.getLeft() + w)
             {
                 //flip velocity
                 ball.setDX(-ball.getDX());
 
                 //adjust coordinates
-                ball.setX(boundary.getRect().left + w);
+                ball.setX(boundary.getLeft() + w);
             }
         }
         else if (ball.getDX() > 0)
         {
-            if (ball.getX() > boundary.getRect().right - w)
+            if (ball.getX() > boundary.getRight() - w)
             {
                 //flip velocity
                 ball.setDX(-ball.getDX());
 
                 //adjust coordinates
-                ball.setX(boundary.getRect().right - w);
+                ball.setX(boundary.getRight() - w);
             }
         }
 
         //manage y-velocity
         if (ball.getDY() < 0)
         {
-            if (ball.getY() < boundary.getRect().top + h)
+            if (ball.getY() < boundary.getTop() + h)
             {
                 //flip velocity
                 ball.setDY(-ball.getDY());
 
                 //adjust coordinates
-                ball.setY(boundary.getRect().top + h);
+                ball.setY(boundary.getTop() + h);
             }
         }
         else if (ball.getDY() > 0)
         {
-            if (ball.getY() > boundary.getRect().bottom - h)
+            if (ball.getY() > boundary.getBottom() - h)
             {
                 //flip velocity
                 ball.setDY(-ball.getDY());
 
                 //adjust coordinates
-                ball.setY(boundary.getRect().bottom - h);
+                ball.setY(boundary.getBottom() - h);
             }
         }
     }
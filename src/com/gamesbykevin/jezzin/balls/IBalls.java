@@ -2,7 +2,7 @@ package com.gamesbykevin.jezzin.balls;
 
 import com.gamesbykevin.androidframework.resources.Disposable;
 
-import android.graphics.Canvas;
+import com.gamesbykevin.jezzin.game.RenderList;
 
 /**
  * Required methods for balls
@@ -12,19 +12,7 @@ public interface IBalls extends Disposable
 {
     /**
      * Render balls
-     * @param canvas
-     * @throws Exception 
+     * @param commands The list of draw commands for this frame
      */
-    public void render(final Canvas canvas) throws Exception;
-    
-    /**
-     * Method to update elements
-     */
-    public void update();
-    
-    /**
-     * Reset the balls
-     * @param count The number of balls
-     */
-    public void reset(final int count);
+    public void render(final RenderList commands);
 }
@@ -1,29 +1,20 @@
 package com.gamesbykevin.jezzin.boundaries;
 
-import android.content.Context;
-import android.graphics.Canvas;
+import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.Paint;
 import android.graphics.Rect;
-import android.os.Vibrator;
 
 import com.gamesbykevin.androidframework.anim.Animation;
 import com.gamesbykevin.androidframework.base.Entity;
-import com.gamesbykevin.androidframework.resources.Audio;
-import com.gamesbykevin.androidframework.resources.Images;
 
 import com.gamesbykevin.jezzin.assets.Assets;
 import com.gamesbykevin.jezzin.game.Game;
-import com.gamesbykevin.jezzin.panel.GamePanel;
-import com.gamesbykevin.jezzin.player.Player;
-import com.gamesbykevin.jezzin.screen.OptionsScreen;
-import com.gamesbykevin.jezzin.screen.ScreenManager;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.gamesbykevin.jezzin.game.RenderList;
+import com.gamesbykevin.jezzin.simulation.Wall;
+import com.gamesbykevin.jezzin.simulation.World;
 
 /**
- * The list of boundaries in a level
+ * Renders the boundaries in a level and the walls being drawn
  * @author GOD
  */
 public final class Boundaries extends Entity implements IBoundaries
@@ -43,43 +34,21 @@ public final class Boundaries extends Entity implements IBoundaries
         BlueHorizontal
     }
     
-    //the list of bounds for the current level
-    private List<Boundary> boundaries;
-
-    //paint object to fill bounds
-    private Paint paint;
-    
     /**
      * The size of the boundary border
      */
     private static final float STROKE_WIDTH = 10.00f;
     
-    /**
-     * The pixel dimension of the progress, when rendering on screen
-     */
-    private static final int PROGRESS_DIMENSION = 16;
-    
-    //the index of the rectangle location
-    private int index;
-    
-    //are we drawing the wall
-    private boolean draw = false;
-    
     //our game reference
     private final Game game;
     
     /**
      * Default bounds where the balls bounce
      */
-    public static final Rect DEFAULT_BOUNDS = new Rect(10, 75, GamePanel.WIDTH - 10, GamePanel.HEIGHT - 75);
+    public static final Rect DEFAULT_BOUNDS = new Rect(World.BOUNDS_LEFT, World.BOUNDS_TOP, World.BOUNDS_RIGHT, World.BOUNDS_BOTTOM);
     
     /**
-     * The length to vibrate the phone when you lose a life (milliseconds)
-     */
-    private static final long VIBRATION_DURATION = 250;
-    
-    /**
-     * Create new container of boundaries
+     * Create new object to render the boundaries
      * @param game Our game reference
      */
     public Boundaries(final Game game)
@@ -87,180 +56,24 @@ public final class Boundaries extends Entity implements IBoundaries
         //store our game reference
         this.game = game;
         
-        //create new list of rectangle bounds
-        this.boundaries = new ArrayList<Boundary>();
-        
-        //create our paint object
-        this.paint = new Paint();
-        this.paint.setColor(Color.BLACK);
-        this.paint.setStrokeWidth(STROKE_WIDTH);
+        //all walls are in the same image, keep it in memory until we are disposed
+        final Bitmap image = Assets.pinImage(Assets.ImageGameKey.Player);
         
         //yellow animation
-        super.getSpritesheet().add(Key.YellowVertical, new Animation(Images.getImage(Assets.ImageGameKey.Player), 0, 0, 18, 70));
-        super.getSpritesheet().add(Key.YellowHorizontal, new Animation(Images.getImage(Assets.ImageGameKey.Player), 0, 70, 70, 18));
+        super.getSpritesheet().add(Key.YellowVertical, new Animation(image, 0, 0, 18, 70));
+        super.getSpritesheet().add(Key.YellowHorizontal, new Animation(image, 0, 70, 70, 18));
         
         //red animation
-        super.getSpritesheet().add(Key.RedVertical, new Animation(Images.getImage(Assets.ImageGameKey.Player), 18, 0, 18, 70));
-        super.getSpritesheet().add(Key.RedHorizontal, new Animation(Images.getImage(Assets.ImageGameKey.Player), 0, 88, 70, 18));
+        super.getSpritesheet().add(Key.RedVertical, new Animation(image, 18, 0, 18, 70));
+        super.getSpritesheet().add(Key.RedHorizontal, new Animation(image, 0, 88, 70, 18));
         
         //green animation
-        super.getSpritesheet().add(Key.GreenVertical, new Animation(Images.getImage(Assets.ImageGameKey.Player), 36, 0, 18, 70));
-        super.getSpritesheet().add(Key.GreenHorizontal, new Animation(Images.getImage(Assets.ImageGameKey.Player), 0, 106, 70, 18));
+        super.getSpritesheet().add(Key.GreenVertical, new Animation(image, 36, 0, 18, 70));
+        super.getSpritesheet().add(Key.GreenHorizontal, new Animation(image, 0, 106, 70, 18));
         
         //blue animation
-        super.getSpritesheet().add(Key.BlueVertical, new Animation(Images.getImage(Assets.ImageGameKey.Player), 54, 0, 18, 70));
-        super.getSpritesheet().add(Key.BlueHorizontal, new Animation(Images.getImage(Assets.ImageGameKey.Player), 0, 124, 70, 18));
-
-        //reset
-        reset();
-    }
-   
-    /**
-     * Start drawing the wall.<br>
-     * We make sure the start and finish coordinates are in the same boundary.<br>
-     * If no, the draw will not happen.
-     * @param startX starting x-coordinate
-     * @param startY starting y-coordinate
-     * @param dx x-velocity
-     * @param dy y-velocity
-     * @return true if we are successful in starting the draw, false otherwise
-     */
-    public boolean startDraw(final int startX, final int startY, final double dx, final double dy)
-    {
-        if (boundaries != null)
-        {
-            //track the start index
-            int startI = -1;
-            
-            //check each boundary to locate the start/finish index
-            for (int i = 0; i < getBoundaries().size(); i++)
-            {
-                //store the index locations
-                if (getBoundary(i).contains(startX, startY))
-                {
-                	//store the index we 
-                    startI = i;
-                    
-                    //no need to continue
-                    break;
-                }
-            }
-            
-            //if the start index was not found, return false
-            if (startI < 0)
-                return false;
-            
-            //if the start is solid, return false
-            if (getBoundary(startI).isSolid())
-                return false;
-            
-            //store the current index
-            this.index = startI;
-            
-            //reset progress
-            resetProgress();
-            
-            //can only move either vertical or horizontal
-            setDX((dy == 0) ? dx : 0);
-            setDY((dx == 0) ? dy : 0);
-            
-            //start
-            super.setX(startX);
-            super.setY(startY);
-            
-            //setup location
-            if (getDX() != 0)
-            {
-                super.getSpritesheet().setKey(Key.BlueHorizontal);
-                super.setWidth(1);
-                super.setHeight(PROGRESS_DIMENSION);
-                super.setY(getY() - (getHeight() / 2));
-            }
-            else
-            {
-                super.getSpritesheet().setKey(Key.BlueVertical);
-                super.setWidth(PROGRESS_DIMENSION);
-                super.setHeight(1);
-                super.setX(getX() - (getWidth() / 2));
-            }
-            
-            //flag draw start
-            setDraw(true);
-            
-            //we were successful
-            return true;
-        }
-        else
-        {
-            return false;
-        }
-    }
-    
-    /**
-     * Get the total progress.<br>
-     * This will be the total area of all solid boundaries.
-     * @return The progress of the boundaries between 0 - 100
-     */
-    public int getTotalProgress()
-    {
-        double area = 0;
-        
-        //calculate the total area completed
-        for (Boundary boundary : getBoundaries())
-        {
-            //if solid add to the total
-            if (boundary.isSolid())
-                area += boundary.getArea();
-        }
-        
-        //return the result
-        return (int)(100 * (area / ((DEFAULT_BOUNDS.right - DEFAULT_BOUNDS.left) * (DEFAULT_BOUNDS.bottom - DEFAULT_BOUNDS.top))));
-    }
-    
-    /**
-     * Get the boundaries 
-     * @return The list of boundaries
-     */
-    public List<Boundary> getBoundaries()
-    {
-        return this.boundaries;
-    }
-    
-    /**
-     * Flag that we are drawing the wall
-     * @param draw true = yes, false = no
-     */
-    public void setDraw(final boolean draw)
-    {
-        this.draw = draw;
-    }
-    
-    /**
-     * Are we drawing the wall?
-     * @return true = yes, false = no
-     */
-    public boolean hasDraw()
-    {
-        return this.draw;
-    }
-    
-    /**
-     * Get the boundary at the specified index
-     * @param index The index location of the boundary
-     * @return The index location of the boundary
-     */
-    public Boundary getBoundary(final int index)
-    {
-        return getBoundaries().get(index);
-    }
-    
-    /**
-     * Get the boundary
-     * @return The current assigned boundary
-     */
-    public Boundary getBoundary()
-    {
-        return (getBoundary(getIndex()));
+        super.getSpritesheet().add(Key.BlueVertical, new Animation(image, 54, 0, 18, 70));
+        super.getSpritesheet().add(Key.BlueHorizontal, new Animation(image, 0, 124, 70, 18));
     }
     
     /**
@@ -273,191 +86,44 @@ public final class Boundaries extends Entity implements IBoundaries
     }
     
     @Override
-    public void reset()
-    {
-        //clear list
-        getBoundaries().clear();
-        
-        //create default boundaru
-        Boundary boundary = new Boundary(
-            DEFAULT_BOUNDS.left, 
-            DEFAULT_BOUNDS.top, 
-            DEFAULT_BOUNDS.right - DEFAULT_BOUNDS.left, 
-            DEFAULT_BOUNDS.bottom - DEFAULT_BOUNDS.top
-        );
-        
-        //the default will not be solid
-        boundary.setSolid(false);
-        
-        //add default boundary to list
-        getBoundaries().add(boundary);
-        
-        //the index of the current rectangle
-        index = 0;
-        
-        //stop drawing
-        setDraw(false);
-        
-        //reset values
-        resetProgress();
-    }
-    
-    @Override
-    public void update()
+    public void render(final RenderList commands)
     {
-        //render the animation if exists
-        if (hasDraw())
+        if (getGame().getWorld() != null)
         {
-            //update the progress
-            super.setX(getX() - getDX());
-            super.setWidth(getWidth() + getDX() + getDX());
-            super.setY(getY() - getDY());
-            super.setHeight(getHeight() + getDY() + getDY());
-            
-            //if the progress is not inside the boundary, we hit the wall and are done
-            boolean progress1Complete = !getBoundary().contains((int)getX(), (int)getY());
-            boolean progress2Complete = !getBoundary().contains((int)(getX() + getWidth()), (int)(getY() + getHeight()));
-            
-            //make sure we stay in bounds
-            BoundariesHelper.checkProgress(this);
-            
-            //if both have completed we need to separate
-            if (progress1Complete && progress2Complete)
+            //fill in all boundaries
+            for (int i = 0; i < getGame().getWorld().getBoundaries().size(); i++)
             {
-                //split the boundary into 2 smaller ones
-                BoundariesHelper.splitBoundary(this);
+                //get the current boundary
+                final Boundary boundary = getGame().getWorld().getBoundary(i);
                 
-                //reassign the balls to their current boundary
-                BoundariesHelper.assignBoundary(this);
-                
-                //reset progress
-                resetProgress();
-                
-                //remove flag from player
-                getGame().getPlayer().setBegin(false);
-                
-                //we are done drawing
-                setDraw(false);
-                
-                //if we have met the progress the level is complete
-                if (getTotalProgress() >= Player.PROGRESS_GOAL)
+                //only render the square if not solid
+                if (!boundary.isSolid())
                 {
-                    //set the state
-                    getGame().getScreen().setState(ScreenManager.State.GameOver);
+                    //fill the background, all fills are drawn before the outlines
+                    commands.fill(RenderList.Layer.Boundaries, Color.BLACK, boundary.getLeft(), boundary.getTop(), boundary.getRight(), boundary.getBottom());
                     
-                    //update the score
-                    final boolean result = getGame().getScoreCard().updateScore(
-                		getGame().getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_DIFFICULTY),
-                        getGame().getPlayer().getLevel(), 
-                        getGame().getPlayer().getTime()
-                    );
-                    
-                    if (result)
-                    {
-                        //assign message to display to user
-                        getGame().getScreen().getScreenGameover().setMessage("New record");
-                    }
-                    else
-                    {
-                        //assign message to display to user
-                        getGame().getScreen().getScreenGameover().setMessage("You win");
-                    }
-                    
-                    //play sound effect
-                    Audio.play(Assets.AudioGameKey.ProgressComplete);
-                }
-                else
-                {
-                    //play sound effect
-                    Audio.play(Assets.AudioGameKey.ProgressAdd);
+                    //render the outline
+                    commands.stroke(RenderList.Layer.Boundaries, Color.WHITE, STROKE_WIDTH, boundary.getLeft(), boundary.getTop(), boundary.getRight(), boundary.getBottom());
                 }
             }
-            else
-            {
-                //if there is collision with the progress tracker
-                if (BoundariesHelper.hasProgressCollision(this))
-                {
-                    //remove a life
-                    getGame().getPlayer().setLives(getGame().getPlayer().getLives() - 1);
-                    
-                    //vibrate phone when losing a life (if it is enabled)
-                    if (getGame().getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_VIBRATE) == 0)
-                    {
-    	        		//get our vibrate object
-    	        		Vibrator v = (Vibrator) getGame().getScreen().getPanel().getActivity().getSystemService(Context.VIBRATOR_SERVICE);
-    	        		 
-    					//vibrate for a specified amount of milliseconds
-    					v.vibrate(VIBRATION_DURATION);
-                    }
-                    
-                    //if no more lives, the game is over
-                    if (getGame().getPlayer().getLives() < 1)
-                    {
-                        getGame().getScreen().setState(ScreenManager.State.GameOver);
-                        
-                        //assign message to display to user
-                        getGame().getScreen().getScreenGameover().setMessage("No More Lives");
-                        
-                        //play sound effect
-                        Audio.play(Assets.AudioGameKey.NoLives);
-                    }
-                    else
-                    {
-                        //remove flag from player
-                        getGame().getPlayer().setBegin(false);
-                        
-                        //we are done drawing
-                        setDraw(false);
-                        
-                        //reset progress
-                        resetProgress();
-                    	
-                        //play sound effect
-                        Audio.play(Assets.AudioGameKey.LoseLife);
-                    }
-                }
-            }
-        }
-    }
-    
-    /**
-     * Reset the progress
-     */
-    private void resetProgress()
-    {
-        super.setX(0);
-        super.setY(0);
-        super.setWidth(0);
-        super.setHeight(0);
-        super.setDX(0);
-        super.setDY(0);
-    }
-    
-    /**
-     * Get the index
-     * @return The index of the current boundary
-     */
-    protected int getIndex()
-    {
-        return this.index;
-    }
-    
-    @Override
-    public void render(final Canvas canvas) throws Exception
-    {
-        if (getBoundaries() != null)
-        {
-            //fill in all boundaries
-            for (Boundary boundary : getBoundaries())
+            
+            //draw the progress of each wall
+            for (int i = 0; i < getGame().getWorld().getWalls().size(); i++)
             {
-                if (boundary != null)
-                    boundary.render(canvas, paint);
+                //get the current wall
+                final Wall wall = getGame().getWorld().getWalls().get(i);
+                
+                //skip if there is nothing to draw yet
+                if (wall.getWidth() == 0 || wall.getHeight() == 0)
+                    continue;
+                
+                //pick the animation by the direction of the wall
+                super.getSpritesheet().setKey((wall.getDX() != 0) ? Key.BlueHorizontal : Key.BlueVertical);
+                
+                //render the wall
+                commands.sprite(RenderList.Layer.Walls, super.getSpritesheet().get().getImage(), wall.getX(), wall.getY(), wall.getWidth(), wall.getHeight());
             }
         }
-        
-        //draw the progress
-        if (getWidth() != 0 && getHeight() != 0)
-            super.render(canvas);
     }
     
     @Override
@@ -465,12 +131,7 @@ public final class Boundaries extends Entity implements IBoundaries
     {
         super.dispose();
         
-        if (boundaries != null)
-        {
-            boundaries.clear();
-            boundaries = null;
-        }
-        
-        this.paint = null;
+        //our image can be removed when the memory is needed
+        Assets.unpinImage(Assets.ImageGameKey.Player);
     }
 }
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.gamesbykevin.jezzin.boundaries;
 
-import android.graphics.Rect;
 import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.simulation.Wall;
+import com.gamesbykevin.jezzin.simulation.World;
 
 /**
  * Boundaries helper methods
@@ -12,26 +13,23 @@ public final class BoundariesHelper
     /**
      * Do we have ball collision with the current progress?<br>
      * This should be checked when creating our wall.
-     * @param boundaries The boundaries container object
+     * @param world The world containing the boundaries
+     * @param wall The wall being drawn
      * @return true = the line intersects with a ball, false otherwise
      */
-    protected static boolean hasProgressCollision(final Boundaries boundaries)
+    public static boolean hasProgressCollision(final World world, final Wall wall)
     {
         //store information
-        final double x = boundaries.getX();
-        final double y = boundaries.getY();
-        final double w = boundaries.getWidth();
-        final double h = boundaries.getHeight();
-        final double dx = boundaries.getDX();
-        final double dy = boundaries.getDY();
-        
-        //check each ball
-        for (Ball ball : boundaries.getGame().getBalls().getBalls())
+        final double x = wall.getX();
+        final double y = wall.getY();
+        final double w = wall.getWidth();
+        final double h = wall.getHeight();
+        final double dx = wall.getDX();
+        final double dy = wall.getDY();
+        
+        //only the balls in the same boundary as the wall can have collision
+        for (Ball ball : world.getBoundaryById(wall.getIndex()).getBalls())
         {
-            //if the ball is located in another boundary, we can't have collision
-            if (ball.getIndex() != boundaries.getIndex())
-                continue;
-            
             //get the radius of the ball, will use to detect collison
             final double radius = (ball.getWidth() / 2);
             
@@ -81,25 +79,116 @@ public final class BoundariesHelper
     }
     
     /**
-     * Assign each ball to the current boundary it is located within
-     * @param boundaries The boundaries container object
+     * Did the ball touch the wall anywhere along its path?<br>
+     * The path of the ball is swept against the wall grown by the radius of the ball (with rounded corners)
+     * @param wall The wall being drawn
+     * @param ball The ball, at the end of its path
+     * @param fromX The x-coordinate where the ball started
+     * @param fromY The y-coordinate where the ball started
+     * @return true = the ball touched the wall, false otherwise
+     */
+    public static boolean hasSweptCollision(final Wall wall, final Ball ball, final double fromX, final double fromY)
+    {
+        //get the radius of the ball
+        final double radius = (ball.getWidth() / 2);
+        
+        //the edges of the wall
+        final double left = wall.getX();
+        final double top = wall.getY();
+        final double right = wall.getX() + wall.getWidth();
+        final double bottom = wall.getY() + wall.getHeight();
+        
+        //the wall grown by the radius horizontally, then vertically
+        if (hasIntersection(fromX, fromY, ball.getX(), ball.getY(), left - radius, top, right + radius, bottom))
+            return true;
+        if (hasIntersection(fromX, fromY, ball.getX(), ball.getY(), left, top - radius, right, bottom + radius))
+            return true;
+        
+        //the rounded corners
+        if (getDistance(fromX, fromY, ball.getX(), ball.getY(), left, top) <= radius)
+            return true;
+        if (getDistance(fromX, fromY, ball.getX(), ball.getY(), right, top) <= radius)
+            return true;
+        if (getDistance(fromX, fromY, ball.getX(), ball.getY(), left, bottom) <= radius)
+            return true;
+        if (getDistance(fromX, fromY, ball.getX(), ball.getY(), right, bottom) <= radius)
+            return true;
+        
+        //no collision was found
+        return false;
+    }
+    
+    /**
+     * Does the line segment pass through the rectangle?
+     * @return true = yes, false = no
+     */
+    private static boolean hasIntersection(final double x1, final double y1, final double x2, final double y2, final double left, final double top, final double right, final double bottom)
+    {
+        //the segment has to overlap the rectangle on both axis
+        if (Math.max(x1, x2) < left || Math.min(x1, x2) > right)
+            return false;
+        if (Math.max(y1, y2) < top || Math.min(y1, y2) > bottom)
+            return false;
+        
+        //which side of the line each corner is on
+        final double corner1 = ((x2 - x1) * (top - y1)) - ((y2 - y1) * (left - x1));
+        final double corner2 = ((x2 - x1) * (top - y1)) - ((y2 - y1) * (right - x1));
+        final double corner3 = ((x2 - x1) * (bottom - y1)) - ((y2 - y1) * (left - x1));
+        final double corner4 = ((x2 - x1) * (bottom - y1)) - ((y2 - y1) * (right - x1));
+        
+        //if all corners are on the same side the line misses the rectangle
+        if (corner1 > 0 && corner2 > 0 && corner3 > 0 && corner4 > 0)
+            return false;
+        if (corner1 < 0 && corner2 < 0 && corner3 < 0 && corner4 < 0)
+            return false;
+        
+        return true;
+    }
+    
+    /**
+     * Get the distance from the point to the closest location on the line segment
+     * @return The distance
+     */
+    private static double getDistance(final double x1, final double y1, final double x2, final double y2, final double x, final double y)
+    {
+        final double dx = x2 - x1;
+        final double dy = y2 - y1;
+        final double length = (dx * dx) + (dy * dy);
+        
+        //how far along the segment the closest location is (0 - 1)
+        final double t = (length == 0) ? 0 : Math.max(0, Math.min(1, (((x - x1) * dx) + ((y - y1) * dy)) / length));
+        
+        final double distanceX = x - (x1 + (t * dx));
+        final double distanceY = y - (y1 + (t * dy));
+        
+        return Math.sqrt((distanceX * distanceX) + (distanceY * distanceY));
+    }
+    
+    /**
+     * Assign each ball to the current boundary it is located within.<br>
+     * Each boundary also keeps a list of its balls, so we don't have to check the balls in other boundaries
+     * @param world The world containing the boundaries
      */
-    protected static void assignBoundary(final Boundaries boundaries)
+    public static void assignBoundary(final World world)
     {
-        //first we flag
-        for (int i = 0; i < boundaries.getBoundaries().size(); i++)
+        //first we flag, and empty the list of balls
+        for (int i = 0; i < world.getBoundaries().size(); i++)
         {
-            boundaries.getBoundary(i).setSolid(true);
+            world.getBoundary(i).setSolid(true);
+            world.getBoundary(i).getBalls().clear();
         }
         
         //assign the balls to their respected boundary
-        for (Ball ball : boundaries.getGame().getBalls().getBalls())
+        for (Ball ball : world.getBalls())
         {
+            //was the ball found inside a boundary
+            boolean found = false;
+            
             //check each boundary
-            for (int i = 0; i < boundaries.getBoundaries().size(); i++)
+            for (int i = 0; i < world.getBoundaries().size(); i++)
             {
                 //get the current boundary
-                Boundary boundary = boundaries.getBoundary(i);
+                Boundary boundary = world.getBoundary(i);
 
                 /**
                  * If the ball is inside the boundary, we assign it to this boundary
@@ -107,64 +196,102 @@ public final class BoundariesHelper
                  */
                 if (boundary.contains((int)ball.getX(), (int)ball.getY()))
                 {
-                    //assign the boundary index
-                    ball.setIndex(i);
+                    //assign the boundary id
+                    ball.setIndex(boundary.getId());
 
                     //set flag false, because this can't be solid
                     boundary.setSolid(false);
+                    
+                    //add the ball to the boundary list
+                    boundary.getBalls().add(ball);
+                    found = true;
                 }
             }
+            
+            //if the ball isn't inside any boundary it stays with the boundary it was assigned
+            if (!found)
+                world.getBoundaryById(ball.getIndex()).getBalls().add(ball);
         }
     }
     
     /**
      * Make sure the progress remains within the current assigned boundary
-     * @param boundaries The boundaries container object
+     * @param world The world containing the boundaries
+     * @param wall The wall being drawn
      */
-    protected static void checkProgress(final Boundaries boundaries)
+    public static void checkProgress(final World world, final Wall wall)
     {
-        if (boundaries.getDX() != 0)
+        final Boundary boundary = world.getBoundaryById(wall.getIndex());
+        
+        if (wall.getDX() != 0)
         {
-            if (boundaries.getX() + boundaries.getWidth() > boundaries.getBoundary().getRect().right)
-                boundaries.setWidth(boundaries.getBoundary().getRect().right - boundaries.getX());
-            if (boundaries.getX() < boundaries.getBoundary().getRect().left)
-                boundaries.setX(boundaries.getBoundary().getRect().left);
+            if (wall.getX() + wall.getWidth() > boundary.getRight())
+                wall.setWidth(boundary.getRight() - wall.getX());
+            if (wall.getX() < boundary.getLeft())
+                wall.setX(boundary.getLeft());
         }
-        else if (boundaries.getDY() != 0)
+        else if (wall.getDY() != 0)
         {
-            if (boundaries.getY() + boundaries.getHeight() > boundaries.getBoundary().getRect().bottom)
-                boundaries.setHeight(boundaries.getBoundary().getRect().bottom - boundaries.getY());
-            if (boundaries.getY() < boundaries.getBoundary().getRect().top)
-                boundaries.setY(boundaries.getBoundary().getRect().top);
+            if (wall.getY() + wall.getHeight() > boundary.getBottom())
+                wall.setHeight(boundary.getBottom() - wall.getY());
+            if (wall.getY() < boundary.getTop())
+                wall.setY(boundary.getTop());
         }
     }
     
     /**
-     * Split the current assigned boundary into 2 smaller boundaries
-     * @param boundaries The boundaries container object
+     * Split the current assigned boundary into 2 smaller boundaries.<br>
+     * Only the balls of the split boundary are assigned to the new boundaries, the other boundaries don't change
+     * @param world The world containing the boundaries
+     * @param wall The completed wall
+     * @return The 2 new boundaries
      */
-    protected static void splitBoundary(final Boundaries boundaries)
+    public static Boundary[] splitBoundary(final World world, final Wall wall)
     {
         //get this temporary
-        Rect tmp = boundaries.getBoundary().getRect();
+        Boundary tmp = world.getBoundaryById(wall.getIndex());
 
         //remove the boundary from the list
-        boundaries.getBoundaries().remove(boundaries.getIndex());
+        world.getBoundaries().remove(tmp);
 
+        //the 2 new boundaries, and where they are split
+        final Boundary boundary1, boundary2;
+        final int split;
+        
         //the velocity will determine how the boundary is split
-        if (boundaries.getDX() != 0)
+        if (wall.getDX() != 0)
+        {
+            split = (int)(wall.getY() + (wall.getHeight() / 2));
+            final int w = tmp.getRight() - tmp.getLeft();
+            boundary1 = world.createBoundary(tmp.getLeft(), tmp.getTop(), w, split - tmp.getTop());
+            boundary2 = world.createBoundary(tmp.getLeft(), split, w, tmp.getBottom() - split);
+        }
+        else
         {
-            final int y = (int)(boundaries.getY() + (boundaries.getHeight() / 2));
-            final int w = tmp.right - tmp.left;
-            boundaries.getBoundaries().add(new Boundary(tmp.left, tmp.top, w, y - tmp.top));
-            boundaries.getBoundaries().add(new Boundary(tmp.left, y, w, tmp.bottom - y));
+            split = (int)(wall.getX() + (wall.getWidth() / 2));
+            final int h = tmp.getBottom() - tmp.getTop();
+            boundary1 = world.createBoundary(tmp.getLeft(), tmp.getTop(), split - tmp.getLeft(), h);
+            boundary2 = world.createBoundary(split, tmp.getTop(), tmp.getRight() - split, h);
         }
-        else if (boundaries.getDY() != 0)
+        
+        //assign the balls to the side of the wall they are on
+        for (Ball ball : tmp.getBalls())
         {
-            final int x = (int)(boundaries.getX() + (boundaries.getWidth() / 2));
-            final int h = tmp.bottom - tmp.top;
-            boundaries.getBoundaries().add(new Boundary(tmp.left, tmp.top, x - tmp.left, h));
-            boundaries.getBoundaries().add(new Boundary(x, tmp.top, tmp.right - x, h));
+            final int location = (wall.getDX() != 0) ? (int)ball.getY() : (int)ball.getX();
+            final Boundary boundary = (location < split) ? boundary1 : boundary2;
+            
+            ball.setIndex(boundary.getId());
+            boundary.getBalls().add(ball);
         }
+        
+        //a boundary without balls is solid
+        boundary1.setSolid(boundary1.getBalls().isEmpty());
+        boundary2.setSolid(boundary2.getBalls().isEmpty());
+        
+        //add the new boundaries to the list
+        world.getBoundaries().add(boundary1);
+        world.getBoundaries().add(boundary2);
+        
+        return new Boundary[] {boundary1, boundary2};
     }
 }
\ No newline at end of file
@@ -1,26 +1,66 @@
 package com.gamesbykevin.jezzin.boundaries;
 
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Rect;
+import com.gamesbykevin.jezzin.balls.Ball;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A single boundary
  * @author GOD
  */
-public final class Boundary implements IBoundary
+public final class Boundary
 {
+    //the id of the boundary, it doesn't change when other boundaries are added or removed
+    private final int id;
+    
     //boundary coordinates
-    private final Rect bounds;
+    private final int left, top, right, bottom;
     
     //is the boundary solid
     private boolean solid;
     
-    protected Boundary(final int x, final int y, final int w, final int h)
+    //the balls inside this boundary
+    private final List<Ball> balls;
+    
+    public Boundary(final int x, final int y, final int w, final int h)
     {
+        this(-1, x, y, w, h);
+    }
+    
+    public Boundary(final int id, final int x, final int y, final int w, final int h)
+    {
+        //store the id
+        this.id = id;
+        
         //store coordinates
-        this.bounds = new Rect(x, y, x + w, y + h);
+        this.left = x;
+        this.top = y;
+        this.right = x + w;
+        this.bottom = y + h;
+        
+        //create empty list
+        this.balls = new ArrayList<Ball>();
+    }
+    
+    /**
+     * Get the id
+     * @return The id of this boundary in the level, -1 if the boundary isn't part of a level
+     */
+    public int getId()
+    {
+        return this.id;
+    }
+    
+    /**
+     * Get the balls inside this boundary.<br>
+     * The list is kept up to date by {@link BoundariesHelper#assignBoundary(com.gamesbykevin.jezzin.simulation.World)}
+     * and {@link BoundariesHelper#splitBoundary(com.gamesbykevin.jezzin.simulation.World, com.gamesbykevin.jezzin.simulation.Wall)}
+     * @return The balls assigned to this boundary, in the same order as the list of all balls
+     */
+    public List<Ball> getBalls()
+    {
+        return this.balls;
     }
     
     /**
@@ -29,27 +69,55 @@ public final class Boundary implements IBoundary
      */
     public int getArea()
     {
-        return (getRect().right - getRect().left) * (getRect().bottom - getRect().top);
+        return (getRight() - getLeft()) * (getBottom() - getTop());
+    }
+    
+    /**
+     * Get the left side
+     * @return The left x-coordinate
+     */
+    public int getLeft()
+    {
+        return this.left;
+    }
+    
+    /**
+     * Get the top side
+     * @return The top y-coordinate
+     */
+    public int getTop()
+    {
+        return this.top;
     }
     
     /**
-     * Get the rectangle coordinates
-     * @return The rectangle coordinates
+     * Get the right side
+     * @return The right x-coordinate (exclusive)
      */
-    public Rect getRect()
+    public int getRight()
     {
-        return this.bounds;
+        return this.right;
     }
     
     /**
-     * Is the location contained inside this boundary?
+     * Get the bottom side
+     * @return The bottom y-coordinate (exclusive)
+     */
+    public int getBottom()
+    {
+        return this.bottom;
+    }
+    
+    /**
+     * Is the location contained inside this boundary?<br>
+     * The left and top sides are included, the right and bottom sides are not
      * @param x x-coordinate
      * @param y y-coordinate
      * @return true = yes, false = no
      */
     public boolean contains(final int x, final int y)
     {
-        return getRect().contains(x, y);
+        return (getLeft() < getRight() && getTop() < getBottom() && x >= getLeft() && x < getRight() && y >= getTop() && y < getBottom());
     }
     
     /**
@@ -69,22 +137,4 @@ public final class Boundary implements IBoundary
     {
         this.solid = solid;
     }
-    
-    @Override
-    public void render(final Canvas canvas, final Paint paint) throws Exception
-    {
-        //only render the square if not solid
-        if (!isSolid())
-        {
-            //fill the background
-            paint.setColor(Color.BLACK);
-            paint.setStyle(Paint.Style.FILL);
-            canvas.drawRect(getRect(), paint);
-            
-            //render the outline
-            paint.setColor(Color.WHITE);
-            paint.setStyle(Paint.Style.STROKE);
-            canvas.drawRect(getRect(), paint);
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.gamesbykevin.jezzin.boundaries;
+
+/**
+ * Keeps track of every pixel of the play area that has been filled, 1 bit per pixel.<br>
+ * Each row is stored in 64 bit words, so a fill sets up to 64 pixels at a time and the pixels are counted with {@link Long#bitCount(long)}.
+ * @author GOD
+ */
+public final class Coverage
+{
+    //the location of the area
+    private final int left, top;
+    
+    //the size of the area (pixels)
+    private final int width, height;
+    
+    //the number of words in each row
+    private final int stride;
+    
+    //the filled pixels, each row starts at (row * stride)
+    private final long[] bits;
+    
+    //the number of filled pixels
+    private int count;
+    
+    /**
+     * Create an empty area
+     * @param left x-coordinate of the area
+     * @param top y-coordinate of the area
+     * @param width The width of the area (pixels)
+     * @param height The height of the area (pixels)
+     */
+    public Coverage(final int left, final int top, final int width, final int height)
+    {
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.stride = (width + 63) >>> 6;
+        this.bits = new long[stride * height];
+    }
+    
+    /**
+     * Remove all filled pixels
+     */
+    public void reset()
+    {
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] = 0;
+        }
+        
+        this.count = 0;
+    }
+    
+    /**
+     * Fill the area of the boundary
+     * @param boundary The boundary to fill
+     */
+    public void fill(final Boundary boundary)
+    {
+        fill(boundary.getLeft(), boundary.getTop(), boundary.getRight(), boundary.getBottom());
+    }
+    
+    /**
+     * Fill a rectangle
+     * @param x1 The left side
+     * @param y1 The top side
+     * @param x2 The right side (exclusive)
+     * @param y2 The bottom side (exclusive)
+     */
+    public void fill(final int x1, final int y1, final int x2, final int y2)
+    {
+        for (int y = Math.max(y1, top); y < Math.min(y2, top + height); y++)
+        {
+            fillRow(y - top, x1 - left, x2 - left);
+        }
+    }
+    
+    /**
+     * Fill the area of the region.<br>
+     * A pixel is filled when its center is inside the region, so regions next to each other never fill the same pixel twice
+     * and there are no gaps between them
+     * @param region The convex region to fill
+     */
+    public void fill(final Region region)
+    {
+        final int y1 = Math.max(top, (int)Math.floor(region.getTop()));
+        final int y2 = Math.min(top + height, (int)Math.ceil(region.getBottom()));
+        
+        for (int y = y1; y < y2; y++)
+        {
+            //the center of the row
+            final double center = y + 0.5;
+            
+            //the part of the row inside the region
+            double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+            
+            for (int i = 0; i < region.getCount(); i++)
+            {
+                final int next = (i + 1) % region.getCount();
+                final double ay = region.getY(i), by = region.getY(next);
+                
+                //skip the edges that don't cross the row
+                if ((ay > center && by > center) || (ay < center && by < center) || ay == by)
+                    continue;
+                
+                final double x = region.getX(i) + ((center - ay) / (by - ay) * (region.getX(next) - region.getX(i)));
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+            }
+            
+            //fill the pixels with the center inside
+            if (min <= max)
+                fillRow(y - top, (int)Math.ceil(min - 0.5) - left, (int)Math.floor(max - 0.5) + 1 - left);
+        }
+    }
+    
+    /**
+     * Fill part of a row, a word at a time
+     * @param row The row
+     * @param from The first pixel
+     * @param to The last pixel (exclusive)
+     */
+    private void fillRow(final int row, int from, int to)
+    {
+        from = Math.max(from, 0);
+        to = Math.min(to, width);
+        
+        if (from >= to)
+            return;
+        
+        final int start = row * stride;
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        
+        for (int word = first; word <= last; word++)
+        {
+            long mask = -1L;
+            
+            //only the part of the first and last word inside the range
+            if (word == first)
+                mask &= (-1L << (from & 63));
+            if (word == last)
+                mask &= (-1L >>> (63 - ((to - 1) & 63)));
+            
+            //the pixels that weren't filled yet
+            final long added = mask & ~bits[start + word];
+            
+            if (added != 0)
+            {
+                bits[start + word] |= added;
+                count += Long.bitCount(added);
+            }
+        }
+    }
+    
+    /**
+     * Is the pixel filled?
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return true = yes, false = no (or outside the area)
+     */
+    public boolean isFilled(final int x, final int y)
+    {
+        if (x < left || x >= left + width || y < top || y >= top + height)
+            return false;
+        
+        return ((bits[((y - top) * stride) + ((x - left) >>> 6)] >>> ((x - left) & 63)) & 1L) != 0;
+    }
+    
+    /**
+     * Get the number of filled pixels
+     * @return The total pixels filled
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Count the filled pixels again, one word at a time
+     * @return The total pixels filled, this should always equal {@link #getCount()}
+     */
+    public int recount()
+    {
+        int total = 0;
+        
+        for (int i = 0; i < bits.length; i++)
+        {
+            total += Long.bitCount(bits[i]);
+        }
+        
+        return total;
+    }
+    
+    /**
+     * Get the progress
+     * @return The filled pixels between 0 - 100
+     */
+    public int getProgress()
+    {
+        return (int)(100 * ((double)count / ((double)width * height)));
+    }
+    
+    /**
+     * Get the width
+     * @return The width of the area (pixels)
+     */
+    public int getWidth()
+    {
+        return this.width;
+    }
+    
+    /**
+     * Get the height
+     * @return The height of the area (pixels)
+     */
+    public int getHeight()
+    {
+        return this.height;
+    }
+}
\ No newline at end of file
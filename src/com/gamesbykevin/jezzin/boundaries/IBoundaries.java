@@ -1,8 +1,9 @@
 package com.gamesbykevin.jezzin.boundaries;
 
-import android.graphics.Canvas;
 import com.gamesbykevin.androidframework.resources.Disposable;
 
+import com.gamesbykevin.jezzin.game.RenderList;
+
 /**
  * Required method for the boundaries
  * @author GOD
@@ -11,19 +12,7 @@ public interface IBoundaries extends Disposable
 {
     /**
      * Render boundaries
-     * @param canvas
-     * @throws Exception 
-     */
-    public void render(final Canvas canvas) throws Exception;
-    
-    /**
-     * Method to update elements
-     */
-    public void update();
-    
-    /**
-     * Logic to reset player
+     * @param commands The list of draw commands for this frame
      */
-    public void reset();
-    
+    public void render(final RenderList commands);
 }
@@ -0,0 +1,367 @@
+package com.gamesbykevin.jezzin.boundaries;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A convex polygon region, used when walls can be drawn at any angle
+ * @author GOD
+ */
+public final class Region
+{
+    //the id of the region, it doesn't change when other regions are added or removed
+    private final int id;
+    
+    //the corners of the polygon, in order
+    private final double[] x, y;
+    
+    //the box containing the polygon
+    private final double left, top, right, bottom;
+    
+    //the area of the polygon
+    private final double area;
+    
+    //1 if the corners are in counter clockwise order (using the math y-axis), -1 otherwise
+    private final double orientation;
+    
+    //is the region solid
+    private boolean solid;
+    
+    //the balls inside this region
+    private final List<Ball> balls;
+    
+    public Region(final int id, final double[] x, final double[] y)
+    {
+        //store the id
+        this.id = id;
+        
+        //store the corners
+        this.x = x;
+        this.y = y;
+        
+        double left = x[0], top = y[0], right = x[0], bottom = y[0];
+        double area = 0;
+        
+        for (int i = 0; i < x.length; i++)
+        {
+            final int next = (i + 1) % x.length;
+            
+            //expand the box
+            left = Math.min(left, x[i]);
+            top = Math.min(top, y[i]);
+            right = Math.max(right, x[i]);
+            bottom = Math.max(bottom, y[i]);
+            
+            //add the signed area of each edge
+            area += (x[i] * y[next]) - (x[next] * y[i]);
+        }
+        
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.area = Math.abs(area / 2);
+        this.orientation = (area < 0) ? -1 : 1;
+        
+        //create empty list
+        this.balls = new ArrayList<Ball>();
+    }
+    
+    /**
+     * Get the id
+     * @return The id of this region in the level
+     */
+    public int getId()
+    {
+        return this.id;
+    }
+    
+    /**
+     * Get the number of corners
+     * @return The number of corners of the polygon
+     */
+    public int getCount()
+    {
+        return this.x.length;
+    }
+    
+    /**
+     * Get the x-coordinate of a corner
+     * @param index The corner
+     * @return The x-coordinate
+     */
+    public double getX(final int index)
+    {
+        return this.x[index];
+    }
+    
+    /**
+     * Get the y-coordinate of a corner
+     * @param index The corner
+     * @return The y-coordinate
+     */
+    public double getY(final int index)
+    {
+        return this.y[index];
+    }
+    
+    /**
+     * Get the left side of the box containing the region
+     * @return The lowest x-coordinate
+     */
+    public double getLeft()
+    {
+        return this.left;
+    }
+    
+    /**
+     * Get the top side of the box containing the region
+     * @return The lowest y-coordinate
+     */
+    public double getTop()
+    {
+        return this.top;
+    }
+    
+    /**
+     * Get the right side of the box containing the region
+     * @return The highest x-coordinate
+     */
+    public double getRight()
+    {
+        return this.right;
+    }
+    
+    /**
+     * Get the bottom side of the box containing the region
+     * @return The highest y-coordinate
+     */
+    public double getBottom()
+    {
+        return this.bottom;
+    }
+    
+    /**
+     * Get the area
+     * @return The total pixels in this region
+     */
+    public double getArea()
+    {
+        return this.area;
+    }
+    
+    /**
+     * Is the region solid?
+     * @return true = yes, false = no
+     */
+    public boolean isSolid()
+    {
+        return this.solid;
+    }
+    
+    /**
+     * Assign the solid flag
+     * @param solid true if this region contains 0 balls, false otherwise
+     */
+    public void setSolid(final boolean solid)
+    {
+        this.solid = solid;
+    }
+    
+    /**
+     * Get the balls inside this region
+     * @return The balls assigned to this region, in the same order as the list of all balls
+     */
+    public List<Ball> getBalls()
+    {
+        return this.balls;
+    }
+    
+    /**
+     * Get the distance from the location to the edge, measured towards the inside of the region
+     * @param index The edge starting at this corner
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return The distance, negative if the location is outside the edge
+     */
+    private double getDistance(final int index, final double x, final double y)
+    {
+        final int next = (index + 1) % this.x.length;
+        final double edgeX = this.x[next] - this.x[index];
+        final double edgeY = this.y[next] - this.y[index];
+        
+        return orientation * ((edgeX * (y - this.y[index])) - (edgeY * (x - this.x[index]))) / Math.sqrt((edgeX * edgeX) + (edgeY * edgeY));
+    }
+    
+    /**
+     * Is the location contained inside this region?
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return true = yes, false = no
+     */
+    public boolean contains(final double x, final double y)
+    {
+        //check the box first
+        if (x < left || x > right || y < top || y > bottom)
+            return false;
+        
+        //a convex polygon contains the location if it is inside every edge
+        for (int i = 0; i < this.x.length; i++)
+        {
+            if (getDistance(i, x, y) < 0)
+                return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Get the distance from the location to the edge of the region in a direction
+     * @param x x-coordinate inside the region
+     * @param y y-coordinate inside the region
+     * @param directionX x-direction (normalized)
+     * @param directionY y-direction (normalized)
+     * @return The distance until the edge of the region is reached
+     */
+    public double getDistance(final double x, final double y, final double directionX, final double directionY)
+    {
+        double distance = Double.MAX_VALUE;
+        
+        for (int i = 0; i < this.x.length; i++)
+        {
+            final int next = (i + 1) % this.x.length;
+            final double edgeX = this.x[next] - this.x[i];
+            final double edgeY = this.y[next] - this.y[i];
+            final double length = Math.sqrt((edgeX * edgeX) + (edgeY * edgeY));
+            
+            //the speed we move towards the inside of this edge, we only reach edges we are moving away from
+            final double speed = orientation * ((edgeX * directionY) - (edgeY * directionX)) / length;
+            
+            if (speed < 0)
+                distance = Math.min(distance, Math.max(0, getDistance(i, x, y)) / -speed);
+        }
+        
+        return distance;
+    }
+    
+    /**
+     * Bounce the ball off any edge it is touching and moving towards, and place it back inside
+     * @param ball The ball we want to check
+     */
+    public void bounce(final Ball ball)
+    {
+        //calculate the radius
+        final double radius = ball.getWidth() / 2;
+        
+        for (int i = 0; i < this.x.length; i++)
+        {
+            final double distance = getDistance(i, ball.getX(), ball.getY());
+            
+            //skip if the ball isn't touching the edge
+            if (distance >= radius)
+                continue;
+            
+            final int next = (i + 1) % this.x.length;
+            final double edgeX = this.x[next] - this.x[i];
+            final double edgeY = this.y[next] - this.y[i];
+            final double length = Math.sqrt((edgeX * edgeX) + (edgeY * edgeY));
+            
+            //the direction towards the inside of the edge
+            final double normalX = -orientation * edgeY / length;
+            final double normalY = orientation * edgeX / length;
+            
+            //how fast the ball is moving towards the inside
+            final double speed = (ball.getDX() * normalX) + (ball.getDY() * normalY);
+            
+            //flip the velocity if moving towards the edge
+            if (speed < 0)
+            {
+                ball.setDX(ball.getDX() - (2 * speed * normalX));
+                ball.setDY(ball.getDY() - (2 * speed * normalY));
+                
+                //adjust coordinates
+                ball.setX(ball.getX() + ((radius - distance) * normalX));
+                ball.setY(ball.getY() + ((radius - distance) * normalY));
+            }
+        }
+    }
+    
+    /**
+     * Which side of the line is the location on
+     * @return Positive for one side, negative for the other, 0 on the line
+     */
+    public static double getSide(final double lineX, final double lineY, final double directionX, final double directionY, final double x, final double y)
+    {
+        return (directionX * (y - lineY)) - (directionY * (x - lineX));
+    }
+    
+    /**
+     * Split the region into 2 along a line
+     * @param lineX x-coordinate on the line
+     * @param lineY y-coordinate on the line
+     * @param directionX x-direction of the line
+     * @param directionY y-direction of the line
+     * @param id1 The id of the region on the positive side
+     * @param id2 The id of the region on the negative side
+     * @return The regions on the positive and negative side of the line, null if the line doesn't cross the region
+     */
+    public Region[] split(final double lineX, final double lineY, final double directionX, final double directionY, final int id1, final int id2)
+    {
+        final double[] x1 = new double[this.x.length + 2], y1 = new double[this.x.length + 2];
+        final double[] x2 = new double[this.x.length + 2], y2 = new double[this.x.length + 2];
+        int count1 = 0, count2 = 0;
+        
+        for (int i = 0; i < this.x.length; i++)
+        {
+            final int next = (i + 1) % this.x.length;
+            final double side = getSide(lineX, lineY, directionX, directionY, this.x[i], this.y[i]);
+            final double sideNext = getSide(lineX, lineY, directionX, directionY, this.x[next], this.y[next]);
+            
+            //keep the corner on its side, a corner on the line belongs to both
+            if (side >= 0)
+            {
+                x1[count1] = this.x[i];
+                y1[count1++] = this.y[i];
+            }
+            if (side <= 0)
+            {
+                x2[count2] = this.x[i];
+                y2[count2++] = this.y[i];
+            }
+            
+            //if the edge crosses the line, both get the crossing point
+            if ((side > 0 && sideNext < 0) || (side < 0 && sideNext > 0))
+            {
+                final double t = side / (side - sideNext);
+                final double crossX = this.x[i] + (t * (this.x[next] - this.x[i]));
+                final double crossY = this.y[i] + (t * (this.y[next] - this.y[i]));
+                
+                x1[count1] = crossX;
+                y1[count1++] = crossY;
+                x2[count2] = crossX;
+                y2[count2++] = crossY;
+            }
+        }
+        
+        //the line has to cut the region into 2 polygons
+        if (count1 < 3 || count2 < 3)
+            return null;
+        
+        return new Region[] {
+            new Region(id1, copy(x1, count1), copy(y1, count1)),
+            new Region(id2, copy(x2, count2), copy(y2, count2))
+        };
+    }
+    
+    /**
+     * Copy the first part of an array
+     */
+    private static double[] copy(final double[] values, final int count)
+    {
+        final double[] result = new double[count];
+        System.arraycopy(values, 0, result, 0, count);
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.gamesbykevin.jezzin.boundaries;
+
+import java.util.List;
+
+/**
+ * A bounding volume hierarchy over the regions, to find the region containing a location
+ * without checking every polygon
+ * @author GOD
+ */
+public final class RegionTree
+{
+    /**
+     * The deepest the tree can be searched
+     */
+    private static final int DEPTH_MAX = 64;
+    
+    //the box of each node
+    private double[] left = new double[0], top = new double[0], right = new double[0], bottom = new double[0];
+    
+    //the children of each node, -1 for a leaf
+    private int[] child1 = new int[0], child2 = new int[0];
+    
+    //the region of each leaf
+    private Region[] leaves = new Region[0];
+    
+    //the order of the regions while building
+    private Region[] order = new Region[0];
+    
+    //the number of nodes
+    private int count;
+    
+    //the nodes waiting to be checked
+    private final int[] stack = new int[DEPTH_MAX];
+    
+    /**
+     * Build the tree for the regions
+     * @param regions The regions to search
+     */
+    public void build(final List<Region> regions)
+    {
+        //a tree with n leaves has at most 2n - 1 nodes
+        final int size = Math.max(1, (regions.size() * 2) - 1);
+        
+        //make sure we have enough room
+        if (left.length < size)
+        {
+            left = new double[size];
+            top = new double[size];
+            right = new double[size];
+            bottom = new double[size];
+            child1 = new int[size];
+            child2 = new int[size];
+            leaves = new Region[size];
+        }
+        
+        if (order.length < regions.size())
+            order = new Region[regions.size()];
+        
+        for (int i = 0; i < regions.size(); i++)
+        {
+            order[i] = regions.get(i);
+        }
+        
+        this.count = 0;
+        
+        if (!regions.isEmpty())
+            build(0, regions.size());
+    }
+    
+    /**
+     * Build a node for part of the regions
+     * @param start The first region
+     * @param end The last region (exclusive)
+     * @return The node
+     */
+    private int build(final int start, final int end)
+    {
+        final int node = count++;
+        
+        //the box containing all of the regions
+        left[node] = Double.MAX_VALUE;
+        top[node] = Double.MAX_VALUE;
+        right[node] = -Double.MAX_VALUE;
+        bottom[node] = -Double.MAX_VALUE;
+        
+        for (int i = start; i < end; i++)
+        {
+            left[node] = Math.min(left[node], order[i].getLeft());
+            top[node] = Math.min(top[node], order[i].getTop());
+            right[node] = Math.max(right[node], order[i].getRight());
+            bottom[node] = Math.max(bottom[node], order[i].getBottom());
+        }
+        
+        //a single region is a leaf
+        if (end - start == 1)
+        {
+            child1[node] = -1;
+            child2[node] = -1;
+            leaves[node] = order[start];
+            return node;
+        }
+        
+        leaves[node] = null;
+        
+        //split the longest side of the box in the middle, by the center of each region
+        final boolean horizontal = (right[node] - left[node] > bottom[node] - top[node]);
+        
+        //sort by the center (insertion sort, the lists are small)
+        for (int i = start + 1; i < end; i++)
+        {
+            final Region region = order[i];
+            final double center = getCenter(region, horizontal);
+            int j = i - 1;
+            
+            while (j >= start && getCenter(order[j], horizontal) > center)
+            {
+                order[j + 1] = order[j];
+                j--;
+            }
+            
+            order[j + 1] = region;
+        }
+        
+        final int middle = (start + end) / 2;
+        
+        child1[node] = build(start, middle);
+        child2[node] = build(middle, end);
+        
+        return node;
+    }
+    
+    /**
+     * Get the center of the region on one axis
+     */
+    private static double getCenter(final Region region, final boolean horizontal)
+    {
+        return (horizontal) ? region.getLeft() + region.getRight() : region.getTop() + region.getBottom();
+    }
+    
+    /**
+     * Find the region containing the location
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return The region containing the location, null if none found
+     */
+    public Region find(final double x, final double y)
+    {
+        if (count == 0)
+            return null;
+        
+        int size = 0;
+        stack[size++] = 0;
+        
+        while (size > 0)
+        {
+            final int node = stack[--size];
+            
+            //skip if the location isn't in the box
+            if (x < left[node] || x > right[node] || y < top[node] || y > bottom[node])
+                continue;
+            
+            //check the polygon of a leaf
+            if (leaves[node] != null)
+            {
+                if (leaves[node].contains(x, y))
+                    return leaves[node];
+                
+                continue;
+            }
+            
+            stack[size++] = child1[node];
+            stack[size++] = child2[node];
+        }
+        
+        //none found
+        return null;
+    }
+}
\ No newline at end of file
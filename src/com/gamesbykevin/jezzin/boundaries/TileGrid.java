@@ -0,0 +1,295 @@
+package com.gamesbykevin.jezzin.boundaries;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+
+import java.util.List;
+
+/**
+ * The play area as a grid of tiles, each tile is either open or solid.<br>
+ * When a wall is complete every open tile that can be reached from a ball is found with a scanline flood fill,
+ * and all other open tiles become solid. The regions can be any shape, so no list of boundaries is needed.
+ * Nothing is created after the grid, the flood fill uses a stack that is allocated once.
+ * @author GOD
+ */
+public final class TileGrid
+{
+    /**
+     * A solid tile, an open tile has the number of the last fill that reached it instead
+     */
+    private static final int SOLID = -1;
+    
+    //the location of the area
+    private final int left, top;
+    
+    //the size of a tile (pixels)
+    private final int size;
+    
+    //the number of tiles in each row, and the number of rows
+    private final int columns, rows;
+    
+    //the state of each tile, each row starts at (row * columns)
+    private final int[] tiles;
+    
+    //the number of the current fill, the tiles reached by a previous fill don't need to be cleared
+    private int fill;
+    
+    //the tiles waiting to be filled
+    private final int[] stack;
+    
+    //the number of solid tiles
+    private int solidCount;
+    
+    /**
+     * Create a grid with every tile open
+     * @param left x-coordinate of the area
+     * @param top y-coordinate of the area
+     * @param width The width of the area (pixels)
+     * @param height The height of the area (pixels)
+     * @param size The size of a tile (pixels)
+     */
+    public TileGrid(final int left, final int top, final int width, final int height, final int size)
+    {
+        this.left = left;
+        this.top = top;
+        this.size = size;
+        this.columns = (width + size - 1) / size;
+        this.rows = (height + size - 1) / size;
+        this.tiles = new int[columns * rows];
+        
+        //each tile can be added once from the row above and once from the row below
+        this.stack = new int[(columns * rows * 2) + 1];
+    }
+    
+    /**
+     * Open every tile
+     */
+    public void reset()
+    {
+        for (int i = 0; i < tiles.length; i++)
+        {
+            tiles[i] = 0;
+        }
+        
+        this.fill = 0;
+        this.solidCount = 0;
+    }
+    
+    /**
+     * Is the pixel solid?
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return true if the tile containing the pixel is solid or the pixel is outside the area, false otherwise
+     */
+    public boolean isSolid(final double x, final double y)
+    {
+        //use floor so the pixels just outside the area aren't rounded into it
+        final int column = (int)Math.floor((x - left) / size);
+        final int row = (int)Math.floor((y - top) / size);
+        
+        if (column < 0 || column >= columns || row < 0 || row >= rows)
+            return true;
+        
+        return (tiles[(row * columns) + column] == SOLID);
+    }
+    
+    /**
+     * Make every tile touching the rectangle solid
+     * @param x1 The left side
+     * @param y1 The top side
+     * @param x2 The right side
+     * @param y2 The bottom side
+     */
+    public void setSolid(final double x1, final double y1, final double x2, final double y2)
+    {
+        final int column1 = Math.max(0, (int)Math.floor((x1 - left) / size));
+        final int row1 = Math.max(0, (int)Math.floor((y1 - top) / size));
+        final int column2 = Math.min(columns - 1, (int)Math.floor((x2 - left) / size));
+        final int row2 = Math.min(rows - 1, (int)Math.floor((y2 - top) / size));
+        
+        for (int row = row1; row <= row2; row++)
+        {
+            for (int column = column1; column <= column2; column++)
+            {
+                if (tiles[(row * columns) + column] != SOLID)
+                {
+                    tiles[(row * columns) + column] = SOLID;
+                    solidCount++;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Find every open tile that can be reached from a ball, all other open tiles become solid
+     * @param balls The balls in play
+     * @return The number of tiles that became solid
+     */
+    public int capture(final List<Ball> balls)
+    {
+        //start a new fill, the marks of the previous fill no longer count
+        this.fill++;
+        
+        for (int i = 0; i < balls.size(); i++)
+        {
+            final Ball ball = balls.get(i);
+            final int column = (int)Math.floor((ball.getX() - left) / size);
+            final int row = (int)Math.floor((ball.getY() - top) / size);
+            
+            //the ball is outside the area
+            if (column < 0 || column >= columns || row < 0 || row >= rows)
+                continue;
+            
+            flood((row * columns) + column);
+        }
+        
+        //every open tile that wasn't reached is captured
+        int captured = 0;
+        
+        for (int i = 0; i < tiles.length; i++)
+        {
+            if (tiles[i] != SOLID && tiles[i] != fill)
+            {
+                tiles[i] = SOLID;
+                captured++;
+            }
+        }
+        
+        this.solidCount += captured;
+        
+        return captured;
+    }
+    
+    /**
+     * Can the tile be filled?
+     * @param index The tile
+     * @return true if the tile is open and hasn't been reached by the current fill, false otherwise
+     */
+    private boolean isFillable(final int index)
+    {
+        return (tiles[index] != SOLID && tiles[index] != fill);
+    }
+    
+    /**
+     * Mark every open tile connected to the tile, a row (span) at a time
+     * @param start The tile to start from
+     */
+    private void flood(final int start)
+    {
+        //nothing to do if the tile is solid or already reached
+        if (!isFillable(start))
+            return;
+        
+        int count = 0;
+        stack[count++] = start;
+        
+        while (count > 0)
+        {
+            final int index = stack[--count];
+            
+            //the tile may have been reached since it was added
+            if (!isFillable(index))
+                continue;
+            
+            final int row = index / columns;
+            final int first = row * columns;
+            
+            //mark the open span of the row containing the tile
+            int x1 = index - first;
+            int x2 = x1;
+            tiles[index] = fill;
+            
+            while (x1 > 0 && isFillable(first + x1 - 1))
+            {
+                tiles[first + --x1] = fill;
+            }
+            
+            while (x2 < columns - 1 && isFillable(first + x2 + 1))
+            {
+                tiles[first + ++x2] = fill;
+            }
+            
+            //add the start of each open span in the row above and below
+            if (row > 0)
+                count = push(first - columns, x1, x2, count);
+            if (row < rows - 1)
+                count = push(first + columns, x1, x2, count);
+        }
+    }
+    
+    /**
+     * Add the first tile of each open span within part of a row to the stack
+     * @param first The first tile of the row
+     * @param x1 The first column to check
+     * @param x2 The last column to check
+     * @param count The number of tiles in the stack
+     * @return The new number of tiles in the stack
+     */
+    private int push(final int first, final int x1, final int x2, int count)
+    {
+        //are we inside an open span
+        boolean span = false;
+        
+        for (int x = x1; x <= x2; x++)
+        {
+            if (isFillable(first + x))
+            {
+                if (!span)
+                {
+                    stack[count++] = first + x;
+                    span = true;
+                }
+            }
+            else
+            {
+                span = false;
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Get the progress
+     * @return The solid tiles between 0 - 100
+     */
+    public int getProgress()
+    {
+        return (int)(100 * ((double)solidCount / tiles.length));
+    }
+    
+    /**
+     * Get the number of solid tiles
+     * @return The total solid tiles
+     */
+    public int getSolidCount()
+    {
+        return this.solidCount;
+    }
+    
+    /**
+     * Get the size of a tile
+     * @return The width/height of a tile (pixels)
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+    
+    /**
+     * Get the columns
+     * @return The number of tiles in each row
+     */
+    public int getColumns()
+    {
+        return this.columns;
+    }
+    
+    /**
+     * Get the rows
+     * @return The number of rows
+     */
+    public int getRows()
+    {
+        return this.rows;
+    }
+}
\ No newline at end of file
@@ -3,21 +3,30 @@ package com.gamesbykevin.jezzin.game;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.view.MotionEvent;
 
+import com.gamesbykevin.androidframework.anim.Animation;
 import com.gamesbykevin.androidframework.resources.Font;
 import com.gamesbykevin.androidframework.text.TimeFormat;
 
+import com.gamesbykevin.jezzin.MainActivity;
 import com.gamesbykevin.jezzin.assets.Assets;
+import com.gamesbykevin.jezzin.assets.Effects;
 import com.gamesbykevin.jezzin.background.Background;
 import com.gamesbykevin.jezzin.balls.Balls;
 import com.gamesbykevin.jezzin.boundaries.Boundaries;
 import com.gamesbykevin.jezzin.game.controller.Controller;
+import com.gamesbykevin.jezzin.panel.GamePanel;
 import com.gamesbykevin.jezzin.player.Player;
+import com.gamesbykevin.jezzin.replay.Replay;
+import com.gamesbykevin.jezzin.replay.ReplayEvent;
 import com.gamesbykevin.jezzin.storage.scorecard.Score;
 import com.gamesbykevin.jezzin.storage.scorecard.ScoreCard;
 import com.gamesbykevin.jezzin.screen.OptionsScreen;
 import com.gamesbykevin.jezzin.screen.ScreenManager;
+import com.gamesbykevin.jezzin.simulation.World;
+import com.gamesbykevin.jezzin.thread.MainThread;
+
+import java.io.File;
 
 /**
  * The main game logic will happen here
@@ -31,6 +40,9 @@ public final class Game implements IGame
     //paint object to draw text
     private Paint paint;
     
+    //the draw commands of the game elements for each frame
+    private RenderList commands;
+    
     //our storage object used to save data
     private ScoreCard scorecard;
     
@@ -49,6 +61,9 @@ public final class Game implements IGame
     //our game background
     private Background background;
     
+    //vibrates the phone without holding up the game
+    private Haptics haptics;
+    
     /**
      * The amount of time to set the clock per ball in timed mode
      */
@@ -57,6 +72,41 @@ public final class Game implements IGame
     //is the game being reset
     private boolean reset = false;
     
+    /**
+     * The amount of time a single update represents in deterministic mode (milliseconds)
+     */
+    public static final long TICK_DURATION = Animation.MILLISECONDS_PER_SECOND / MainThread.FPS;
+    
+    /**
+     * The directory where we keep the replay of each level played
+     */
+    private static final String DIRECTORY_REPLAYS = "replays";
+    
+    /**
+     * The name used to request the most recent replay, see {@link MainActivity#EXTRA_REPLAY}
+     */
+    private static final String REPLAY_LATEST = "latest";
+    
+    /**
+     * The maximum number of replays we keep
+     */
+    private static final int REPLAY_LIMIT = 10;
+    
+    //the logic of the current level
+    private final World world;
+    
+    //do we advance the clock a fixed amount each update
+    private boolean deterministic = false;
+    
+    //the recording of the current level
+    private Replay replay;
+    
+    //the replay we are playing back (if any)
+    private Replay playback;
+    
+    //the index of the next event to play back
+    private int playbackIndex;
+    
     public Game(final ScreenManager screen) throws Exception
     {
         //our main screen object reference
@@ -69,6 +119,12 @@ public final class Game implements IGame
         this.paint.setColor(Color.WHITE);
         this.paint.setLinearText(false);
         
+        //create the list of draw commands, text is drawn with our paint object
+        this.commands = new RenderList(paint);
+        
+        //create the world where the level takes place
+        this.world = new World();
+        
         //create ball container
         this.balls = new Balls(this);
         
@@ -84,8 +140,14 @@ public final class Game implements IGame
         //create our background object
         this.background = new Background(this);
         
+        //look up the vibrator once
+        this.haptics = new Haptics(screen.getPanel().getActivity());
+        
         //create score card to track best score
         this.scorecard = new ScoreCard(this, screen.getPanel().getActivity());
+        
+        //the clock can advance a fixed amount each update if requested when the app was started
+        setDeterministic(screen.getPanel().getActivity().isDeterministic());
     }
     
     /**
@@ -144,12 +206,39 @@ public final class Game implements IGame
     
     @Override
     public void reset(final int level) throws Exception
+    {
+        //we are playing a new level
+        reset(level, null);
+    }
+    
+    /**
+     * Restart the level stored in the replay.<br>
+     * The level will be re-simulated exactly the way it was recorded
+     * @param replay The replay we want to play back
+     * @throws Exception
+     */
+    public void reset(final Replay replay) throws Exception
+    {
+        reset(replay.getLevel(), replay);
+    }
+    
+    /**
+     * Restart the game
+     * @param level The specified level
+     * @param playback The replay to play back, null if we are playing a new level
+     * @throws Exception
+     */
+    private void reset(final int level, final Replay playback) throws Exception
     {
         //flag reset
         reset = true;
         
+        //store the replay to play back
+        this.playback = playback;
+        this.playbackIndex = 0;
+        
         //assign collision setting
-        getBalls().setCollision(getScreen().getScreenOptions().hasCollision());        
+        getWorld().setCollision(playback != null ? playback.hasCollision() : getScreen().getScreenOptions().hasCollision());
         
         //reset player
         getPlayer().reset();
@@ -210,14 +299,195 @@ public final class Game implements IGame
                 break;
         }
         
-        //reset boundaries
-        getBoundaries().reset();
+        //when playing back use the settings the level was recorded with
+        if (playback != null)
+        {
+            getPlayer().setVelocity(playback.getVelocity());
+            getPlayer().setLives(playback.getLives());
+            getPlayer().setCountdown(playback.getTimeLeft() > 0, playback.getTimeLeft());
+        }
+        
+        //each level gets its own seed, so it can be re-created
+        final long seed = (playback != null) ? playback.getSeed() : GamePanel.RANDOM.nextLong();
+        
+        //reset the boundaries and balls
+        getWorld().reset(seed, level);
         
         //reset background
         getBackground().reset();
         
-        //reset the balls
-        getBalls().reset(level);
+        //start recording the level
+        this.replay = new Replay(
+            seed,
+            level,
+            (playback != null) ? playback.getDifficultyIndex() : getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_DIFFICULTY),
+            (playback != null) ? playback.getModeIndex() : getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_MODE),
+            getWorld().hasCollision(),
+            getPlayer().getVelocity(),
+            getPlayer().getLives(),
+            getPlayer().getTimeLeft(),
+            TICK_DURATION
+        );
+    }
+    
+    /**
+     * Get the world
+     * @return The logic of the current level
+     */
+    public World getWorld()
+    {
+        return this.world;
+    }
+    
+    /**
+     * Assign deterministic mode
+     * @param deterministic true = the clock advances a fixed amount each update, false = the clock follows the system time
+     */
+    public void setDeterministic(final boolean deterministic)
+    {
+        this.deterministic = deterministic;
+    }
+    
+    /**
+     * Is deterministic mode enabled?<br>
+     * A replay is played back with the time of each update it was recorded with in either mode
+     * @return true = the clock advances a fixed amount each update, false = the clock follows the system time
+     */
+    public boolean isDeterministic()
+    {
+        return this.deterministic;
+    }
+    
+    /**
+     * Get the replay
+     * @return The recording of the current level
+     */
+    public Replay getReplay()
+    {
+        return this.replay;
+    }
+    
+    /**
+     * Are we playing back a replay?
+     * @return true = yes, false = no
+     */
+    public boolean hasPlayback()
+    {
+        return (this.playback != null);
+    }
+    
+    /**
+     * Start drawing a wall and record it in our replay
+     * @param x starting x-coordinate
+     * @param y starting y-coordinate
+     * @param direction The direction of the wall {@link World#DIRECTION_HORIZONTAL} or {@link World#DIRECTION_VERTICAL}
+     * @param velocity The speed of the wall
+     * @return true if we are successful in starting the draw, false otherwise
+     */
+    public boolean startDraw(final int x, final int y, final int direction, final double velocity)
+    {
+        //attempt to start drawing
+        final boolean result = getWorld().startDraw(x, y, direction, velocity);
+        
+        //only the walls that were started change the level, so only they need to be recorded
+        if (result && getReplay() != null)
+            getReplay().record(getWorld().getTick(), x, y, direction);
+        
+        //return our result
+        return result;
+    }
+    
+    /**
+     * Apply the recorded input for the current tick
+     */
+    private void updatePlayback()
+    {
+        while (playbackIndex < playback.getEvents().size())
+        {
+            //get the next event
+            final ReplayEvent event = playback.getEvents().get(playbackIndex);
+            
+            //if the event is for a later tick, we are done for now
+            if (event.getTick() > getWorld().getTick())
+                break;
+            
+            //start the wall the same way the player did
+            startDraw(event.getX(), event.getY(), event.getDirection(), playback.getVelocity());
+            
+            //move to the next event
+            playbackIndex++;
+        }
+    }
+    
+    /**
+     * Store the final state of the level in our replay and save it
+     */
+    private void finishReplay()
+    {
+        //store the final state
+        getReplay().finish(
+            getWorld().getTick(),
+            getWorld().getTotalProgress(),
+            getWorld().getLives(),
+            getWorld().getLayoutChecksum(),
+            getWorld().getBallChecksum()
+        );
+        
+        //there is no need to save a replay we are playing back
+        if (hasPlayback())
+            return;
+        
+        try
+        {
+            //save the replay
+            getReplay().save(getReplayDirectory());
+            
+            //only keep the most recent replays
+            Replay.prune(getReplayDirectory(), REPLAY_LIMIT);
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Get the directory where we keep our replays
+     * @return The replay directory in the files of our app
+     */
+    private File getReplayDirectory()
+    {
+        return new File(getScreen().getPanel().getActivity().getFilesDir(), DIRECTORY_REPLAYS);
+    }
+    
+    /**
+     * Load a saved replay
+     * @param name The file name of the replay, or "latest" for the most recent replay
+     * @return The replay, null if the name is null or the replay could not be loaded
+     */
+    public Replay loadReplay(final String name)
+    {
+        if (name == null)
+            return null;
+        
+        try
+        {
+            if (name.equals(REPLAY_LATEST))
+            {
+                //the replays are sorted oldest first
+                final File[] files = Replay.list(getReplayDirectory());
+                
+                return (files.length > 0) ? Replay.load(files[files.length - 1]) : null;
+            }
+            
+            return Replay.load(new File(getReplayDirectory(), name));
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            
+            return null;
+        }
     }
     
     /**
@@ -230,22 +500,24 @@ public final class Game implements IGame
     }
     
     /**
-     * Update the game based on the motion event
-     * @param event Motion Event
+     * Update the game based on the touch of a single finger
+     * @param action The masked action of the touch
+     * @param id The pointer id of the finger
      * @param x (x-coordinate)
      * @param y (y-coordinate)
+     * @param time When the touch happened (milliseconds)
      * @throws Exception
      */
-    public void updateMotionEvent(final MotionEvent event, final float x, final float y) throws Exception
+    public void updateTouch(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
         //only update game if no controller buttons were clicked
-        if (getController() != null && !getController().updateMotionEvent(event, x, y))
+        if (getController() != null && !getController().updateTouch(action, x, y))
         {
-            //make sure draw isn't in progress
-            if (getBoundaries() != null && !getBoundaries().hasDraw())
+            //each finger can draw its own wall, so only make sure we aren't playing back a replay
+            if (!hasPlayback())
             {
                 if (getPlayer() != null)
-                    getPlayer().update(event, x, y);
+                    getPlayer().update(action, id, x, y, time);
             }
         }
     }
@@ -263,14 +535,109 @@ public final class Game implements IGame
         }
         else
         {
-            if (getBoundaries() != null)
-                getBoundaries().update();
-
-            if (getPlayer() != null)
-                getPlayer().update();
-
-            if (getBalls() != null)
-                getBalls().update();
+            //apply the recorded input (if playing back), otherwise let the strategy play (if assigned)
+            if (hasPlayback())
+                updatePlayback();
+            else
+                getPlayer().updateStrategy();
+            
+            //measure the time of this update
+            getPlayer().update();
+            
+            //when playing back, each update takes the time it was recorded with
+            final long elapsed = hasPlayback() ? playback.getTickDuration(getWorld().getTick()) : getPlayer().getDuration();
+            
+            //store the time of this update, so the level can be played back exactly
+            if (getReplay() != null)
+                getReplay().recordTick(elapsed);
+            
+            //advance the level
+            final World.Result result = getWorld().update(elapsed);
+            
+            //update the timer
+            getPlayer().updateTimeDesc();
+            
+            //act on the outcome
+            updateResult(result);
+            
+            //once the level has ended, store the result in our replay
+            if (getScreen().getState() == ScreenManager.State.GameOver && getReplay() != null && !getReplay().hasFinished())
+                finishReplay();
+        }
+    }
+    
+    /**
+     * Play the sound effects and change the state depending on the outcome of the update
+     * @param result The outcome of the latest update
+     */
+    private void updateResult(final World.Result result)
+    {
+        switch (result)
+        {
+            case WallComplete:
+                //play sound effect
+                Effects.play(Assets.AudioGameKey.ProgressAdd);
+                break;
+            
+            case LevelComplete:
+                //set the state
+                getScreen().setState(ScreenManager.State.GameOver);
+                
+                //update the score, a replay being played back can't set a record
+                final boolean record = !hasPlayback() && getScoreCard().updateScore(
+                    getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_DIFFICULTY),
+                    getPlayer().getLevel(),
+                    getPlayer().getTime()
+                );
+                
+                //assign message to display to user
+                getScreen().getScreenGameover().setMessage(record ? "New record" : "You win");
+                
+                //play sound effect
+                Effects.play(Assets.AudioGameKey.ProgressComplete);
+                break;
+            
+            case LifeLost:
+            case NoLives:
+                //vibrate phone when losing a life (if it is enabled)
+                if (getScreen().getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_VIBRATE) == 0)
+                {
+                    //vibrate on another thread, game over is a longer pattern
+                    haptics.vibrate((result == World.Result.NoLives) ? Haptics.Pattern.NoLives : Haptics.Pattern.LifeLost);
+                }
+                
+                if (result == World.Result.NoLives)
+                {
+                    //the game is over
+                    getScreen().setState(ScreenManager.State.GameOver);
+                    
+                    //assign message to display to user
+                    getScreen().getScreenGameover().setMessage("No More Lives");
+                    
+                    //play sound effect
+                    Effects.play(Assets.AudioGameKey.NoLives);
+                }
+                else
+                {
+                    //play sound effect
+                    Effects.play(Assets.AudioGameKey.LoseLife);
+                }
+                break;
+            
+            case TimeUp:
+                //change the state to game over
+                getScreen().setState(ScreenManager.State.GameOver);
+                
+                //assign message to display to user
+                getScreen().getScreenGameover().setMessage("Time up");
+                
+                //play sound effect
+                Effects.play(Assets.AudioGameKey.TimeUp);
+                break;
+            
+            case None:
+            default:
+                break;
         }
     }
     
@@ -316,8 +683,20 @@ public final class Game implements IGame
             background = null;
         }
         
+        if (haptics != null)
+        {
+            haptics.dispose();
+            haptics = null;
+        }
+        
         paint = null;
         
+        if (commands != null)
+        {
+            commands.reset();
+            commands = null;
+        }
+        
         if (scorecard != null)
         {
             scorecard.dispose();
@@ -340,19 +719,25 @@ public final class Game implements IGame
 
             if (getBackground() != null)
                 getBackground().render(canvas);
+            
+            //start the commands of this frame
+            commands.reset();
 
             if (getBoundaries() != null && getBalls() != null)
             {
                 //continue to show the boundaries and balls until goal is met
-                if (getBoundaries().getTotalProgress() < Player.PROGRESS_GOAL)
+                if (getWorld().getTotalProgress() < World.PROGRESS_GOAL)
                 {
-                    getBoundaries().render(canvas);
-                    getBalls().render(canvas);
+                    getBoundaries().render(commands);
+                    getBalls().render(commands);
                 }
             }
 
             if (getPlayer() != null)
-                getPlayer().render(canvas);
+                getPlayer().render(commands);
+            
+            //draw the commands sorted by layer and paint
+            commands.render(canvas);
 
             //render the controller for specific states
             if (screen.getState() != ScreenManager.State.GameOver && 
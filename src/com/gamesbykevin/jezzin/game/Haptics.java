@@ -0,0 +1,120 @@
+package com.gamesbykevin.jezzin.game;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.os.Vibrator;
+
+import com.gamesbykevin.androidframework.resources.Disposable;
+
+/**
+ * Vibrates the phone for the events of the game without holding up the game thread.<br>
+ * The vibrator is looked up once, and each request is posted to a thread of its own.
+ * A request arriving soon after another is ignored, unless it is a stronger pattern.
+ * @author GOD
+ */
+public final class Haptics implements Disposable
+{
+    /**
+     * The events that vibrate the phone, weakest first
+     */
+    public enum Pattern
+    {
+        //a single buzz when losing a life
+        LifeLost(new long[]{0, 250}),
+        
+        //three buzzes when the game is over
+        NoLives(new long[]{0, 150, 100, 150, 100, 300});
+        
+        //the delay before, then the length of each buzz and the pause between them (milliseconds)
+        private final long[] timings;
+        
+        //the total length of the pattern (milliseconds)
+        private final long duration;
+        
+        private Pattern(final long[] timings)
+        {
+            this.timings = timings;
+            
+            long total = 0;
+            
+            for (long timing : timings)
+            {
+                total += timing;
+            }
+            
+            this.duration = total;
+        }
+    }
+    
+    //the vibrator of the phone, null if there is none
+    private Vibrator vibrator;
+    
+    //the thread that talks to the vibrator
+    private HandlerThread thread;
+    
+    //used to post requests to our thread
+    private Handler handler;
+    
+    //the latest pattern and when it will be done (milliseconds)
+    private Pattern previous;
+    private long end = 0;
+    
+    /**
+     * Look up the vibrator and start our thread
+     * @param context The context used to find the vibrator service
+     */
+    public Haptics(final Context context)
+    {
+        this.vibrator = (Vibrator)context.getSystemService(Context.VIBRATOR_SERVICE);
+        
+        this.thread = new HandlerThread("Haptics");
+        this.thread.start();
+        this.handler = new Handler(thread.getLooper());
+    }
+    
+    /**
+     * Vibrate the pattern, this returns right away.<br>
+     * If a pattern is still vibrating the request is ignored, unless the new pattern is stronger
+     * @param pattern The pattern to vibrate
+     */
+    public void vibrate(final Pattern pattern)
+    {
+        if (vibrator == null || handler == null)
+            return;
+        
+        final long time = SystemClock.uptimeMillis();
+        
+        //coalesce the rapid repeats
+        if (time < end && pattern.ordinal() <= previous.ordinal())
+            return;
+        
+        this.previous = pattern;
+        this.end = time + pattern.duration;
+        
+        handler.post(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                //the new pattern replaces the current one
+                vibrator.vibrate(pattern.timings, -1);
+            }
+        });
+    }
+    
+    @Override
+    public void dispose()
+    {
+        if (thread != null)
+        {
+            thread.quit();
+            thread = null;
+        }
+        
+        handler = null;
+        vibrator = null;
+        previous = null;
+    }
+}
\ No newline at end of file
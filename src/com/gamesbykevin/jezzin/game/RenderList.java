@@ -0,0 +1,344 @@
+package com.gamesbykevin.jezzin.game;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * A list of draw commands the game elements add to each frame instead of drawing on the canvas themselves.<br>
+ * Before the commands are drawn they are sorted by layer, then by type, then by color (or image),
+ * so the paint only changes when the next command needs something different.
+ * Commands with the same layer, type and color are drawn in the order they were added.<br>
+ * The commands are kept in arrays that are created once, the list only grows if a frame has more commands than ever before.
+ * Nothing is drawn until {@link #render(Canvas)}, so the commands of a frame can also be read back with {@link #describe(StringBuilder)}
+ * @author GOD
+ */
+public final class RenderList
+{
+    /**
+     * The order the commands are drawn, each layer is drawn on top of the one before
+     */
+    public enum Layer
+    {
+        Boundaries,
+        Walls,
+        Balls,
+        Hud
+    }
+    
+    /**
+     * The type of a command
+     */
+    public enum Type
+    {
+        Fill,
+        Stroke,
+        Sprite,
+        Text
+    }
+    
+    /**
+     * The number of commands we have room for at the start
+     */
+    private static final int CAPACITY = 64;
+    
+    //the values of each command: left, top, right, bottom, stroke width (text only uses left and bottom)
+    private static final int VALUES = 5;
+    
+    //the type of each command
+    private static final Type[] TYPES = Type.values();
+    
+    //the number of commands this frame
+    private int count;
+    
+    //the layer and type of each command
+    private int[] layers, types;
+    
+    //the color of each command
+    private int[] colors;
+    
+    //the location and size of each command
+    private float[] values;
+    
+    //the image of a sprite or the text to draw
+    private Object[] targets;
+    
+    //the key we sort each command by
+    private long[] keys;
+    
+    //the order to draw the commands
+    private int[] order;
+    
+    //the paint used for the rectangles
+    private final Paint paint;
+    
+    //the paint used for text
+    private final Paint text;
+    
+    //where a sprite is drawn
+    private final RectF destination = new RectF();
+    
+    /**
+     * Create an empty list
+     * @param text The paint used for text, the typeface and size are kept and only the color is changed
+     */
+    public RenderList(final Paint text)
+    {
+        this.text = text;
+        this.paint = new Paint();
+        
+        this.layers = new int[CAPACITY];
+        this.types = new int[CAPACITY];
+        this.colors = new int[CAPACITY];
+        this.values = new float[CAPACITY * VALUES];
+        this.targets = new Object[CAPACITY];
+        this.keys = new long[CAPACITY];
+        this.order = new int[CAPACITY];
+    }
+    
+    /**
+     * Remove all commands, call at the start of each frame
+     */
+    public void reset()
+    {
+        //don't hold on to the images or text
+        for (int i = 0; i < count; i++)
+        {
+            targets[i] = null;
+        }
+        
+        this.count = 0;
+    }
+    
+    /**
+     * Add a filled rectangle
+     * @param layer The layer to draw on
+     * @param color The color
+     * @param left The left side
+     * @param top The top side
+     * @param right The right side
+     * @param bottom The bottom side
+     */
+    public void fill(final Layer layer, final int color, final float left, final float top, final float right, final float bottom)
+    {
+        add(layer, Type.Fill, color, null, left, top, right, bottom, 0);
+    }
+    
+    /**
+     * Add the outline of a rectangle
+     * @param layer The layer to draw on
+     * @param color The color
+     * @param width The width of the outline (pixels), 0 is always 1 pixel
+     * @param left The left side
+     * @param top The top side
+     * @param right The right side
+     * @param bottom The bottom side
+     */
+    public void stroke(final Layer layer, final int color, final float width, final float left, final float top, final float right, final float bottom)
+    {
+        add(layer, Type.Stroke, color, null, left, top, right, bottom, width);
+    }
+    
+    /**
+     * Add an image
+     * @param layer The layer to draw on
+     * @param image The image to draw, it is scaled to fit
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param width The width to draw
+     * @param height The height to draw
+     */
+    public void sprite(final Layer layer, final Bitmap image, final double x, final double y, final double width, final double height)
+    {
+        //sprites of the same image are drawn together
+        add(layer, Type.Sprite, System.identityHashCode(image), image, (float)x, (float)y, (float)(x + width), (float)(y + height), 0);
+    }
+    
+    /**
+     * Add text, drawn with the text paint
+     * @param layer The layer to draw on
+     * @param color The color
+     * @param value The text to draw
+     * @param x x-coordinate
+     * @param y y-coordinate of the baseline
+     */
+    public void text(final Layer layer, final int color, final String value, final float x, final float y)
+    {
+        add(layer, Type.Text, color, value, x, y, x, y, 0);
+    }
+    
+    /**
+     * Add a command
+     */
+    private void add(final Layer layer, final Type type, final int color, final Object target, final float left, final float top, final float right, final float bottom, final float width)
+    {
+        //make room if needed
+        if (count == layers.length)
+            grow();
+        
+        layers[count] = layer.ordinal();
+        types[count] = type.ordinal();
+        colors[count] = color;
+        targets[count] = target;
+        
+        final int index = count * VALUES;
+        values[index] = left;
+        values[index + 1] = top;
+        values[index + 2] = right;
+        values[index + 3] = bottom;
+        values[index + 4] = width;
+        
+        //layer first, then type, then color
+        keys[count] = ((long)layer.ordinal() << 40) | ((long)type.ordinal() << 32) | (color & 0xFFFFFFFFL);
+        
+        count++;
+    }
+    
+    /**
+     * Double the room for commands
+     */
+    private void grow()
+    {
+        final int size = layers.length * 2;
+        
+        layers = copy(layers, size);
+        types = copy(types, size);
+        colors = copy(colors, size);
+        order = copy(order, size);
+        
+        final float[] values = new float[size * VALUES];
+        System.arraycopy(this.values, 0, values, 0, this.values.length);
+        this.values = values;
+        
+        final Object[] targets = new Object[size];
+        System.arraycopy(this.targets, 0, targets, 0, this.targets.length);
+        this.targets = targets;
+        
+        final long[] keys = new long[size];
+        System.arraycopy(this.keys, 0, keys, 0, this.keys.length);
+        this.keys = keys;
+    }
+    
+    /**
+     * Copy the array into a larger array
+     */
+    private static int[] copy(final int[] array, final int size)
+    {
+        final int[] result = new int[size];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+    
+    /**
+     * Sort the commands into the order they are drawn.<br>
+     * The commands are mostly added in order already, so an insertion sort is quick and keeps equal commands in the order they were added
+     */
+    private void sort()
+    {
+        for (int i = 0; i < count; i++)
+        {
+            final int current = i;
+            final long key = keys[current];
+            
+            int j = i - 1;
+            
+            while (j >= 0 && keys[order[j]] > key)
+            {
+                order[j + 1] = order[j];
+                j--;
+            }
+            
+            order[j + 1] = current;
+        }
+    }
+    
+    /**
+     * Draw all commands
+     * @param canvas Where to write the pixel data
+     */
+    public void render(final Canvas canvas)
+    {
+        sort();
+        
+        //the color of the text paint is restored when we are done
+        final int textColor = text.getColor();
+        
+        for (int i = 0; i < count; i++)
+        {
+            final int command = order[i];
+            final int index = command * VALUES;
+            
+            switch (TYPES[types[command]])
+            {
+                case Fill:
+                case Stroke:
+                    //only change the paint if we need to
+                    final Paint.Style style = (TYPES[types[command]] == Type.Fill) ? Paint.Style.FILL : Paint.Style.STROKE;
+                    
+                    if (paint.getStyle() != style)
+                        paint.setStyle(style);
+                    if (paint.getColor() != colors[command])
+                        paint.setColor(colors[command]);
+                    if (paint.getStrokeWidth() != values[index + 4])
+                        paint.setStrokeWidth(values[index + 4]);
+                    
+                    canvas.drawRect(values[index], values[index + 1], values[index + 2], values[index + 3], paint);
+                    break;
+                
+                case Sprite:
+                    destination.set(values[index], values[index + 1], values[index + 2], values[index + 3]);
+                    canvas.drawBitmap((Bitmap)targets[command], null, destination, null);
+                    break;
+                
+                case Text:
+                    if (text.getColor() != colors[command])
+                        text.setColor(colors[command]);
+                    
+                    canvas.drawText((String)targets[command], values[index], values[index + 3], text);
+                    break;
+            }
+        }
+        
+        if (text.getColor() != textColor)
+            text.setColor(textColor);
+    }
+    
+    /**
+     * Get the number of commands
+     * @return The number of commands added this frame
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Write the commands of this frame in the order they are drawn, one per line, to look at a frame without a device
+     * @param result Where the commands are written
+     */
+    public void describe(final StringBuilder result)
+    {
+        sort();
+        
+        for (int i = 0; i < count; i++)
+        {
+            final int command = order[i];
+            final int index = command * VALUES;
+            
+            result.append(Layer.values()[layers[command]]).append(',');
+            result.append(TYPES[types[command]]).append(',');
+            result.append(Integer.toHexString(colors[command])).append(',');
+            result.append(values[index]).append(',');
+            result.append(values[index + 1]).append(',');
+            result.append(values[index + 2]).append(',');
+            result.append(values[index + 3]).append(',');
+            result.append(values[index + 4]);
+            
+            if (TYPES[types[command]] == Type.Text)
+                result.append(',').append(targets[command]);
+            
+            result.append('\n');
+        }
+    }
+}
\ No newline at end of file
@@ -6,12 +6,11 @@ import android.graphics.Canvas;
 import android.view.MotionEvent;
 
 import com.gamesbykevin.androidframework.resources.Audio;
-import com.gamesbykevin.androidframework.resources.Images;
 
 import com.gamesbykevin.jezzin.assets.Assets;
+import com.gamesbykevin.jezzin.assets.Music;
 import com.gamesbykevin.jezzin.boundaries.Boundaries;
 import com.gamesbykevin.jezzin.game.Game;
-import com.gamesbykevin.jezzin.panel.GamePanel;
 import com.gamesbykevin.jezzin.screen.ScreenManager;
 
 import java.util.HashMap;
@@ -72,7 +71,7 @@ public class Controller implements IController
         //add button
         for (Assets.ImageGameKey key : tmp)
         {
-            this.buttons.put(key, new Button(Images.getImage(key)));
+            this.buttons.put(key, new Button(Assets.pinImage(key)));
         }
         
         //update location of our buttons
@@ -116,17 +115,17 @@ public class Controller implements IController
     }
     
     /**
-     * Update the controller based on the motion event
-     * @param event Motion Event
+     * Update the controller based on the touch
+     * @param action The masked action of the touch
      * @param x (x-coordinate)
      * @param y (y-coordinate)
-     * @return true if motion event was applied, false otherwise
+     * @return true if the touch was applied, false otherwise
      * @throws Exception
      */
-    public boolean updateMotionEvent(final MotionEvent event, final float x, final float y) throws Exception
+    public boolean updateTouch(final int action, final float x, final float y) throws Exception
     {
         //check if the touch screen was released
-        if (event.getAction() == MotionEvent.ACTION_UP)
+        if (action == MotionEvent.ACTION_UP)
         {
             //check if the player hit the controller
             if (buttons.get(Assets.ImageGameKey.Pause).contains(x, y))
@@ -154,9 +153,15 @@ public class Controller implements IController
                 buttons.get(Assets.ImageGameKey.SoundOn).setVisible(Audio.isAudioEnabled());
                 buttons.get(Assets.ImageGameKey.SoundOff).setVisible(!Audio.isAudioEnabled());
                 
-                //if audio enabled, play music
+                //if audio enabled, continue the music from where it was, otherwise pause it
                 if (Audio.isAudioEnabled())
-                    Audio.play(GamePanel.RANDOM.nextBoolean() ? Assets.AudioGameKey.Music1 : Assets.AudioGameKey.Music2, true);
+                {
+                    Music.resume();
+                }
+                else
+                {
+                    Music.pause();
+                }
                 
                 //event was applied
                 return true;
@@ -175,6 +180,12 @@ public class Controller implements IController
     {
         if (buttons != null)
         {
+            //each button image was pinned once
+            for (Assets.ImageGameKey key : buttons.keySet())
+            {
+                Assets.unpinImage(key);
+            }
+            
             for (Button button : buttons.values())
             {
                 if (button != null)
@@ -1,7 +1,6 @@
 package com.gamesbykevin.jezzin.game.controller;
 
 import android.graphics.Canvas;
-import android.view.MotionEvent;
 
 import com.gamesbykevin.androidframework.resources.Disposable;
 
@@ -17,14 +16,14 @@ public interface IController extends Disposable
 	public void reset();
 	
     /**
-     * Update logic when motion event occurs
-     * @param event Motion Event
+     * Update logic when a touch occurs
+     * @param action The masked action of the touch
      * @param x x-coordinate
      * @param y y-coordinate
      * @throws Exception
-     * @return true if motion event was applied, false otherwise
+     * @return true if the touch was applied, false otherwise
      */
-    public boolean updateMotionEvent(final MotionEvent event, final float x, final float y) throws Exception;
+    public boolean updateTouch(final int action, final float x, final float y) throws Exception;
     
     /**
      * Render our controller
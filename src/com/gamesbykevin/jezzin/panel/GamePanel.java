@@ -8,7 +8,9 @@ import android.view.SurfaceView;
 import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.resources.Disposable;
 
+import com.gamesbykevin.jezzin.Latency;
 import com.gamesbykevin.jezzin.MainActivity;
+import com.gamesbykevin.jezzin.Startup;
 import com.gamesbykevin.jezzin.assets.Assets;
 import com.gamesbykevin.jezzin.screen.ScreenManager;
 import com.gamesbykevin.jezzin.thread.MainThread;
@@ -39,6 +41,9 @@ public class GamePanel extends SurfaceView implements SurfaceHolder.Callback, Di
     //our main game thread
     private MainThread thread;
     
+    //the touch events waiting for the game thread
+    private final TouchQueue touches = new TouchQueue();
+    
     /**
      * Create a new game panel
      * @param activity Our main activity reference
@@ -122,9 +127,12 @@ public class GamePanel extends SurfaceView implements SurfaceHolder.Callback, Di
     @Override
     public void surfaceCreated(SurfaceHolder holder)
     {
+        //the surface is ready
+        Startup.mark(Startup.Mark.Surface);
+        
         try
         {
-            //load assets
+            //load the menu assets, the rest are loaded when needed
             Assets.load(getActivity());
             
             //create if null
@@ -161,12 +169,11 @@ public class GamePanel extends SurfaceView implements SurfaceHolder.Callback, Di
                 final float scaleFactorX = (float)WIDTH / getWidth();
                 final float scaleFactorY = (float)HEIGHT / getHeight();
 
-                //adjust the coordinates
-                final float x = event.getRawX() * scaleFactorX;
-                final float y = event.getRawY() * scaleFactorY;
-
-                //update the events
-                return this.screen.update(event, x, y);
+                //the game thread applies the touches at the start of its next update, so the level is changed on the same tick it is recorded
+                touches.add(event, scaleFactorX, scaleFactorY);
+                
+                //the event is ours even if the game was behind and a move was dropped
+                return true;
             }
         }
         catch (Exception e)
@@ -207,14 +214,14 @@ public class GamePanel extends SurfaceView implements SurfaceHolder.Callback, Di
             //make sure the screen is created first before the thread starts
             if (this.screen == null)
             {
-                //load all assets
-                Assets.load(getActivity());
-
-                //create new screen manager
+                //create new screen manager, the menu assets were loaded when the surface was created
                 this.screen = new ScreenManager(this);
             }
             else
             {
+                //apply the touch events first so they are seen by this update
+                touches.apply(screen);
+                
                 screen.update();
             }
         }
@@ -245,6 +252,10 @@ public class GamePanel extends SurfaceView implements SurfaceHolder.Callback, Di
                 
                     //render the main sreen containing the game and other screens
                     screen.render(canvas);
+                    
+                    //show the swipe latency when debugging
+                    if (MainThread.DEBUG)
+                        Latency.render(canvas);
                 }
             }
             catch (Exception e)
@@ -0,0 +1,149 @@
+package com.gamesbykevin.jezzin.panel;
+
+import android.view.MotionEvent;
+
+import com.gamesbykevin.jezzin.screen.ITouchScreen;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes the touch events from the main (UI) thread to the game thread without a lock.<br>
+ * Each finger of each event is copied into arrays of primitives as soon as it arrives (a touch),
+ * and the game thread passes them to the screen at the start of its next update, so no event is kept or rebuilt.
+ * A move also adds the samples batched into it since the last move, so the swipe velocity sees every sample and not one per update.
+ * Only the main thread adds and only the game thread removes, so the position of each side is all that needs to be shared.
+ * When the game falls behind only moves are dropped, the other touches (down, up, cancel) always have room saved for them.
+ * @author GOD
+ */
+public final class TouchQueue
+{
+    /**
+     * The number of touches the queue can hold
+     */
+    public static final int SIZE = 256;
+    
+    /**
+     * The spots saved for the touches that aren't moves, a move is dropped instead of using them
+     */
+    public static final int RESERVED = 32;
+    
+    //the masked action and pointer id of each touch
+    private final int[] actions = new int[SIZE], ids = new int[SIZE];
+    
+    //when each touch happened (milliseconds)
+    private final long[] times = new long[SIZE];
+    
+    //the location of each touch, scaled to our game
+    private final float[] xs = new float[SIZE], ys = new float[SIZE];
+    
+    //the next touch to remove, and the next free spot (these only increase)
+    private final AtomicInteger head = new AtomicInteger(), tail = new AtomicInteger();
+    
+    //was a touch that isn't a move dropped because even the saved spots were full
+    private final AtomicBoolean overflow = new AtomicBoolean();
+    
+    /**
+     * Copy each finger of the event into the queue, called from the main thread
+     * @param event The event, it can be recycled once this returns
+     * @param scaleX The scale from the screen to our game (x-coordinate)
+     * @param scaleY The scale from the screen to our game (y-coordinate)
+     */
+    public void add(final MotionEvent event, final float scaleX, final float scaleY)
+    {
+        final int action = event.getActionMasked();
+        
+        if (action == MotionEvent.ACTION_MOVE)
+        {
+            //the older samples batched into the move, oldest first
+            for (int history = 0; history < event.getHistorySize(); history++)
+            {
+                for (int index = 0; index < event.getPointerCount(); index++)
+                {
+                    if (!add(action, event.getPointerId(index), event.getHistoricalX(index, history) * scaleX, event.getHistoricalY(index, history) * scaleY, event.getHistoricalEventTime(history), RESERVED))
+                        return;
+                }
+            }
+            
+            //the move contains every finger on the screen, stop once the game is too far behind
+            for (int index = 0; index < event.getPointerCount(); index++)
+            {
+                if (!add(action, event.getPointerId(index), event.getX(index) * scaleX, event.getY(index) * scaleY, event.getEventTime(), RESERVED))
+                    return;
+            }
+        }
+        else
+        {
+            //only the finger that went down or up
+            final int index = event.getActionIndex();
+            
+            //the queue is full, the fingers will be cancelled instead so none is left down
+            if (!add(action, event.getPointerId(index), event.getX(index) * scaleX, event.getY(index) * scaleY, event.getEventTime(), 0))
+                overflow.set(true);
+        }
+    }
+    
+    /**
+     * Copy a touch into the queue
+     * @param action The masked action
+     * @param id The pointer id of the finger
+     * @param x x-coordinate, scaled to our game
+     * @param y y-coordinate, scaled to our game
+     * @param time When the touch happened (milliseconds)
+     * @param reserved The spots that have to stay free
+     * @return true if the touch was added, false if the queue is full
+     */
+    private boolean add(final int action, final int id, final float x, final float y, final long time, final int reserved)
+    {
+        final int index = tail.get();
+        
+        //the game is behind, drop the touch instead of waiting
+        if (index - head.get() >= SIZE - reserved)
+            return false;
+        
+        final int slot = index % SIZE;
+        
+        actions[slot] = action;
+        ids[slot] = id;
+        xs[slot] = x;
+        ys[slot] = y;
+        times[slot] = time;
+        
+        //publish the touch after it is written
+        tail.set(index + 1);
+        
+        return true;
+    }
+    
+    /**
+     * Pass every waiting touch to the screen, called from the game thread at the start of an update
+     * @param screen The screen receiving the touches
+     * @throws Exception
+     */
+    public void apply(final ITouchScreen screen) throws Exception
+    {
+        //only the touches added before we started, new touches wait for the next update
+        final int end = tail.get();
+        
+        while (head.get() < end)
+        {
+            final int index = head.get();
+            final int slot = index % SIZE;
+            
+            final int action = actions[slot];
+            final int id = ids[slot];
+            final float x = xs[slot];
+            final float y = ys[slot];
+            final long time = times[slot];
+            
+            //the spot can be reused now
+            head.set(index + 1);
+            
+            screen.update(action, id, x, y, time);
+        }
+        
+        //a finger may have been lifted while the queue was full, so cancel every finger
+        if (overflow.getAndSet(false))
+            screen.update(MotionEvent.ACTION_CANCEL, 0, 0, 0, 0);
+    }
+}
\ No newline at end of file
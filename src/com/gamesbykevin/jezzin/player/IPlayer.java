@@ -1,10 +1,9 @@
 package com.gamesbykevin.jezzin.player;
 
-import android.graphics.Canvas;
-import android.view.MotionEvent;
-
 import com.gamesbykevin.androidframework.resources.Disposable;
 
+import com.gamesbykevin.jezzin.game.RenderList;
+
 /**
  * Required player methods
  * @author GOD
@@ -13,10 +12,9 @@ public interface IPlayer extends Disposable
 {
     /**
      * Render player
-     * @param canvas
-     * @throws Exception 
+     * @param commands The list of draw commands for this frame
      */
-    public void render(final Canvas canvas) throws Exception;
+    public void render(final RenderList commands);
     
     /**
      * Method to update elements
@@ -29,11 +27,13 @@ public interface IPlayer extends Disposable
     public void reset();
     
     /**
-     * Update the game based on the motion event
-     * @param event Motion Event
+     * Update the game based on the touch of a single finger
+     * @param action The masked action of the touch
+     * @param id The pointer id of the finger
      * @param x (x-coordinate)
      * @param y (y-coordinate)
+     * @param time When the touch happened (milliseconds)
      * @throws Exception
      */
-    public void update(final MotionEvent event, final float x, final float y) throws Exception;
+    public void update(final int action, final int id, final float x, final float y, final long time) throws Exception;
 }
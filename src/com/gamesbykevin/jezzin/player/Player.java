@@ -1,18 +1,22 @@
 package com.gamesbykevin.jezzin.player;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
+import android.graphics.Color;
 import android.view.MotionEvent;
 
-import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.text.TimeFormat;
-import com.gamesbykevin.jezzin.assets.Assets;
-import com.gamesbykevin.jezzin.balls.Balls;
+import com.gamesbykevin.jezzin.Latency;
+import com.gamesbykevin.jezzin.MainActivity;
 import com.gamesbykevin.jezzin.boundaries.Boundaries;
 import com.gamesbykevin.jezzin.game.Game;
+import com.gamesbykevin.jezzin.game.RenderList;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 import com.gamesbykevin.jezzin.screen.OptionsScreen;
-import com.gamesbykevin.jezzin.screen.ScreenManager;
+import com.gamesbykevin.jezzin.simulation.LargestBoundaryStrategy;
+import com.gamesbykevin.jezzin.simulation.Move;
+import com.gamesbykevin.jezzin.simulation.RandomStrategy;
+import com.gamesbykevin.jezzin.simulation.SolverStrategy;
+import com.gamesbykevin.jezzin.simulation.Strategy;
+import com.gamesbykevin.jezzin.simulation.World;
 
 /**
  * The player that plays the game
@@ -20,20 +24,20 @@ import com.gamesbykevin.jezzin.screen.ScreenManager;
  */
 public final class Player implements IPlayer
 {
-    //did we start to draw the wall
-    private boolean begin = false;
-    
     /**
-     * No velocity
+     * The most fingers tracked at the same time, any pointer id this high or higher is ignored
      */
-    private static final double VELOCITY_NONE = 0;
+    public static final int POINTER_MAX = 10;
+    
+    //did each finger start to draw a wall, by pointer id
+    private final boolean[] begin = new boolean[POINTER_MAX];
     
     /**
      * Velocity of the progress when rendering a wall for each difficulty
      */
-    public static final double VELOCITY_NORMAL = (Balls.VELOCITY_MAX * 1.5);
-    public static final double VELOCITY_HARD = (Balls.VELOCITY_MAX * 0.9);
-    public static final double VELOCITY_EASY = (Balls.VELOCITY_MAX * 3);
+    public static final double VELOCITY_NORMAL = (World.VELOCITY_MAX * 1.5);
+    public static final double VELOCITY_HARD = (World.VELOCITY_MAX * 0.9);
+    public static final double VELOCITY_EASY = (World.VELOCITY_MAX * 3);
     
     //the current velocity when rendering a wall
     private double velocity = 0;
@@ -43,27 +47,24 @@ public final class Player implements IPlayer
      */
     public static final String TIME_FORMAT = "mm:ss.SSS";
     
-    //the starting point
-    private float startX, startY;
+    //the starting point of each finger, by pointer id
+    private final float[] startX = new float[POINTER_MAX], startY = new float[POINTER_MAX];
+    
+    //decides the direction of each finger from its recent movement
+    private final SwipeRecognizer recognizer = new SwipeRecognizer(POINTER_MAX);
 
     //our game reference
     private final Game game;
     
-    //the players lives
-    private int lives;
-    
     //the current level of play
     private int level;
     
-    //the timer
-    private long elapsed;
-    
-    //if we are counting down the time
-    private long timeLeft;
-    
     //the previous time to track the timer
     private long previous;
     
+    //the time the latest update represents
+    private long duration;
+    
     //our timer and best timer and difficulty description
     private String timeDesc = "", bestDesc = "", difficultyDesc = "", modeDesc = "";
     
@@ -100,13 +101,19 @@ public final class Player implements IPlayer
     private static final int MODE_X = Boundaries.DEFAULT_BOUNDS.left + 135;
     private static final int MODE_Y = LEVEL_Y;
     
+    //do we count down the timer
+    private boolean countdown = false;
+    
+    //the strategy playing instead of the touch screen (if assigned)
+    private Strategy strategy;
+    
     /**
-     * The required progress to complete the level
+     * The number of updates the strategy waits after it didn't find a wall
      */
-    public static final int PROGRESS_GOAL = 75;
+    private static final int STRATEGY_DELAY = 5;
     
-    //do we count down the timer
-    private boolean countdown = false;
+    //the updates left before the strategy looks for a wall again
+    private int strategyDelay;
     
     public Player(final Game game)
     {
@@ -136,8 +143,8 @@ public final class Player implements IPlayer
     	//assign flag
         this.countdown = countdown;
         
-        //assign count down time
-        this.timeLeft = timeLeft;
+        //assign count down time, the level only counts down when a time is set
+        game.getWorld().setTimeLeft((countdown) ? timeLeft : 0);
     }
     
     /**
@@ -153,11 +160,20 @@ public final class Player implements IPlayer
      * Get the velocity
      * @return The speed at which we can render a wall
      */
-    private double getVelocity()
+    public double getVelocity()
     {
         return this.velocity;
     }
     
+    /**
+     * Get the time left
+     * @return The time to count down from, 0 if we are not counting down
+     */
+    public long getTimeLeft()
+    {
+        return game.getWorld().getTimeLeft();
+    }
+    
     /**
      * Stop the timer
      */
@@ -190,10 +206,7 @@ public final class Player implements IPlayer
      */
     public void setLives(final int lives)
     {
-        this.lives = lives;
-        
-        if (getLives() < 0)
-            this.lives = 0;
+        game.getWorld().setLives(lives);
     }
     
     /**
@@ -202,7 +215,7 @@ public final class Player implements IPlayer
      */
     public int getLives()
     {
-        return this.lives;
+        return game.getWorld().getLives();
     }
     
     /**
@@ -211,16 +224,16 @@ public final class Player implements IPlayer
      */
     public long getTime()
     {
-        return this.elapsed;
+        return game.getWorld().getTime();
     }
     
     /**
-     * Set the elapsed time
-     * @param time The time milliseconds of the timer
+     * Get the duration
+     * @return The time the latest update represents (milliseconds)
      */
-    public void setTime(final long elapsed)
+    public long getDuration()
     {
-        this.elapsed = elapsed;
+        return this.duration;
     }
     
     /**
@@ -251,100 +264,188 @@ public final class Player implements IPlayer
     }
     
     /**
-     * Flag that we have begun to draw the wall
+     * Flag that a finger has begun to draw a wall
+     * @param id The pointer id of the finger
      * @param begin true = yes, false = no
      */
-    public void setBegin(final boolean begin)
+    private void setBegin(final int id, final boolean begin)
+    {
+        this.begin[id] = begin;
+    }
+    
+    /**
+     * Did the finger begin to draw a wall?
+     * @param id The pointer id of the finger
+     * @return true = yes, false = no
+     */
+    private boolean hasBegin(final int id)
+    {
+        return this.begin[id];
+    }
+    
+    /**
+     * Assign a strategy to play instead of the touch screen, used for soak tests and performance traces
+     * @param strategy The strategy picking the walls, null to let the user play
+     */
+    public void setStrategy(final Strategy strategy)
     {
-        this.begin = begin;
+        this.strategy = strategy;
+        this.strategyDelay = 0;
     }
     
     /**
-     * Did we begin to draw the wall?
+     * Is a strategy playing instead of the touch screen?
      * @return true = yes, false = no
      */
-    private boolean hasBegin()
+    public boolean hasStrategy()
     {
-        return this.begin;
+        return (this.strategy != null);
     }
     
     /**
-     * Update the game based on the motion event
-     * @param event Motion Event
+     * Let the strategy start the next wall, the same way a swipe would
+     */
+    public void updateStrategy()
+    {
+        //nothing to do without a strategy, or while a wall is being drawn
+        if (!hasStrategy() || game.getWorld().hasDraw())
+            return;
+        
+        //the strategy didn't find a wall recently, so don't search again every update
+        if (strategyDelay > 0)
+        {
+            strategyDelay--;
+            return;
+        }
+        
+        final Move move = strategy.next(game.getWorld());
+        
+        //start the wall, or wait before searching again
+        if (move != null)
+            game.startDraw(move.getX(), move.getY(), move.getDirection(), getVelocity());
+        else
+            strategyDelay = STRATEGY_DELAY;
+    }
+    
+    /**
+     * Update the game based on the touch of a single finger.<br>
+     * Each finger on the screen is tracked by its pointer id, so every finger can draw its own wall
+     * @param action The masked action of the touch
+     * @param id The pointer id of the finger
      * @param x (x-coordinate)
      * @param y (y-coordinate)
+     * @param time When the touch happened (milliseconds)
      * @throws Exception
      */
-    public void update(final MotionEvent event, final float x, final float y) throws Exception
+    public void update(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
-        //don't continue if the coordinates are outside the playable bounds
-        if (x <= Boundaries.DEFAULT_BOUNDS.left || x >= Boundaries.DEFAULT_BOUNDS.right)
-            return;
-        if (y <= Boundaries.DEFAULT_BOUNDS.top || y >= Boundaries.DEFAULT_BOUNDS.bottom)
+        //the touch screen is ignored while a strategy is playing
+        if (hasStrategy())
             return;
         
-        switch (event.getAction())
+        switch (action)
         {
             case MotionEvent.ACTION_DOWN:
-            	//if we already began, don't continue
-            	if (hasBegin())
-            		return;
-            	
-                //flag start
-                setBegin(true);
-
-                //set location
-                this.startX = x;
-                this.startY = y;
+            case MotionEvent.ACTION_POINTER_DOWN:
+                //a finger was placed on the screen
+                startTouch(id, x, y, time);
                 break;
                 
             case MotionEvent.ACTION_MOVE:
-            	//don't continue if we did not begin
-            	if (!hasBegin())
-            		return;
-            	
-            	//start the swipe
-            	startSwipe(x, y);
-            	break;
+                //each finger of a move is a separate touch
+                startSwipe(id, x, y, time);
+                break;
                 
-            /*
+            case MotionEvent.ACTION_POINTER_UP:
+                //the finger was removed before it started a wall
+                if (id < POINTER_MAX)
+                    setBegin(id, false);
+                break;
+            
             case MotionEvent.ACTION_UP:
-                //don't continue if we did not begin
-                if (!hasBegin())
-                    return;
-
+            case MotionEvent.ACTION_CANCEL:
+                //there are no more fingers on the screen
+                for (int finger = 0; finger < POINTER_MAX; finger++)
+                {
+                    setBegin(finger, false);
+                }
                 break;
-           	*/
         }
     }
     
     /**
-     * Start the swipe
-     * @param x The new x-coordinate
-     * @param y The new y-coordinate
+     * Are the coordinates inside the playable bounds?
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return true = yes, false = no
      */
-    private void startSwipe(final float x, final float y)
+    private static boolean isInside(final float x, final float y)
     {
-        //identify the difference between user start and finish
-        final float xDiff = (startX > x) ? startX - x : x - startX;
-        final float yDiff = (startY > y) ? startY - y : y - startY;
-
-        //result after starting draw
-        boolean result = false;
-
-        //determine which direction the wall is generated
-        if (xDiff > yDiff)
-        {
-            result = game.getBoundaries().startDraw((int)startX, (int)startY, getVelocity(), VELOCITY_NONE);
-        }
-        else if (yDiff > xDiff)
-        {
-            result = game.getBoundaries().startDraw((int)startX, (int)startY, VELOCITY_NONE, getVelocity());
-        }
-
-        //if not successful we can try again
-        if (!result)
-            setBegin(false);
+        if (x <= Boundaries.DEFAULT_BOUNDS.left || x >= Boundaries.DEFAULT_BOUNDS.right)
+            return false;
+        if (y <= Boundaries.DEFAULT_BOUNDS.top || y >= Boundaries.DEFAULT_BOUNDS.bottom)
+            return false;
+        
+        return true;
+    }
+    
+    /**
+     * Store the starting point of a finger
+     * @param id The pointer id of the finger
+     * @param x x-coordinate in the game
+     * @param y y-coordinate in the game
+     * @param time When the finger was placed (milliseconds)
+     */
+    private void startTouch(final int id, final float x, final float y, final long time)
+    {
+        //don't continue if we can't track the finger, or the coordinates are outside the playable bounds
+        if (id >= POINTER_MAX || !isInside(x, y))
+            return;
+        
+        //if we already began, don't continue
+        if (hasBegin(id))
+            return;
+        
+        //flag start
+        setBegin(id, true);
+        
+        //set location
+        this.startX[id] = x;
+        this.startY[id] = y;
+        
+        //start tracking the movement of the finger
+        recognizer.start(id, x, y, time);
+    }
+    
+    /**
+     * Start the swipe of a finger
+     * @param id The pointer id of the finger
+     * @param x x-coordinate in the game
+     * @param y y-coordinate in the game
+     * @param time When the finger moved (milliseconds)
+     */
+    private void startSwipe(final int id, final float x, final float y, final long time)
+    {
+        //don't continue if we did not begin
+        if (id >= POINTER_MAX || !hasBegin(id))
+            return;
+        
+        //don't continue if the coordinates are outside the playable bounds
+        if (!isInside(x, y))
+            return;
+        
+        //determine which direction the wall is generated, wait for more movement if we aren't sure
+        final int direction = recognizer.add(id, x, y, time);
+        
+        if (direction == SwipeRecognizer.NONE)
+            return;
+        
+        //measure how long it takes for the wall to be seen
+        if (game.startDraw((int)startX[id], (int)startY[id], direction, getVelocity()))
+            Latency.wall(time);
+        
+        //each touch can start a single wall, if not successful we can try again with a new touch
+        setBegin(id, false);
     }
     
     @Override
@@ -360,30 +461,28 @@ public final class Player implements IPlayer
         //get the current time
         final long current = System.currentTimeMillis();
         
-        //add the difference to the total time
-        setTime(getTime() + (current - previous));
+        //in deterministic mode each update is the same amount of time, otherwise use the difference
+        this.duration = (game.isDeterministic() ? Game.TICK_DURATION : (current - previous));
         
+        //update the previous
+        this.previous = current;
+    }
+    
+    /**
+     * Update the time description with the time of the level
+     */
+    public void updateTimeDesc()
+    {
         if (countdown)
         {
             //update the time description with the difference since we are counting down
-            this.setTimeDesc(TimeFormat.getDescription(TIME_FORMAT, timeLeft - getTime()));
-            
-            if (timeLeft - getTime() < 0)
+            if (getTimeLeft() - getTime() < 0)
             {
-            	//set the time description
-            	this.setTimeDesc("00:00.000");
-                
-                //change the state to game over
-                game.getScreen().setState(ScreenManager.State.GameOver);
-                
-                //assign message to display to user
-                game.getScreen().getScreenGameover().setMessage("Time up");
-                
-                //play sound effect
-                Audio.play(Assets.AudioGameKey.TimeUp);
-                
-                //no need to continue
-                return;
+                this.setTimeDesc("00:00.000");
+            }
+            else
+            {
+                this.setTimeDesc(TimeFormat.getDescription(TIME_FORMAT, getTimeLeft() - getTime()));
             }
         }
         else
@@ -391,22 +490,22 @@ public final class Player implements IPlayer
             //update the time description
             this.setTimeDesc(TimeFormat.getDescription(TIME_FORMAT, getTime()));
         }
-        
-        //update the previous
-        this.previous = current;
     }
     
     @Override
     public void reset()
     {
-        //flag false
-        setBegin(false);
+        //flag false for every finger
+        for (int id = 0; id < POINTER_MAX; id++)
+        {
+            setBegin(id, false);
+        }
         
         //reset time stats
-        this.elapsed = 0;
         this.previous = 0;
+        this.duration = 0;
         this.stop = true;
-        this.setTimeDesc(TimeFormat.getDescription(TIME_FORMAT, getTime()));
+        this.setTimeDesc(TimeFormat.getDescription(TIME_FORMAT, 0));
         this.setBestDesc("");
         
         //set the speed and description of the chosen difficulty
@@ -428,47 +527,62 @@ public final class Player implements IPlayer
                 this.difficultyDesc = DIFFICULTY_DESC_EASY;
                 break;
         }
+        
+        //let a strategy play if one was requested when the app was started, it needs the velocity of the difficulty
+        setStrategy(createStrategy(game.getScreen().getPanel().getActivity().getStrategy()));
+    }
+    
+    /**
+     * Create the strategy that plays instead of the touch screen
+     * @param name The name of the strategy, see {@link MainActivity#EXTRA_STRATEGY}
+     * @return The strategy, null if the name is null or unknown so the user plays
+     */
+    private Strategy createStrategy(final String name)
+    {
+        if (name == null)
+            return null;
+        
+        //the solver has to decide within a single update
+        if (name.equals("solver"))
+            return new SolverStrategy(getVelocity(), SolverStrategy.BUDGET);
+        if (name.equals("largest"))
+            return new LargestBoundaryStrategy(GamePanel.RANDOM);
+        if (name.equals("random"))
+            return new RandomStrategy(GamePanel.RANDOM);
+        
+        return null;
     }
     
     @Override
-    public void render(final Canvas canvas) throws Exception
+    public void render(final RenderList commands)
     {
         //draw the timer description
-        canvas.drawText("Time: " + timeDesc, TIMER_X, TIMER_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, "Time: " + timeDesc, TIMER_X, TIMER_Y);
         
         //draw the personal best description
-        canvas.drawText("Best: " + bestDesc, PERSONAL_BEST_X, PERSONAL_BEST_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, "Best: " + bestDesc, PERSONAL_BEST_X, PERSONAL_BEST_Y);
         
         //draw the lives
-        canvas.drawText("Lives: " + getLives(), LIVES_X, LIVES_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, "Lives: " + getLives(), LIVES_X, LIVES_Y);
         
         //draw the level
-        canvas.drawText("Level: " + getLevel(), LEVEL_X, LEVEL_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, "Level: " + getLevel(), LEVEL_X, LEVEL_Y);
         
         //draw the mode
-        canvas.drawText("Mode", MODE_X, LIVES_Y, game.getPaint());
-        canvas.drawText(modeDesc, MODE_X, MODE_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, "Mode", MODE_X, LIVES_Y);
+        commands.text(RenderList.Layer.Hud, Color.WHITE, modeDesc, MODE_X, MODE_Y);
         
         //get the progress
-        final int progress = game.getBoundaries().getTotalProgress();
+        final int progress = game.getWorld().getTotalProgress();
         
         //draw the progress description along with the difficulty
-        canvas.drawText(difficultyDesc + ": " + progress + "%", PROGRESS_X, PROGRESS_Y, game.getPaint());
+        commands.text(RenderList.Layer.Hud, Color.WHITE, difficultyDesc + ": " + progress + "%", PROGRESS_X, PROGRESS_Y);
         
-        //draw the goal progress outline and fill it
-        game.getPaint().setStyle(Paint.Style.STROKE);
-        canvas.drawRect(GOAL_X, GOAL_Y, GOAL_X + (Player.PROGRESS_GOAL * 2), GOAL_Y + 20, game.getPaint());
-        game.getPaint().setStyle(Paint.Style.FILL);
+        //draw the goal progress outline
+        commands.stroke(RenderList.Layer.Hud, Color.WHITE, 0, GOAL_X, GOAL_Y, GOAL_X + (World.PROGRESS_GOAL * 2), GOAL_Y + 20);
         
         //draw the progress bar
-        if (progress >= Player.PROGRESS_GOAL)
-        {
-            canvas.drawRect(GOAL_X, GOAL_Y, GOAL_X + (Player.PROGRESS_GOAL * 2), GOAL_Y + 20, game.getPaint());
-        }
-        else
-        {
-            canvas.drawRect(GOAL_X, GOAL_Y, GOAL_X + (progress * 2), GOAL_Y + 20, game.getPaint());
-        }
+        commands.fill(RenderList.Layer.Hud, Color.WHITE, GOAL_X, GOAL_Y, GOAL_X + (Math.min(progress, World.PROGRESS_GOAL) * 2), GOAL_Y + 20);
     }
     
     @Override
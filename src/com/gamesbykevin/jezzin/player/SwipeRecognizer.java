@@ -0,0 +1,193 @@
+package com.gamesbykevin.jezzin.player;
+
+import com.gamesbykevin.jezzin.simulation.World;
+
+/**
+ * Decides the direction of a swipe from the recent samples of each finger.<br>
+ * A direction is picked once the finger has moved past the slop and clearly along one axis,
+ * or sooner if the velocity of the first few samples is fast and clearly along one axis.
+ * A finger that never moves past half the slop (a tap, or jitter) never picks a direction.
+ * @author GOD
+ */
+public final class SwipeRecognizer
+{
+    /**
+     * No direction has been picked yet
+     */
+    public static final int NONE = -1;
+    
+    /**
+     * The default distance a finger can move before it counts as a swipe (pixels)
+     */
+    public static final float SLOP_DEFAULT = 10f;
+    
+    /**
+     * The number of recent samples used to measure the velocity
+     */
+    public static final int HISTORY = 6;
+    
+    /**
+     * How many times larger the movement along one axis must be than the other axis, about 27 degrees
+     */
+    public static final double RATIO = 2.0;
+    
+    /**
+     * The velocity along one axis that lets us pick a direction before the slop is reached (pixels per millisecond)
+     */
+    public static final double VELOCITY_FAST = 0.4;
+    
+    /**
+     * The minimum samples needed to trust the velocity
+     */
+    private static final int SAMPLES_MIN = 3;
+    
+    //the recent samples of each finger, the oldest is replaced first
+    private final float[][] xs, ys;
+    private final long[][] times;
+    
+    //the number of samples of each finger
+    private final int[] counts;
+    
+    //the first sample of each finger
+    private final float[] startX, startY;
+    
+    //the distance a finger can move before it counts as a swipe (pixels)
+    private float slop = SLOP_DEFAULT;
+    
+    /**
+     * Create the recognizer
+     * @param pointers The number of fingers that can be tracked
+     */
+    public SwipeRecognizer(final int pointers)
+    {
+        this.xs = new float[pointers][HISTORY];
+        this.ys = new float[pointers][HISTORY];
+        this.times = new long[pointers][HISTORY];
+        this.counts = new int[pointers];
+        this.startX = new float[pointers];
+        this.startY = new float[pointers];
+    }
+    
+    /**
+     * Set the slop
+     * @param slop The distance a finger can move before it counts as a swipe (pixels)
+     */
+    public void setSlop(final float slop)
+    {
+        this.slop = slop;
+    }
+    
+    /**
+     * Get the slop
+     * @return The distance a finger can move before it counts as a swipe (pixels)
+     */
+    public float getSlop()
+    {
+        return this.slop;
+    }
+    
+    /**
+     * A finger was placed on the screen, any previous samples of the finger are removed
+     * @param id The pointer id of the finger
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param time The time of the sample (milliseconds)
+     */
+    public void start(final int id, final float x, final float y, final long time)
+    {
+        this.counts[id] = 0;
+        this.startX[id] = x;
+        this.startY[id] = y;
+        
+        add(id, x, y, time);
+    }
+    
+    /**
+     * Add a sample of the finger and check if a direction can be picked
+     * @param id The pointer id of the finger
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param time The time of the sample (milliseconds)
+     * @return {@link World#DIRECTION_HORIZONTAL}, {@link World#DIRECTION_VERTICAL} or {@link #NONE} if we aren't sure yet
+     */
+    public int add(final int id, final float x, final float y, final long time)
+    {
+        final int index = counts[id] % HISTORY;
+        xs[id][index] = x;
+        ys[id][index] = y;
+        times[id][index] = time;
+        counts[id]++;
+        
+        //the distance moved along each axis
+        final double dx = Math.abs(x - startX[id]);
+        final double dy = Math.abs(y - startY[id]);
+        final double distance = Math.max(dx, dy);
+        
+        //a tap or jitter
+        if (distance < slop / 2 || dx == dy)
+            return NONE;
+        
+        final int direction = (dx > dy) ? World.DIRECTION_HORIZONTAL : World.DIRECTION_VERTICAL;
+        
+        //past the slop and clearly along one axis
+        if (distance >= slop && distance >= RATIO * Math.min(dx, dy))
+            return direction;
+        
+        //well past the slop, the finger is moving at an angle but it is still a swipe
+        if (distance >= slop * 3)
+            return direction;
+        
+        //not enough samples to trust the velocity yet
+        if (counts[id] < SAMPLES_MIN)
+            return NONE;
+        
+        //the velocity of the recent samples
+        final double vx = Math.abs(getVelocity(id, xs[id]));
+        final double vy = Math.abs(getVelocity(id, ys[id]));
+        
+        //fast, clearly along one axis, and the same axis the finger has moved along so far
+        if (Math.max(vx, vy) >= VELOCITY_FAST && Math.max(vx, vy) >= RATIO * Math.min(vx, vy))
+        {
+            if (((vx > vy) ? World.DIRECTION_HORIZONTAL : World.DIRECTION_VERTICAL) == direction)
+                return direction;
+        }
+        
+        return NONE;
+    }
+    
+    /**
+     * Get the velocity along an axis, the slope of the line best fitting the recent samples (least squares)
+     * @param id The pointer id of the finger
+     * @param values The recent samples of the axis
+     * @return The velocity (pixels per millisecond), 0 if the samples all have the same time
+     */
+    private double getVelocity(final int id, final float[] values)
+    {
+        final int count = Math.min(counts[id], HISTORY);
+        
+        //the average time and position, relative to the first sample so the numbers stay small
+        final long origin = times[id][0];
+        double meanTime = 0, meanValue = 0;
+        
+        for (int i = 0; i < count; i++)
+        {
+            meanTime += times[id][i] - origin;
+            meanValue += values[i];
+        }
+        
+        meanTime /= count;
+        meanValue /= count;
+        
+        double numerator = 0, denominator = 0;
+        
+        for (int i = 0; i < count; i++)
+        {
+            final double time = (times[id][i] - origin) - meanTime;
+            
+            numerator += time * (values[i] - meanValue);
+            denominator += time * time;
+        }
+        
+        return (denominator == 0) ? 0 : numerator / denominator;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,603 @@
+package com.gamesbykevin.jezzin.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A recording of a single level.<br>
+ * We store the seed and settings of the level along with every wall the player started and the time of every update,
+ * which is all that is needed to re-simulate the level exactly the way it was played.
+ * @author GOD
+ */
+public final class Replay
+{
+    /**
+     * Unique value at the start of every replay file ("JZRP")
+     */
+    private static final int MAGIC = 0x4A5A5250;
+    
+    /**
+     * The current version of the replay format, also changed when the simulation changes so older replays aren't verified against it
+     */
+    private static final int VERSION = 8;
+    
+    /**
+     * The file extension of our replay files
+     */
+    public static final String EXTENSION = ".jzr";
+    
+    /**
+     * The number of update times we have room for at the start
+     */
+    private static final int CAPACITY = 1024;
+    
+    //the seed used to create the level
+    private final long seed;
+    
+    //the level of play
+    private final int level;
+    
+    //the difficulty and mode index
+    private final int difficultyIndex, modeIndex;
+    
+    //was ball collision enabled
+    private final boolean collision;
+    
+    //the speed of the wall
+    private final double velocity;
+    
+    //the lives the player started with
+    private final int lives;
+    
+    //the time to count down from, 0 if there is no count down
+    private final long timeLeft;
+    
+    //the time each update represents if it wasn't recorded
+    private final long tickDuration;
+    
+    //the time of each update (milliseconds), the clock follows the system time so each update can be different
+    private int[] durations = new int[CAPACITY];
+    
+    //the number of updates recorded
+    private int durationCount = 0;
+    
+    //the recorded input
+    private final List<ReplayEvent> events;
+    
+    //has the level finished
+    private boolean finished = false;
+    
+    //the number of updates it took to finish the level
+    private int ticks;
+    
+    //the final progress and lives
+    private int progressResult, livesResult;
+    
+    //checksums of the final boundary layout and balls
+    private long layoutChecksum, ballChecksum;
+    
+    /**
+     * Create a new replay
+     * @param seed The seed used to create the level
+     * @param level The level of play
+     * @param difficultyIndex The difficulty index
+     * @param modeIndex The mode index
+     * @param collision Was ball collision enabled
+     * @param velocity The speed of the wall
+     * @param lives The lives the player started with
+     * @param timeLeft The time to count down from, 0 if there is no count down
+     * @param tickDuration The time each update represents if it wasn't recorded (milliseconds)
+     */
+    public Replay(final long seed, final int level, final int difficultyIndex, final int modeIndex,
+        final boolean collision, final double velocity, final int lives, final long timeLeft, final long tickDuration)
+    {
+        this.seed = seed;
+        this.level = level;
+        this.difficultyIndex = difficultyIndex;
+        this.modeIndex = modeIndex;
+        this.collision = collision;
+        this.velocity = velocity;
+        this.lives = lives;
+        this.timeLeft = timeLeft;
+        this.tickDuration = tickDuration;
+        
+        //create new list
+        this.events = new ArrayList<ReplayEvent>();
+    }
+    
+    /**
+     * Record the start of a wall
+     * @param tick The number of updates completed before the wall was started
+     * @param x Starting x-coordinate
+     * @param y Starting y-coordinate
+     * @param direction The direction of the wall
+     */
+    public void record(final int tick, final int x, final int y, final int direction)
+    {
+        //we can't record once the level has finished
+        if (hasFinished())
+            return;
+        
+        getEvents().add(new ReplayEvent(tick, x, y, direction));
+    }
+    
+    /**
+     * Record the time of the next update
+     * @param elapsed The time the update represents (milliseconds)
+     */
+    public void recordTick(final long elapsed)
+    {
+        //we can't record once the level has finished
+        if (hasFinished())
+            return;
+        
+        //make room if needed
+        if (durationCount == durations.length)
+        {
+            final int[] tmp = new int[durations.length * 2];
+            System.arraycopy(durations, 0, tmp, 0, durations.length);
+            this.durations = tmp;
+        }
+        
+        //the time can't go backwards
+        durations[durationCount++] = (int)Math.max(0, Math.min(elapsed, Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Mark the level as finished and store the final state
+     * @param ticks The number of updates it took to finish the level
+     * @param progressResult The final progress
+     * @param livesResult The final lives
+     * @param layoutChecksum Checksum of the final boundary layout
+     * @param ballChecksum Checksum of the final ball positions and velocities
+     */
+    public void finish(final int ticks, final int progressResult, final int livesResult, final long layoutChecksum, final long ballChecksum)
+    {
+        this.finished = true;
+        this.ticks = ticks;
+        this.progressResult = progressResult;
+        this.livesResult = livesResult;
+        this.layoutChecksum = layoutChecksum;
+        this.ballChecksum = ballChecksum;
+    }
+    
+    /**
+     * Get the seed
+     * @return The seed used to create the level
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+    
+    /**
+     * Get the level
+     * @return The level of play
+     */
+    public int getLevel()
+    {
+        return this.level;
+    }
+    
+    /**
+     * Get the difficulty index
+     * @return The difficulty the level was played at
+     */
+    public int getDifficultyIndex()
+    {
+        return this.difficultyIndex;
+    }
+    
+    /**
+     * Get the mode index
+     * @return The mode the level was played in
+     */
+    public int getModeIndex()
+    {
+        return this.modeIndex;
+    }
+    
+    /**
+     * Was ball collision enabled?
+     * @return true = yes, false = no
+     */
+    public boolean hasCollision()
+    {
+        return this.collision;
+    }
+    
+    /**
+     * Get the velocity
+     * @return The speed at which the walls were drawn
+     */
+    public double getVelocity()
+    {
+        return this.velocity;
+    }
+    
+    /**
+     * Get the lives
+     * @return The lives the player started with
+     */
+    public int getLives()
+    {
+        return this.lives;
+    }
+    
+    /**
+     * Get the time left
+     * @return The time to count down from, 0 if there is no count down
+     */
+    public long getTimeLeft()
+    {
+        return this.timeLeft;
+    }
+    
+    /**
+     * Get the tick duration
+     * @return The time each update represents if it wasn't recorded (milliseconds)
+     */
+    public long getTickDuration()
+    {
+        return this.tickDuration;
+    }
+    
+    /**
+     * Get the time of an update
+     * @param tick The number of updates completed before this one
+     * @return The time the update was recorded with, or {@link #getTickDuration()} if it wasn't recorded (milliseconds)
+     */
+    public long getTickDuration(final int tick)
+    {
+        return (tick < durationCount) ? durations[tick] : getTickDuration();
+    }
+    
+    /**
+     * Get the number of update times recorded
+     * @return The number of updates we know the time of
+     */
+    public int getTickDurationCount()
+    {
+        return this.durationCount;
+    }
+    
+    /**
+     * Get the recorded input
+     * @return The list of walls started, ordered by tick
+     */
+    public List<ReplayEvent> getEvents()
+    {
+        return this.events;
+    }
+    
+    /**
+     * Has the level finished?
+     * @return true if the final state has been recorded, false otherwise
+     */
+    public boolean hasFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * Get the ticks
+     * @return The number of updates it took to finish the level
+     */
+    public int getTicks()
+    {
+        return this.ticks;
+    }
+    
+    /**
+     * Get the progress result
+     * @return The progress when the level finished
+     */
+    public int getProgressResult()
+    {
+        return this.progressResult;
+    }
+    
+    /**
+     * Get the lives result
+     * @return The lives remaining when the level finished
+     */
+    public int getLivesResult()
+    {
+        return this.livesResult;
+    }
+    
+    /**
+     * Get the layout checksum
+     * @return Checksum of the final boundary layout
+     */
+    public long getLayoutChecksum()
+    {
+        return this.layoutChecksum;
+    }
+    
+    /**
+     * Get the ball checksum
+     * @return Checksum of the final ball positions and velocities
+     */
+    public long getBallChecksum()
+    {
+        return this.ballChecksum;
+    }
+    
+    /**
+     * Write the replay in our binary format
+     * @param output Where we write the replay
+     * @throws IOException
+     */
+    public void write(final OutputStream output) throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(output);
+        
+        //header
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        
+        //level settings
+        out.writeLong(getSeed());
+        writeVarInt(out, getLevel());
+        out.writeByte(getDifficultyIndex());
+        out.writeByte(getModeIndex());
+        out.writeBoolean(hasCollision());
+        out.writeDouble(getVelocity());
+        writeVarInt(out, getLives());
+        out.writeLong(getTimeLeft());
+        out.writeShort((int)getTickDuration());
+        
+        //the input, each tick is stored as the difference from the previous
+        writeVarInt(out, getEvents().size());
+        
+        int previous = 0;
+        
+        for (ReplayEvent event : getEvents())
+        {
+            writeVarInt(out, event.getTick() - previous);
+            out.writeShort(event.getX());
+            out.writeShort(event.getY());
+            out.writeByte(event.getDirection());
+            
+            previous = event.getTick();
+        }
+        
+        //the time of each update
+        writeVarInt(out, getTickDurationCount());
+        
+        for (int i = 0; i < getTickDurationCount(); i++)
+        {
+            writeVarInt(out, (int)getTickDuration(i));
+        }
+        
+        //the result
+        out.writeBoolean(hasFinished());
+        
+        if (hasFinished())
+        {
+            writeVarInt(out, getTicks());
+            writeVarInt(out, getProgressResult());
+            writeVarInt(out, getLivesResult());
+            out.writeLong(getLayoutChecksum());
+            out.writeLong(getBallChecksum());
+        }
+        
+        out.flush();
+    }
+    
+    /**
+     * Read a replay from our binary format
+     * @param input Where we read the replay from
+     * @return The replay
+     * @throws IOException If the data is not a replay, or the version is not supported
+     */
+    public static Replay read(final InputStream input) throws IOException
+    {
+        DataInputStream in = new DataInputStream(input);
+        
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a replay");
+        
+        final int version = in.readUnsignedByte();
+        
+        if (version != VERSION)
+            throw new IOException("Replay version not supported: " + version);
+        
+        Replay replay = new Replay(
+            in.readLong(),
+            readVarInt(in),
+            in.readUnsignedByte(),
+            in.readUnsignedByte(),
+            in.readBoolean(),
+            in.readDouble(),
+            readVarInt(in),
+            in.readLong(),
+            in.readUnsignedShort()
+        );
+        
+        final int count = readVarInt(in);
+        
+        int tick = 0;
+        
+        for (int i = 0; i < count; i++)
+        {
+            tick += readVarInt(in);
+            
+            final int x = in.readShort();
+            final int y = in.readShort();
+            final int direction = in.readUnsignedByte();
+            
+            replay.record(tick, x, y, direction);
+        }
+        
+        final int durations = readVarInt(in);
+        
+        for (int i = 0; i < durations; i++)
+        {
+            replay.recordTick(readVarInt(in));
+        }
+        
+        if (in.readBoolean())
+        {
+            final int ticks = readVarInt(in);
+            final int progress = readVarInt(in);
+            final int lives = readVarInt(in);
+            final long layoutChecksum = in.readLong();
+            final long ballChecksum = in.readLong();
+            
+            replay.finish(ticks, progress, lives, layoutChecksum, ballChecksum);
+        }
+        
+        return replay;
+    }
+    
+    /**
+     * Save the replay in the specified directory.<br>
+     * The file is named after the seed
+     * @param directory The directory where we keep replays
+     * @return The replay file
+     * @throws IOException
+     */
+    public File save(final File directory) throws IOException
+    {
+        //make sure the directory exists
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IOException("Unable to create " + directory);
+        
+        final File file = new File(directory, "level" + getLevel() + "-" + Long.toHexString(getSeed()) + EXTENSION);
+        
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(file));
+        
+        try
+        {
+            write(output);
+        }
+        finally
+        {
+            output.close();
+        }
+        
+        return file;
+    }
+    
+    /**
+     * Load the replay from the specified file
+     * @param file The replay file
+     * @return The replay
+     * @throws IOException
+     */
+    public static Replay load(final File file) throws IOException
+    {
+        InputStream input = new BufferedInputStream(new FileInputStream(file));
+        
+        try
+        {
+            return read(input);
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+    
+    /**
+     * Get the replay files in the specified directory
+     * @param directory The directory where we keep replays
+     * @return The replay files, oldest first
+     */
+    public static File[] list(final File directory)
+    {
+        File[] files = directory.listFiles();
+        
+        //if the directory does not exist there are no replays
+        if (files == null)
+            return new File[0];
+        
+        List<File> replays = new ArrayList<File>();
+        
+        for (File file : files)
+        {
+            if (file.isFile() && file.getName().endsWith(EXTENSION))
+                replays.add(file);
+        }
+        
+        files = replays.toArray(new File[replays.size()]);
+        
+        //sort oldest first
+        Arrays.sort(files, new Comparator<File>()
+        {
+            @Override
+            public int compare(final File file1, final File file2)
+            {
+                final long modified1 = file1.lastModified();
+                final long modified2 = file2.lastModified();
+                
+                return (modified1 < modified2) ? -1 : ((modified1 == modified2) ? file1.getName().compareTo(file2.getName()) : 1);
+            }
+        });
+        
+        return files;
+    }
+    
+    /**
+     * Remove the oldest replays so we don't keep more than the limit
+     * @param directory The directory where we keep replays
+     * @param limit The maximum number of replays to keep
+     */
+    public static void prune(final File directory, final int limit)
+    {
+        final File[] files = list(directory);
+        
+        for (int i = 0; i < files.length - limit; i++)
+        {
+            files[i].delete();
+        }
+    }
+    
+    /**
+     * Write a non-negative number using as few bytes as possible
+     */
+    private static void writeVarInt(final DataOutputStream out, int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        
+        out.writeByte(value);
+    }
+    
+    /**
+     * Read a number written by {@link #writeVarInt}
+     */
+    private static int readVarInt(final DataInputStream in) throws IOException
+    {
+        int value = 0;
+        
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            final int b = in.readUnsignedByte();
+            
+            value |= (b & 0x7F) << shift;
+            
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        
+        throw new IOException("Malformed number");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.gamesbykevin.jezzin.replay;
+
+import com.gamesbykevin.jezzin.simulation.World;
+
+/**
+ * A single recorded input, the start of a wall
+ * @author GOD
+ */
+public final class ReplayEvent
+{
+    //the number of updates completed when the wall was started
+    private final int tick;
+    
+    //the starting coordinates of the wall
+    private final int x, y;
+    
+    //the direction the wall is drawn
+    private final int direction;
+    
+    protected ReplayEvent(final int tick, final int x, final int y, final int direction)
+    {
+        this.tick = tick;
+        this.x = x;
+        this.y = y;
+        this.direction = direction;
+    }
+    
+    /**
+     * Get the tick
+     * @return The number of updates completed before this input was applied
+     */
+    public int getTick()
+    {
+        return this.tick;
+    }
+    
+    /**
+     * Get the x-coordinate
+     * @return The x-coordinate where the wall was started
+     */
+    public int getX()
+    {
+        return this.x;
+    }
+    
+    /**
+     * Get the y-coordinate
+     * @return The y-coordinate where the wall was started
+     */
+    public int getY()
+    {
+        return this.y;
+    }
+    
+    /**
+     * Get the direction
+     * @return The direction of the wall {@link World#DIRECTION_HORIZONTAL} or {@link World#DIRECTION_VERTICAL}
+     */
+    public int getDirection()
+    {
+        return this.direction;
+    }
+}
\ No newline at end of file
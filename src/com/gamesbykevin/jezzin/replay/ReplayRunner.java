@@ -0,0 +1,165 @@
+package com.gamesbykevin.jezzin.replay;
+
+import com.gamesbykevin.jezzin.simulation.World;
+
+import java.io.File;
+
+/**
+ * Plays back recorded levels as fast as possible on a plain JVM.<br>
+ * There is no canvas, audio or frame limit, each replay is re-simulated and the result is compared to the one recorded.<br>
+ * Each update takes the time it was recorded with, so a level that ran out of time ends on the same update.<br>
+ * Usage: java -cp bin/classes com.gamesbykevin.jezzin.replay.ReplayRunner &lt;directory&gt; [iterations]<br>
+ * The game keeps its replays in the "replays" directory of the app files directory.
+ * @author GOD
+ */
+public final class ReplayRunner
+{
+    /**
+     * The maximum number of updates, in case a replay never finishes
+     */
+    private static final int TICK_LIMIT = 1000000;
+    
+    /**
+     * The number of nanoseconds in a second
+     */
+    private static final double NANOSECONDS_PER_SECOND = 1000000000.0;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        if (args.length < 1)
+        {
+            System.out.println("Usage: ReplayRunner <directory> [iterations]");
+            System.exit(2);
+        }
+        
+        //the number of times each replay is simulated when measuring throughput
+        final int iterations = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+        
+        //get the replays
+        final File[] files = Replay.list(new File(args[0]));
+        
+        if (files.length == 0)
+            System.out.println("No replays found in " + args[0]);
+        
+        //track the totals
+        int failed = 0;
+        long totalTicks = 0;
+        long totalNanos = 0;
+        
+        for (File file : files)
+        {
+            final Replay replay = Replay.load(file);
+            
+            //we can't verify a replay without a result
+            if (!replay.hasFinished())
+            {
+                System.out.println(file.getName() + " skipped, level did not finish");
+                continue;
+            }
+            
+            World world = null;
+            
+            final long start = System.nanoTime();
+            
+            for (int i = 0; i < iterations; i++)
+            {
+                world = simulate(replay);
+            }
+            
+            final long nanos = System.nanoTime() - start;
+            final long ticks = (long)world.getTick() * iterations;
+            
+            //compare the result to the one recorded
+            final String mismatch = verify(replay, world);
+            
+            if (mismatch != null)
+                failed++;
+            
+            totalTicks += ticks;
+            totalNanos += nanos;
+            
+            System.out.println(String.format("%s %s ticks=%d time=%.1fms rate=%.0f ticks/sec%s",
+                file.getName(),
+                (mismatch == null) ? "OK" : "FAIL",
+                world.getTick(),
+                nanos / 1000000.0 / iterations,
+                ticks * NANOSECONDS_PER_SECOND / Math.max(nanos, 1),
+                (mismatch == null) ? "" : " (" + mismatch + ")"
+            ));
+        }
+        
+        System.out.println(String.format("%d replays, %d failed, %.0f ticks/sec overall",
+            files.length, failed, totalTicks * NANOSECONDS_PER_SECOND / Math.max(totalNanos, 1)));
+        
+        //let the caller know if anything did not match
+        if (failed > 0)
+            System.exit(1);
+    }
+    
+    /**
+     * Re-simulate the level stored in the replay
+     * @param replay The replay we want to play back
+     * @return The world at the end of the level
+     */
+    public static World simulate(final Replay replay)
+    {
+        final World world = new World();
+        
+        //apply the settings the level was recorded with
+        world.setCollision(replay.hasCollision());
+        world.setLives(replay.getLives());
+        world.setTimeLeft(replay.getTimeLeft());
+        world.reset(replay.getSeed(), replay.getLevel());
+        
+        //the update the level ended on
+        final int end = (replay.hasFinished()) ? replay.getTicks() : TICK_LIMIT;
+        
+        //the index of the next event to play back
+        int index = 0;
+        
+        while (world.getTick() < end)
+        {
+            //apply the recorded input for the current tick
+            while (index < replay.getEvents().size() && replay.getEvents().get(index).getTick() <= world.getTick())
+            {
+                final ReplayEvent event = replay.getEvents().get(index);
+                
+                world.startDraw(event.getX(), event.getY(), event.getDirection(), replay.getVelocity());
+                
+                index++;
+            }
+            
+            //advance the level
+            final World.Result result = world.update(replay.getTickDuration(world.getTick()));
+            
+            //stop once the level has been completed, there are no more lives or the time has run out
+            if (result == World.Result.LevelComplete || result == World.Result.NoLives || result == World.Result.TimeUp)
+                break;
+        }
+        
+        return world;
+    }
+    
+    /**
+     * Compare the world to the result stored in the replay
+     * @param replay The replay that was played back
+     * @param world The world at the end of the level
+     * @return A description of what did not match, null if everything matches
+     */
+    public static String verify(final Replay replay, final World world)
+    {
+        if (world.getTick() != replay.getTicks())
+            return "ticks " + world.getTick() + " expected " + replay.getTicks();
+        if (world.getTotalProgress() != replay.getProgressResult())
+            return "progress " + world.getTotalProgress() + " expected " + replay.getProgressResult();
+        if (world.getLives() != replay.getLivesResult())
+            return "lives " + world.getLives() + " expected " + replay.getLivesResult();
+        if (world.getLayoutChecksum() != replay.getLayoutChecksum())
+            return "layout checksum does not match";
+        if (world.getBallChecksum() != replay.getBallChecksum())
+            return "ball checksum does not match";
+        
+        //everything matches
+        return null;
+    }
+}
\ No newline at end of file
@@ -10,8 +10,6 @@ import com.gamesbykevin.androidframework.awt.Button;
 import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.resources.Disposable;
 import com.gamesbykevin.androidframework.resources.Font;
-import com.gamesbykevin.androidframework.resources.Images;
-import com.gamesbykevin.androidframework.screen.Screen;
 import com.gamesbykevin.jezzin.assets.Assets;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 import java.util.HashMap;
@@ -20,7 +18,7 @@ import java.util.HashMap;
  * The exit screen, when the player wants to go back to the menu
  * @author GOD
  */
-public class ExitScreen implements Screen, Disposable
+public class ExitScreen implements ITouchScreen, Disposable
 {
     /**
      * Custom message displayed on screen
@@ -44,8 +42,19 @@ public class ExitScreen implements Screen, Disposable
      */
     private static final int BUTTON_DIMENSION = 96;
     
+    /**
+     * The images used by this screen, they are kept in memory until the screen is disposed
+     */
+    private static final Assets.ImageMenuKey[] IMAGES = {Assets.ImageMenuKey.Cancel, Assets.ImageMenuKey.Confirm};
+    
     public ExitScreen(final ScreenManager screen)
     {
+        //keep our images in memory, each is pinned once
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.pinImage(key);
+        }
+        
         //store our parent reference
         this.screen = screen;
         
@@ -67,8 +76,8 @@ public class ExitScreen implements Screen, Disposable
         
         //create buttons
         this.buttons = new HashMap<Assets.ImageMenuKey, Button>();
-        this.buttons.put(Assets.ImageMenuKey.Cancel, new Button(Images.getImage(Assets.ImageMenuKey.Cancel)));
-        this.buttons.put(Assets.ImageMenuKey.Confirm, new Button(Images.getImage(Assets.ImageMenuKey.Confirm)));
+        this.buttons.put(Assets.ImageMenuKey.Cancel, new Button(Assets.getImage(Assets.ImageMenuKey.Cancel)));
+        this.buttons.put(Assets.ImageMenuKey.Confirm, new Button(Assets.getImage(Assets.ImageMenuKey.Confirm)));
         
         //position
         final int y = (GamePanel.HEIGHT / 2) + BUTTON_DIMENSION;
@@ -100,7 +109,13 @@ public class ExitScreen implements Screen, Disposable
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
     {
-        if (event.getAction() == MotionEvent.ACTION_UP)
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
+    {
+        if (action == MotionEvent.ACTION_UP)
         {
             if (buttons.get(Assets.ImageMenuKey.Cancel).contains(x, y))
             {
@@ -156,6 +171,12 @@ public class ExitScreen implements Screen, Disposable
     @Override
     public void dispose()
     {
+        //our images can be removed when the memory is needed
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.unpinImage(key);
+        }
+        
         if (buttons != null)
         {
             for (Button button : buttons.values())
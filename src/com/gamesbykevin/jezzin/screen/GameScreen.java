@@ -3,15 +3,15 @@ package com.gamesbykevin.jezzin.screen;
 import android.graphics.Canvas;
 import android.view.MotionEvent;
 import com.gamesbykevin.androidframework.resources.Disposable;
-import com.gamesbykevin.androidframework.screen.Screen;
 import com.gamesbykevin.jezzin.game.Game;
 import com.gamesbykevin.jezzin.player.Player;
+import com.gamesbykevin.jezzin.replay.Replay;
 
 /**
  * The game screen that contains the game
  * @author GOD
  */
-public class GameScreen implements Screen, Disposable
+public class GameScreen implements ITouchScreen, Disposable
 {
     //our object containing the main game functionality
     private Game game;
@@ -55,8 +55,18 @@ public class GameScreen implements Screen, Disposable
                 break;
         }
         
-        //reset the game at the user specified level
-        getGame().reset(screen.getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_LEVEL) + 1);
+        //play back the replay requested when the app was started (if any)
+        final Replay replay = getGame().loadReplay(screen.getPanel().getActivity().getReplay());
+        
+        if (replay != null)
+        {
+            getGame().reset(replay);
+        }
+        else
+        {
+            //reset the game at the user specified level
+            getGame().reset(screen.getScreenOptions().getIndex(OptionsScreen.INDEX_BUTTON_LEVEL) + 1);
+        }
     }
     
     /**
@@ -70,9 +80,15 @@ public class GameScreen implements Screen, Disposable
     
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
+    {
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
         if (getGame() != null)
-            getGame().updateMotionEvent(event, x, y);
+            getGame().updateTouch(action, id, x, y, time);
         
         return true;
     }
@@ -10,19 +10,17 @@ import com.gamesbykevin.androidframework.awt.Button;
 import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.resources.Disposable;
 import com.gamesbykevin.androidframework.resources.Font;
-import com.gamesbykevin.androidframework.resources.Images;
-import com.gamesbykevin.androidframework.screen.Screen;
 
 import com.gamesbykevin.jezzin.MainActivity;
 import com.gamesbykevin.jezzin.assets.Assets;
 import com.gamesbykevin.jezzin.panel.GamePanel;
-import com.gamesbykevin.jezzin.player.Player;
+import com.gamesbykevin.jezzin.simulation.World;
 
 /**
  * The game over screen
  * @author GOD
  */
-public class GameoverScreen implements Screen, Disposable
+public class GameoverScreen implements ITouchScreen, Disposable
 {
     //our main screen reference
     private final ScreenManager screen;
@@ -65,8 +63,19 @@ public class GameoverScreen implements Screen, Disposable
      */
     private static final String BUTTON_TEXT_MENU = "Menu";
     
+    /**
+     * The images used by this screen, they are kept in memory until the screen is disposed
+     */
+    private static final Assets.ImageMenuKey[] IMAGES = {Assets.ImageMenuKey.Button};
+    
     public GameoverScreen(final ScreenManager screen)
     {
+        //keep our images in memory, each is pinned once
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.pinImage(key);
+        }
+        
         //store our parent reference
         this.screen = screen;
         
@@ -75,7 +84,7 @@ public class GameoverScreen implements Screen, Disposable
 
         //create our buttons
         y += ScreenManager.BUTTON_Y_INCREMENT;
-        this.next = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        this.next = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         this.next.setX(ScreenManager.BUTTON_X);
         this.next.setY(y);
         this.next.updateBounds();
@@ -84,7 +93,7 @@ public class GameoverScreen implements Screen, Disposable
         
         //will be in same position as next
         y += ScreenManager.BUTTON_Y_INCREMENT;
-        this.replay = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        this.replay = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         this.replay.setX(ScreenManager.BUTTON_X);
         this.replay.setY(y);
         this.replay.updateBounds();
@@ -92,7 +101,7 @@ public class GameoverScreen implements Screen, Disposable
         this.replay.positionText(screen.getPaint());
         
         y += ScreenManager.BUTTON_Y_INCREMENT;
-        this.menu = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        this.menu = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         this.menu.setX(ScreenManager.BUTTON_X);
         this.menu.setY(y);
         this.menu.updateBounds();
@@ -100,7 +109,7 @@ public class GameoverScreen implements Screen, Disposable
         this.menu.positionText(screen.getPaint());
         
         y += ScreenManager.BUTTON_Y_INCREMENT;
-        this.rate = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        this.rate = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         this.rate.setX(ScreenManager.BUTTON_X);
         this.rate.setY(y);
         this.rate.updateBounds();
@@ -151,12 +160,18 @@ public class GameoverScreen implements Screen, Disposable
     
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
+    {
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
         //if we aren't displaying the menu, return false
         if (!display)
             return false;
         
-        if (event.getAction() == MotionEvent.ACTION_UP)
+        if (action == MotionEvent.ACTION_UP)
         {
             if (next.contains(x, y) && next.isVisible())
             {
@@ -164,7 +179,7 @@ public class GameoverScreen implements Screen, Disposable
                 setMessage("");
                 
                 //reset for the next level
-                screen.getScreenGame().getGame().reset(screen.getScreenGame().getGame().getBalls().getBalls().size() + 1);
+                screen.getScreenGame().getGame().reset(screen.getScreenGame().getGame().getWorld().getBalls().size() + 1);
                 
                 //move back to the game
                 screen.setState(ScreenManager.State.Running);
@@ -181,7 +196,7 @@ public class GameoverScreen implements Screen, Disposable
                 setMessage("");
                 
                 //reset the same level
-                screen.getScreenGame().getGame().reset(screen.getScreenGame().getGame().getBalls().getBalls().size());
+                screen.getScreenGame().getGame().reset(screen.getScreenGame().getGame().getWorld().getBalls().size());
                 
                 //move back to the game
                 screen.setState(ScreenManager.State.Running);
@@ -240,7 +255,7 @@ public class GameoverScreen implements Screen, Disposable
                 int y = ScreenManager.BUTTON_Y;
                 
                 //if we did not meet the progress, then we lost
-                if (screen.getScreenGame().getGame().getBoundaries().getTotalProgress() < Player.PROGRESS_GOAL)
+                if (screen.getScreenGame().getGame().getWorld().getTotalProgress() < World.PROGRESS_GOAL)
                 {
                     next.setVisible(false);
                     
@@ -320,6 +335,12 @@ public class GameoverScreen implements Screen, Disposable
     @Override
     public void dispose()
     {
+        //our images can be removed when the memory is needed
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.unpinImage(key);
+        }
+        
         if (paintMessage != null)
             paintMessage = null;
         
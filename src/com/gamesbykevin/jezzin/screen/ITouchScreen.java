@@ -0,0 +1,23 @@
+package com.gamesbykevin.jezzin.screen;
+
+import com.gamesbykevin.androidframework.screen.Screen;
+
+/**
+ * A screen that receives each touch as primitives, so the touch events never have to be kept or rebuilt.<br>
+ * The framework {@link Screen#update(android.view.MotionEvent, float, float)} passes the finger of the action the same way
+ * @author GOD
+ */
+public interface ITouchScreen extends Screen
+{
+    /**
+     * Update the screen based on the touch of a single finger
+     * @param action The masked action {@link android.view.MotionEvent#ACTION_DOWN}, {@link android.view.MotionEvent#ACTION_MOVE}, etc...
+     * @param id The pointer id of the finger
+     * @param x x-coordinate of the finger, scaled to our game
+     * @param y y-coordinate of the finger, scaled to our game
+     * @param time When the touch happened (milliseconds)
+     * @return true if we want additional touches, false otherwise
+     * @throws Exception
+     */
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception;
+}
\ No newline at end of file
@@ -7,8 +7,6 @@ import android.view.MotionEvent;
 import com.gamesbykevin.androidframework.awt.Button;
 import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.resources.Disposable;
-import com.gamesbykevin.androidframework.resources.Images;
-import com.gamesbykevin.androidframework.screen.Screen;
 import com.gamesbykevin.jezzin.screen.ScreenManager;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 import com.gamesbykevin.jezzin.MainActivity;
@@ -20,7 +18,7 @@ import java.util.HashMap;
  * Our main menu
  * @author ABRAHAM
  */
-public class MenuScreen implements Screen, Disposable
+public class MenuScreen implements ITouchScreen, Disposable
 {
     //the logo
     private final Bitmap logo;
@@ -84,10 +82,21 @@ public class MenuScreen implements Screen, Disposable
     //start new game, and did we notify user
     private boolean reset = false, notify = false;
     
+    /**
+     * The images used by this screen, they are kept in memory until the screen is disposed
+     */
+    private static final Assets.ImageMenuKey[] IMAGES = {Assets.ImageMenuKey.Logo, Assets.ImageMenuKey.Button, Assets.ImageMenuKey.Instructions, Assets.ImageMenuKey.Facebook, Assets.ImageMenuKey.Twitter};
+    
     public MenuScreen(final ScreenManager screen)
     {
+        //keep our images in memory, each is pinned once
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.pinImage(key);
+        }
+        
         //store reference to the logo
-        this.logo = Images.getImage(Assets.ImageMenuKey.Logo);
+        this.logo = Assets.getImage(Assets.ImageMenuKey.Logo);
         
         //store our screen reference
         this.screen = screen;
@@ -147,17 +156,17 @@ public class MenuScreen implements Screen, Disposable
      */
     private void addIcons()
     {
-        Button tmp = new Button(Images.getImage(Assets.ImageMenuKey.Instructions));
+        Button tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Instructions));
         tmp.setX(GamePanel.WIDTH - (ICON_DIMENSION * 4.5));
         tmp.setY(GamePanel.HEIGHT - (ICON_DIMENSION * 1.25));
         this.buttons.put(Key.Instructions, tmp);
         
-        tmp = new Button(Images.getImage(Assets.ImageMenuKey.Facebook));
+        tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Facebook));
         tmp.setX(GamePanel.WIDTH - (ICON_DIMENSION * 3));
         tmp.setY(GamePanel.HEIGHT - (ICON_DIMENSION * 1.25));
         this.buttons.put(Key.Facebook, tmp);
         
-        tmp = new Button(Images.getImage(Assets.ImageMenuKey.Twitter));
+        tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Twitter));
         tmp.setX(GamePanel.WIDTH - (ICON_DIMENSION * 1.5));
         tmp.setY(GamePanel.HEIGHT - (ICON_DIMENSION * 1.25));
         this.buttons.put(Key.Twitter, tmp);
@@ -165,7 +174,7 @@ public class MenuScreen implements Screen, Disposable
     
     private void addButton(final int x, final int y, final String description, final Key key)
     {
-    	Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+    	Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
     	button.setX(x);
     	button.setY(y);
     	button.addDescription(description);
@@ -185,13 +194,19 @@ public class MenuScreen implements Screen, Disposable
     
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
+    {
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
         //if the game is to reset, don't continue
         if (reset)
             return false;
         
         //we only want action up
-        if (event.getAction() != MotionEvent.ACTION_UP)
+        if (action != MotionEvent.ACTION_UP)
         	return true;
         
     	//check every button
@@ -305,8 +320,8 @@ public class MenuScreen implements Screen, Disposable
     	//only reset if we notified the user by displaying the splash screen
         if (reset && notify)
         {
-            //load game assets
-            Assets.load(screen.getPanel().getActivity());
+            //load the game assets while the splash screen is displayed
+            Assets.preload(screen.getPanel().getActivity(), ScreenManager.State.Running);
 
             //create the game
             screen.getScreenGame().createGame();
@@ -325,7 +340,7 @@ public class MenuScreen implements Screen, Disposable
         if (reset)
         {
             //render splash screen
-            canvas.drawBitmap(Images.getImage(Assets.ImageMenuKey.Splash), 0, 0, null);
+            canvas.drawBitmap(Assets.getImage(Assets.ImageMenuKey.Splash), 0, 0, null);
             
             //we notified the user
             notify = true;
@@ -371,6 +386,12 @@ public class MenuScreen implements Screen, Disposable
     @Override
     public void dispose()
     {
+        //our images can be removed when the memory is needed
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.unpinImage(key);
+        }
+        
         if (buttons != null)
         {
             for (Button button : buttons.values())
@@ -10,14 +10,12 @@ import android.view.MotionEvent;
 import com.gamesbykevin.androidframework.awt.Button;
 import com.gamesbykevin.androidframework.resources.Audio;
 import com.gamesbykevin.androidframework.resources.Disposable;
-import com.gamesbykevin.androidframework.resources.Images;
-import com.gamesbykevin.androidframework.screen.Screen;
 import com.gamesbykevin.jezzin.MainActivity;
 import com.gamesbykevin.jezzin.screen.ScreenManager;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 import com.gamesbykevin.jezzin.screen.MenuScreen;
 import com.gamesbykevin.jezzin.assets.Assets;
-import com.gamesbykevin.jezzin.balls.Balls;
+import com.gamesbykevin.jezzin.simulation.World;
 import com.gamesbykevin.jezzin.player.Player;
 import com.gamesbykevin.jezzin.storage.settings.Settings;
 
@@ -25,7 +23,7 @@ import com.gamesbykevin.jezzin.storage.settings.Settings;
  * This screen will contain the game options
  * @author GOD
  */
-public class OptionsScreen implements Screen, Disposable
+public class OptionsScreen implements ITouchScreen, Disposable
 {
     //our logo reference
     private final Bitmap logo;
@@ -56,10 +54,21 @@ public class OptionsScreen implements Screen, Disposable
     public static final int INDEX_BUTTON_FACEBOOK = 7;
     public static final int INDEX_BUTTON_TWITTER = 8;
     
+    /**
+     * The images used by this screen, they are kept in memory until the screen is disposed
+     */
+    private static final Assets.ImageMenuKey[] IMAGES = {Assets.ImageMenuKey.Logo, Assets.ImageMenuKey.Button, Assets.ImageMenuKey.Instructions, Assets.ImageMenuKey.Facebook, Assets.ImageMenuKey.Twitter};
+    
     public OptionsScreen(final ScreenManager screen)
     {
+        //keep our images in memory, each is pinned once
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.pinImage(key);
+        }
+        
         //our logo reference
-        this.logo = Images.getImage(Assets.ImageMenuKey.Logo);
+        this.logo = Assets.getImage(Assets.ImageMenuKey.Logo);
         
         //store our screen reference
         this.screen = screen;
@@ -131,17 +140,17 @@ public class OptionsScreen implements Screen, Disposable
      */
     private void addIcons()
     {
-        Button tmp = new Button(Images.getImage(Assets.ImageMenuKey.Instructions));
+        Button tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Instructions));
         tmp.setX(GamePanel.WIDTH - (MenuScreen.ICON_DIMENSION * 4.5));
         tmp.setY(GamePanel.HEIGHT - (MenuScreen.ICON_DIMENSION * 1.25));
         getButtons().put(INDEX_BUTTON_INSTRUCTIONS, tmp);
         
-        tmp = new Button(Images.getImage(Assets.ImageMenuKey.Facebook));
+        tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Facebook));
         tmp.setX(GamePanel.WIDTH - (MenuScreen.ICON_DIMENSION * 3));
         tmp.setY(GamePanel.HEIGHT - (MenuScreen.ICON_DIMENSION * 1.25));
         getButtons().put(INDEX_BUTTON_FACEBOOK, tmp);
         
-        tmp = new Button(Images.getImage(Assets.ImageMenuKey.Twitter));
+        tmp = new Button(Assets.getImage(Assets.ImageMenuKey.Twitter));
         tmp.setX(GamePanel.WIDTH - (MenuScreen.ICON_DIMENSION * 1.5));
         tmp.setY(GamePanel.HEIGHT - (MenuScreen.ICON_DIMENSION * 1.25));
         getButtons().put(INDEX_BUTTON_TWITTER, tmp);
@@ -162,7 +171,7 @@ public class OptionsScreen implements Screen, Disposable
     
     private void addButtonBack(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         button.addDescription("Back");
         button.setX(x);
         button.setY(y);
@@ -171,7 +180,7 @@ public class OptionsScreen implements Screen, Disposable
     
     private void addButtonSound(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         button.addDescription("Sound: On");
         button.addDescription("Sound: Off");
         button.setX(x);
@@ -181,7 +190,7 @@ public class OptionsScreen implements Screen, Disposable
 
     private void addButtonVibrate(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         button.addDescription("Vibrate: On");
         button.addDescription("Vibrate: Off");
         button.setX(x);
@@ -191,7 +200,7 @@ public class OptionsScreen implements Screen, Disposable
     
     private void addButtonMode(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         button.addDescription("Mode: " + Player.MODE_DESC_CASUAL);
         button.addDescription("Mode: " + Player.MODE_DESC_SURVIVAL);
         button.addDescription("Mode: " + Player.MODE_DESC_CHALLENGE);
@@ -202,10 +211,10 @@ public class OptionsScreen implements Screen, Disposable
     
     private void addButtonLevels(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         
         //add each level description
-        for (int i = 1; i <= Balls.BALL_MAX; i++)
+        for (int i = 1; i <= World.BALL_MAX; i++)
         {
         	button.addDescription("Level: " + i);
         }
@@ -217,7 +226,7 @@ public class OptionsScreen implements Screen, Disposable
     
     private void addButtonDifficulty(final int x, final int y)
     {
-        Button button = new Button(Images.getImage(Assets.ImageMenuKey.Button));
+        Button button = new Button(Assets.getImage(Assets.ImageMenuKey.Button));
         button.addDescription("Difficulty: " + Player.DIFFICULTY_DESC_NORMAL);
         button.addDescription("Difficulty: " + Player.DIFFICULTY_DESC_HARD);
         button.addDescription("Difficulty: " + Player.DIFFICULTY_DESC_EASY);
@@ -292,9 +301,15 @@ public class OptionsScreen implements Screen, Disposable
     
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
+    {
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
     {
     	//we only want motion event up
-    	if (event.getAction() != MotionEvent.ACTION_UP)
+    	if (action != MotionEvent.ACTION_UP)
     		return true;
     	
     	//don't continue if the buttons don't exist
@@ -492,6 +507,12 @@ public class OptionsScreen implements Screen, Disposable
     @Override
     public void dispose()
     {
+        //our images can be removed when the memory is needed
+        for (Assets.ImageMenuKey key : IMAGES)
+        {
+            Assets.unpinImage(key);
+        }
+        
         if (paint != null)
             paint = null;
         
@@ -8,7 +8,6 @@ import android.view.MotionEvent;
 
 import com.gamesbykevin.androidframework.resources.Disposable;
 import com.gamesbykevin.androidframework.resources.Font;
-import com.gamesbykevin.androidframework.screen.Screen;
 
 import com.gamesbykevin.jezzin.assets.Assets;
 import com.gamesbykevin.jezzin.panel.GamePanel;
@@ -17,7 +16,7 @@ import com.gamesbykevin.jezzin.panel.GamePanel;
  * The pause screen
  * @author ABRAHAM
  */
-public class PauseScreen implements Screen, Disposable
+public class PauseScreen implements ITouchScreen, Disposable
 {
     /**
      * Custom message displayed on screen
@@ -91,7 +90,13 @@ public class PauseScreen implements Screen, Disposable
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
     {
-        if (event.getAction() == MotionEvent.ACTION_UP)
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
+    {
+        if (action == MotionEvent.ACTION_UP)
         {
             //return to the previous state
             screen.setState(previous);
@@ -9,9 +9,8 @@ import com.gamesbykevin.androidframework.base.Entity;
 import com.gamesbykevin.androidframework.resources.Audio;
 
 import com.gamesbykevin.androidframework.resources.Disposable;
-import com.gamesbykevin.androidframework.resources.Images;
-import com.gamesbykevin.androidframework.screen.Screen;
 import com.gamesbykevin.jezzin.assets.Assets;
+import com.gamesbykevin.jezzin.assets.Music;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 
 import java.util.HashMap;
@@ -20,7 +19,7 @@ import java.util.HashMap;
  * This class will contain the game screens
  * @author ABRAHAM
  */
-public final class ScreenManager implements Screen, Disposable
+public final class ScreenManager implements ITouchScreen, Disposable
 {
     //the background image
     private Entity background;
@@ -40,7 +39,7 @@ public final class ScreenManager implements Screen, Disposable
     private final GamePanel panel;
     
     //the screens in our main screen
-    private HashMap<State, Screen> screens;
+    private HashMap<State, ITouchScreen> screens;
     
     //the object representing the button text
     private Paint paintButton;
@@ -91,13 +90,13 @@ public final class ScreenManager implements Screen, Disposable
         this.background.setHeight(GamePanel.HEIGHT);
 
         //add animation to sprite sheet
-        this.background.getSpritesheet().add(Assets.ImageMenuKey.Background, new Animation(Images.getImage(Assets.ImageMenuKey.Background)));
+        this.background.getSpritesheet().add(Assets.ImageMenuKey.Background, new Animation(Assets.pinImage(Assets.ImageMenuKey.Background)));
         
         //store our game panel reference
         this.panel = panel;
         
         //create new hashmap
-        this.screens = new HashMap<State, Screen>();
+        this.screens = new HashMap<State, ITouchScreen>();
         this.screens.put(State.Ready, new MenuScreen(this));
         this.screens.put(State.Paused, new PauseScreen(this));
         this.screens.put(State.Exit, new ExitScreen(this));
@@ -112,7 +111,13 @@ public final class ScreenManager implements Screen, Disposable
     @Override
     public boolean update(final MotionEvent event, final float x, final float y) throws Exception
     {
-        return getScreen(getState()).update(event, x, y);
+        return update(event.getActionMasked(), event.getPointerId(event.getActionIndex()), x, y, event.getEventTime());
+    }
+    
+    @Override
+    public boolean update(final int action, final int id, final float x, final float y, final long time) throws Exception
+    {
+        return getScreen(getState()).update(action, id, x, y, time);
     }
     
     /**
@@ -161,7 +166,7 @@ public final class ScreenManager implements Screen, Disposable
         return this.state;
     }
     
-    public Screen getScreen(final State state)
+    public ITouchScreen getScreen(final State state)
     {
         return screens.get(state);
     }
@@ -203,8 +208,9 @@ public final class ScreenManager implements Screen, Disposable
         //if pausing store the previous state
         if (state == State.Paused)
         {
-            //stop sound
+            //stop sound, the music continues from here when resumed
             Audio.stop();
+            Music.pause();
             
             //set the previous state
             getScreenPaused().setStatePrevious(getState());
@@ -213,6 +219,7 @@ public final class ScreenManager implements Screen, Disposable
         {
             //stop sound
             Audio.stop();
+            Music.pause();
             
             if (getState() != State.Paused)
             {
@@ -231,13 +238,21 @@ public final class ScreenManager implements Screen, Disposable
                 //stop all sound
                 Audio.stop();
 
-                //play random song
-                Audio.play(GamePanel.RANDOM.nextBoolean() ? Assets.AudioGameKey.Music1 : Assets.AudioGameKey.Music2, true);
+                //continue the song if we are returning to the same game, otherwise play a random song
+                if (getState() == State.Paused || getState() == State.Exit)
+                {
+                    Music.resume();
+                }
+                else
+                {
+                    Music.play(getPanel().getActivity(), GamePanel.RANDOM.nextBoolean() ? Assets.AudioGameKey.Music1 : Assets.AudioGameKey.Music2);
+                }
             }
             else
             {
                 //stop sound
                 Audio.stop();
+                Music.pause();
             }
         }
         
@@ -359,6 +374,9 @@ public final class ScreenManager implements Screen, Disposable
         {
             background.dispose();
             background = null;
+            
+            //the background image can be removed when the memory is needed
+            Assets.unpinImage(Assets.ImageMenuKey.Background);
         }
         
         if (paintButton != null)
@@ -366,7 +384,7 @@ public final class ScreenManager implements Screen, Disposable
         
         if (screens != null)
         {
-            for (Screen screen : screens.values())
+            for (ITouchScreen screen : screens.values())
             {
                 if (screen != null)
                 {
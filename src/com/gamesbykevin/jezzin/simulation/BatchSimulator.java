@@ -0,0 +1,489 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.boundaries.Region;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulates many independent levels in parallel on a plain JVM, for tuning the game settings.<br>
+ * Each level has its own world and random objects, walls are started by a scripted {@link Strategy},
+ * and the result of every level is written as a CSV row as soon as it is available.<br>
+ * Usage: java -cp bin/classes com.gamesbykevin.jezzin.simulation.BatchSimulator [options]<br>
+ * -runs 1000, -balls 5 (or a range like 1-15), -engine world|polygon|tile, -strategy largest|random|solver, -velocityMin 1.6, -velocityMax 8,
+ * -wall 12 (pixels per update, normal difficulty), -goal 75, -collision true, -events false, -coverage false, -seed 0, -threads (all cores), -out results.csv<br>
+ * The time of every update is measured, so the cost of each engine can be compared to the frame budget of {@link #TICK_DURATION}.
+ * The polygon and tile engines keep their own play area, so their walls are picked from that area instead of by a {@link Strategy}:
+ * the polygon engine plays random or largest (region) and supports -coverage, the tile engine plays random (open tile) only.
+ * The options an engine can't honour are rejected
+ * @author GOD
+ */
+public final class BatchSimulator
+{
+    /**
+     * The time a single update represents, the game runs at 30 updates per second (milliseconds)
+     */
+    private static final long TICK_DURATION = 1000 / 30;
+    
+    /**
+     * The maximum number of updates for a level (10 minutes of play)
+     */
+    private static final int TICK_LIMIT = 30 * 60 * 10;
+    
+    /**
+     * The number of levels each task will simulate, the threads take the next task as soon as they are done
+     */
+    private static final int TASK_SIZE = 16;
+    
+    /**
+     * The columns of our CSV file
+     */
+    private static final String HEADER = "run,seed,balls,engine,strategy,result,ticks,time_ms,walls_attempted,walls_completed,lives_lost,progress,tick_avg_us,tick_max_us";
+    
+    /**
+     * The chance the random strategy starts a wall each update in the other engines (1 in ...)
+     */
+    private static final int WAIT_CHANCE = 10;
+    
+    /**
+     * The number of random locations we try when looking for an open spot
+     */
+    private static final int PICK_ATTEMPTS = 20;
+    
+    /**
+     * The engines we can simulate
+     */
+    private static final String ENGINE_WORLD = "world", ENGINE_POLYGON = "polygon", ENGINE_TILE = "tile";
+    
+    //the number of levels to simulate
+    private int runs = 1000;
+    
+    //the range of balls in each level
+    private int ballsMin = 5, ballsMax = 5;
+    
+    //the name of the engine
+    private String engine = ENGINE_WORLD;
+    
+    //the name of the strategy
+    private String strategy = "largest";
+    
+    //the speed of the balls
+    private double velocityMin = World.VELOCITY_MIN, velocityMax = World.VELOCITY_MAX;
+    
+    //the speed of the wall (same as normal difficulty)
+    private double wallVelocity = World.VELOCITY_MAX * 1.5;
+    
+    //the progress required to complete a level
+    private int goal = World.PROGRESS_GOAL;
+    
+    //do the balls collide with each other
+    private boolean collision = true;
+    
+    //are the balls moved from collision to collision instead of every update
+    private boolean events = false;
+    
+    //is the progress measured by the filled pixels
+    private boolean coverage = false;
+    
+    //the seed used to create the seed of each level
+    private long seed = 0;
+    
+    //where we write the results
+    private PrintWriter out;
+    
+    //the total time and number of updates of all levels, and the slowest update (nanoseconds)
+    private long tickNanos, tickCount, tickMax;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        BatchSimulator simulator = new BatchSimulator();
+        
+        //the number of threads to use
+        int threads = Runtime.getRuntime().availableProcessors();
+        
+        //where to write the results
+        String file = null;
+        
+        for (int i = 0; i + 1 < args.length; i += 2)
+        {
+            final String name = args[i];
+            final String value = args[i + 1];
+            
+            if (name.equals("-runs"))
+            {
+                simulator.runs = Integer.parseInt(value);
+            }
+            else if (name.equals("-balls"))
+            {
+                //a single count or a range
+                final int index = value.indexOf('-');
+                simulator.ballsMin = Integer.parseInt((index < 0) ? value : value.substring(0, index));
+                simulator.ballsMax = Integer.parseInt((index < 0) ? value : value.substring(index + 1));
+            }
+            else if (name.equals("-engine"))
+            {
+                simulator.engine = value;
+            }
+            else if (name.equals("-strategy"))
+            {
+                simulator.strategy = value;
+            }
+            else if (name.equals("-velocityMin"))
+            {
+                simulator.velocityMin = Double.parseDouble(value);
+            }
+            else if (name.equals("-velocityMax"))
+            {
+                simulator.velocityMax = Double.parseDouble(value);
+            }
+            else if (name.equals("-wall"))
+            {
+                simulator.wallVelocity = Double.parseDouble(value);
+            }
+            else if (name.equals("-goal"))
+            {
+                simulator.goal = Integer.parseInt(value);
+            }
+            else if (name.equals("-collision"))
+            {
+                simulator.collision = Boolean.parseBoolean(value);
+            }
+            else if (name.equals("-events"))
+            {
+                simulator.events = Boolean.parseBoolean(value);
+            }
+            else if (name.equals("-coverage"))
+            {
+                simulator.coverage = Boolean.parseBoolean(value);
+            }
+            else if (name.equals("-seed"))
+            {
+                simulator.seed = Long.parseLong(value);
+            }
+            else if (name.equals("-threads"))
+            {
+                threads = Integer.parseInt(value);
+            }
+            else if (name.equals("-out"))
+            {
+                file = value;
+            }
+            else
+            {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        
+        //make sure the engine and strategy exist before we start
+        if (!simulator.engine.equals(ENGINE_WORLD) && !simulator.engine.equals(ENGINE_POLYGON) && !simulator.engine.equals(ENGINE_TILE))
+            throw new IllegalArgumentException("Unknown engine: " + simulator.engine);
+        if (!simulator.engine.equals(ENGINE_WORLD) && simulator.strategy.equals("solver"))
+            throw new IllegalArgumentException("The solver can only play the " + ENGINE_WORLD + " engine");
+        if (!simulator.engine.equals(ENGINE_WORLD) && simulator.events)
+            throw new IllegalArgumentException("The " + simulator.engine + " engine moves its own balls, -events is only supported by the " + ENGINE_WORLD + " engine");
+        if (simulator.engine.equals(ENGINE_TILE) && !simulator.strategy.equals("random"))
+            throw new IllegalArgumentException("The " + ENGINE_TILE + " engine has no regions, it can only be played with the random strategy");
+        if (simulator.engine.equals(ENGINE_TILE) && simulator.coverage)
+            throw new IllegalArgumentException("The " + ENGINE_TILE + " engine has no coverage, -coverage is only supported by the " + ENGINE_WORLD + " and " + ENGINE_POLYGON + " engines");
+        
+        createStrategy(simulator.strategy, new Random(), simulator.wallVelocity);
+        
+        simulator.out = new PrintWriter(new BufferedWriter((file != null) ? new FileWriter(file) : new OutputStreamWriter(System.out)));
+        
+        try
+        {
+            simulator.out.println(HEADER);
+            
+            final long start = System.nanoTime();
+            
+            //split the levels across all threads
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            
+            try
+            {
+                List<Future<?>> tasks = new ArrayList<Future<?>>();
+                
+                for (int run = 0; run < simulator.runs; run += TASK_SIZE)
+                {
+                    tasks.add(pool.submit(new Batch(simulator, run, Math.min(run + TASK_SIZE, simulator.runs))));
+                }
+                
+                //wait for every task, an error in a task is thrown here
+                for (Future<?> task : tasks)
+                {
+                    task.get();
+                }
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+            
+            if (file != null)
+            {
+                System.out.println(String.format("%d levels in %.1f sec on %d threads", simulator.runs, (System.nanoTime() - start) / 1000000000.0, threads));
+                System.out.println(String.format("%s update avg %.1f us, max %.1f us, budget %d ms",
+                    simulator.engine, simulator.tickNanos / 1000.0 / Math.max(simulator.tickCount, 1), simulator.tickMax / 1000.0, TICK_DURATION));
+            }
+        }
+        finally
+        {
+            simulator.out.flush();
+            
+            if (file != null)
+                simulator.out.close();
+        }
+    }
+    
+    /**
+     * Create the strategy
+     * @param name The name of the strategy
+     * @param random The random object for the strategy
+     * @param velocity The speed of the wall
+     * @return The strategy
+     */
+    private static Strategy createStrategy(final String name, final Random random, final double velocity)
+    {
+        if (name.equals("random"))
+            return new RandomStrategy(random);
+        if (name.equals("largest"))
+            return new LargestBoundaryStrategy(random);
+        
+        //no time limit, so the results don't depend on the speed of the machine
+        if (name.equals("solver"))
+            return new SolverStrategy(velocity, 0);
+        
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+    
+    /**
+     * Pick the next wall in the polygon engine from the regions that still contain balls
+     * @param polygon The level
+     * @param random Our random object
+     * @return The wall to start, null if we want to wait
+     */
+    private Move next(final PolygonWorld polygon, final Random random)
+    {
+        final List<Region> regions = polygon.getRegions();
+        
+        //wait a random amount of time, the same as the random strategy
+        if (regions.isEmpty() || (strategy.equals("random") && random.nextInt(WAIT_CHANCE) != 0))
+            return null;
+        
+        Region region = regions.get(random.nextInt(regions.size()));
+        
+        //the largest strategy always picks the largest region
+        if (strategy.equals("largest"))
+        {
+            for (int i = 0; i < regions.size(); i++)
+            {
+                if (regions.get(i).getArea() > region.getArea())
+                    region = regions.get(i);
+            }
+        }
+        
+        //pick a random location inside the region
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++)
+        {
+            final int x = (int)(region.getLeft() + (random.nextDouble() * (region.getRight() - region.getLeft())));
+            final int y = (int)(region.getTop() + (random.nextDouble() * (region.getBottom() - region.getTop())));
+            
+            if (region.contains(x, y))
+                return new Move(x, y, World.DIRECTION_HORIZONTAL);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Pick the next wall in the tile engine from the tiles that are still open
+     * @param tile The level
+     * @param random Our random object
+     * @return The wall to start, null if we want to wait
+     */
+    private static Move next(final TileWorld tile, final Random random)
+    {
+        //wait a random amount of time, the same as the random strategy
+        if (random.nextInt(WAIT_CHANCE) != 0)
+            return null;
+        
+        //pick a random open location
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++)
+        {
+            final int x = World.BOUNDS_LEFT + random.nextInt(World.BOUNDS_RIGHT - World.BOUNDS_LEFT);
+            final int y = World.BOUNDS_TOP + random.nextInt(World.BOUNDS_BOTTOM - World.BOUNDS_TOP);
+            
+            if (!tile.getGrid().isSolid(x, y))
+                return new Move(x, y, random.nextBoolean() ? World.DIRECTION_HORIZONTAL : World.DIRECTION_VERTICAL);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Simulate a single level
+     * @param run The number of the level
+     * @param result Where the CSV row is written
+     */
+    private void simulate(final int run, final StringBuilder result)
+    {
+        //each level gets its own seed, spread out so neighbouring runs aren't alike
+        final long levelSeed = new Random(seed + (run * 0x9E3779B97F4A7C15L)).nextLong();
+        
+        //spread the levels evenly across the range of balls
+        final int balls = ballsMin + (run % (ballsMax - ballsMin + 1));
+        
+        //the level in the engine we are measuring, the world holds the settings and balls of every engine
+        final PolygonWorld polygon = engine.equals(ENGINE_POLYGON) ? new PolygonWorld() : null;
+        final TileWorld tile = engine.equals(ENGINE_TILE) ? new TileWorld() : null;
+        final World world = (polygon != null) ? polygon.getWorld() : ((tile != null) ? tile.getWorld() : new World());
+        
+        //create the level
+        world.setCollision(collision);
+        world.setEventDriven(events);
+        
+        //the polygon engine fills its own coverage
+        if (polygon != null)
+            polygon.setCoverage(coverage);
+        else
+            world.setCoverage(coverage);
+        world.setVelocity(velocityMin, velocityMax);
+        world.setProgressGoal(goal);
+        world.setLives(balls + 1);
+        
+        if (polygon != null)
+            polygon.reset(levelSeed, balls);
+        else if (tile != null)
+            tile.reset(levelSeed, balls);
+        else
+            world.reset(levelSeed, balls);
+        
+        //the strategy has its own random object so the balls aren't affected
+        final Random random = new Random(~levelSeed);
+        final Strategy player = createStrategy(strategy, random, wallVelocity);
+        
+        //our stats
+        int attempted = 0, completed = 0, livesLost = 0, ticks = 0;
+        
+        //the time spent updating the level (nanoseconds)
+        long nanos = 0, slowest = 0;
+        
+        World.Result outcome = World.Result.None;
+        
+        while (ticks < TICK_LIMIT)
+        {
+            //pick the next wall when we aren't drawing
+            if (!((polygon != null) ? polygon.hasDraw() : ((tile != null) ? tile.hasDraw() : world.hasDraw())))
+            {
+                //the other engines don't update the boundaries of the world, so the strategy can't see their play area
+                final Move move = (polygon != null) ? next(polygon, random) : (tile != null) ? next(tile, random) : player.next(world);
+                
+                if (move != null)
+                {
+                    //the polygon engine can draw the wall at any angle
+                    final boolean started;
+                    
+                    if (polygon != null)
+                        started = polygon.startDraw(move.getX(), move.getY(), random.nextDouble() * Math.PI, wallVelocity);
+                    else if (tile != null)
+                        started = tile.startDraw(move.getX(), move.getY(), move.getDirection(), wallVelocity);
+                    else
+                        started = world.startDraw(move.getX(), move.getY(), move.getDirection(), wallVelocity);
+                    
+                    if (started)
+                        attempted++;
+                }
+            }
+            
+            //advance the level, and measure how long it takes
+            final long start = System.nanoTime();
+            final World.Result update = (polygon != null) ? polygon.update(TICK_DURATION) : ((tile != null) ? tile.update(TICK_DURATION) : world.update(TICK_DURATION));
+            final long duration = System.nanoTime() - start;
+            
+            nanos += duration;
+            slowest = Math.max(slowest, duration);
+            ticks++;
+            
+            if (update == World.Result.WallComplete || update == World.Result.LevelComplete)
+                completed++;
+            if (update == World.Result.LifeLost || update == World.Result.NoLives)
+                livesLost++;
+            
+            //stop once the level has ended
+            if (update == World.Result.LevelComplete || update == World.Result.NoLives || update == World.Result.TimeUp)
+            {
+                outcome = update;
+                break;
+            }
+        }
+        
+        result.append(run).append(',');
+        result.append(levelSeed).append(',');
+        result.append(balls).append(',');
+        result.append(engine).append(',');
+        result.append(strategy).append(',');
+        result.append((outcome == World.Result.None) ? "Unfinished" : outcome.toString()).append(',');
+        result.append(ticks).append(',');
+        result.append(ticks * TICK_DURATION).append(',');
+        result.append(attempted).append(',');
+        result.append(completed).append(',');
+        result.append(livesLost).append(',');
+        result.append((polygon != null) ? polygon.getTotalProgress() : ((tile != null) ? tile.getTotalProgress() : world.getTotalProgress())).append(',');
+        result.append(String.format(Locale.US, "%.1f", nanos / 1000.0 / Math.max(ticks, 1))).append(',');
+        result.append(String.format(Locale.US, "%.1f", slowest / 1000.0)).append('\n');
+        
+        //add to the totals, the rows are written by a single thread at a time
+        synchronized (out)
+        {
+            tickNanos += nanos;
+            tickCount += ticks;
+            tickMax = Math.max(tickMax, slowest);
+        }
+    }
+    
+    /**
+     * A range of levels simulated by a single thread
+     */
+    private static final class Batch implements Runnable
+    {
+        //our simulator
+        private final BatchSimulator simulator;
+        
+        //the range of levels (the end is exclusive)
+        private final int start, end;
+        
+        private Batch(final BatchSimulator simulator, final int start, final int end)
+        {
+            this.simulator = simulator;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        public void run()
+        {
+            StringBuilder result = new StringBuilder();
+            
+            for (int run = start; run < end; run++)
+            {
+                simulator.simulate(run, result);
+            }
+            
+            //stream the rows as soon as they are done
+            synchronized (simulator.out)
+            {
+                simulator.out.print(result);
+                simulator.out.flush();
+            }
+        }
+    }
+}
\ No newline at end of file
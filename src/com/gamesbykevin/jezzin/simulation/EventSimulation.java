@@ -0,0 +1,385 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.boundaries.Boundary;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Moves the balls from one collision to the next instead of a little at a time.<br>
+ * The time each ball reaches an edge of its boundary or another ball is calculated ahead of time and kept in a queue,
+ * so the work depends on the number of collisions instead of the number of updates.
+ * The balls are only placed at their calculated location when they are needed, see {@link #sample()}.
+ * @author GOD
+ */
+final class EventSimulation
+{
+    /**
+     * The different events
+     */
+    private static final int TYPE_EDGE_X = 0;
+    private static final int TYPE_EDGE_Y = 1;
+    private static final int TYPE_BALL = 2;
+    
+    /**
+     * The most events handled in a single update, in case balls get squeezed together
+     */
+    private static final int EVENT_LIMIT = 10000;
+    
+    /**
+     * A predicted collision
+     */
+    private static final class Event implements Comparable<Event>
+    {
+        //the time of the event (updates)
+        private final double time;
+        
+        //the type of event
+        private final int type;
+        
+        //the balls involved, the second ball is only used for a ball collision
+        private final int a, b;
+        
+        //the number of events of each ball when this was predicted, if changed the prediction is no longer valid
+        private final int countA, countB;
+        
+        //the order the events were predicted, so events at the same time are always handled the same way
+        private final long order;
+        
+        private Event(final double time, final int type, final int a, final int b, final int countA, final int countB, final long order)
+        {
+            this.time = time;
+            this.type = type;
+            this.a = a;
+            this.b = b;
+            this.countA = countA;
+            this.countB = countB;
+            this.order = order;
+        }
+        
+        @Override
+        public int compareTo(final Event event)
+        {
+            if (time != event.time)
+                return (time < event.time) ? -1 : 1;
+            
+            return (order < event.order) ? -1 : (order > event.order) ? 1 : 0;
+        }
+    }
+    
+    //the level we are simulating
+    private final World world;
+    
+    //the balls of the level, and every boundary by id
+    private final List<Ball> balls;
+    private final List<Boundary> boundaries;
+    
+    //the upcoming events
+    private final PriorityQueue<Event> queue;
+    
+    //the location of each ball at the time of its last event
+    private double[] baseX = new double[0], baseY = new double[0], baseTime = new double[0];
+    
+    //the number of events of each ball
+    private int[] counts = new int[0];
+    
+    //the current time (updates)
+    private double time;
+    
+    //the number of events predicted
+    private long order;
+    
+    //the number of events handled
+    private long events;
+    
+    //have the balls been placed at the current time
+    private boolean sampled = true;
+    
+    protected EventSimulation(final World world, final List<Ball> balls, final List<Boundary> boundaries)
+    {
+        this.world = world;
+        this.balls = balls;
+        this.boundaries = boundaries;
+        this.queue = new PriorityQueue<Event>();
+    }
+    
+    /**
+     * Predict all events from the current location of the balls.<br>
+     * This needs to be called whenever the balls or the boundaries change, with the balls at their current location
+     */
+    protected void reset()
+    {
+        //the balls are where they are supposed to be
+        this.sampled = true;
+        
+        final int size = balls.size();
+        
+        //make sure we have enough room
+        if (counts.length < size)
+        {
+            baseX = new double[size];
+            baseY = new double[size];
+            baseTime = new double[size];
+            counts = new int[size];
+        }
+        
+        this.time = world.getTick();
+        this.queue.clear();
+        
+        for (int i = 0; i < size; i++)
+        {
+            baseX[i] = balls.get(i).getX();
+            baseY[i] = balls.get(i).getY();
+            baseTime[i] = time;
+            counts[i] = 0;
+        }
+        
+        //only check each pair of balls once
+        for (int i = 0; i < size; i++)
+        {
+            predict(i, i + 1);
+        }
+    }
+    
+    /**
+     * Handle every event up to the time.<br>
+     * The balls aren't moved until they are needed, see {@link #sample()}
+     * @param target The time to advance to (updates)
+     */
+    protected void advance(final double target)
+    {
+        int handled = 0;
+        
+        while (!queue.isEmpty() && queue.peek().time <= target && handled < EVENT_LIMIT)
+        {
+            final Event event = queue.poll();
+            
+            //skip events of balls that have changed since the prediction
+            if (counts[event.a] != event.countA)
+                continue;
+            if (event.type == TYPE_BALL && counts[event.b] != event.countB)
+                continue;
+            
+            this.time = event.time;
+            
+            switch (event.type)
+            {
+                case TYPE_EDGE_X:
+                case TYPE_EDGE_Y:
+                    bounce(event.a, event.type == TYPE_EDGE_X);
+                    predict(event.a, 0);
+                    break;
+                
+                case TYPE_BALL:
+                    collide(event.a, event.b);
+                    predict(event.a, 0);
+                    predict(event.b, 0);
+                    break;
+            }
+            
+            handled++;
+        }
+        
+        this.events += handled;
+        this.time = target;
+        this.sampled = false;
+    }
+    
+    /**
+     * Place the balls at their location at the current time, if not done already
+     */
+    protected void sample()
+    {
+        if (sampled)
+            return;
+        
+        for (int i = 0; i < balls.size(); i++)
+        {
+            final Ball ball = balls.get(i);
+            ball.setX(getX(i, time));
+            ball.setY(getY(i, time));
+        }
+        
+        this.sampled = true;
+    }
+    
+    /**
+     * Get the number of events handled
+     * @return The total number of collisions handled since created
+     */
+    protected long getEvents()
+    {
+        return this.events;
+    }
+    
+    /**
+     * Get the x-coordinate of the ball at the time
+     */
+    private double getX(final int index, final double time)
+    {
+        return baseX[index] + (balls.get(index).getDX() * (time - baseTime[index]));
+    }
+    
+    /**
+     * Get the y-coordinate of the ball at the time
+     */
+    private double getY(final int index, final double time)
+    {
+        return baseY[index] + (balls.get(index).getDY() * (time - baseTime[index]));
+    }
+    
+    /**
+     * Move the starting point of the ball to the current time, so we can change its velocity
+     */
+    private void move(final int index)
+    {
+        baseX[index] = getX(index, time);
+        baseY[index] = getY(index, time);
+        baseTime[index] = time;
+        counts[index]++;
+    }
+    
+    /**
+     * Predict the next events of the ball
+     * @param index The ball
+     * @param start The first ball to check for collision, other balls are checked from here to the end of the list
+     */
+    private void predict(final int index, final int start)
+    {
+        final Ball ball = balls.get(index);
+        final Boundary boundary = boundaries.get(ball.getIndex());
+        
+        //when the ball reaches each edge of its boundary
+        predict(index, TYPE_EDGE_X, getX(index, time), ball.getDX(), boundary.getLeft(), boundary.getRight(), ball.getWidth() / 2);
+        predict(index, TYPE_EDGE_Y, getY(index, time), ball.getDY(), boundary.getTop(), boundary.getBottom(), ball.getHeight() / 2);
+        
+        //the balls only collide with each other if the option is enabled
+        if (!world.hasCollision())
+            return;
+        
+        for (int other = start; other < balls.size(); other++)
+        {
+            final Ball tmp = balls.get(other);
+            
+            //don't check self, or balls in a different boundary
+            if (other == index || tmp.getIndex() != ball.getIndex())
+                continue;
+            
+            //the location and velocity of the other ball compared to this ball
+            final double x = getX(other, time) - getX(index, time);
+            final double y = getY(other, time) - getY(index, time);
+            final double dx = tmp.getDX() - ball.getDX();
+            final double dy = tmp.getDY() - ball.getDY();
+            
+            //the balls have to be approaching each other
+            final double approach = (x * dx) + (y * dy);
+            
+            if (approach >= 0)
+                continue;
+            
+            final double minimum = (ball.getWidth() + tmp.getWidth()) / 2;
+            final double speed = (dx * dx) + (dy * dy);
+            final double discriminant = (approach * approach) - (speed * ((x * x) + (y * y) - (minimum * minimum)));
+            
+            //the balls miss each other
+            if (discriminant < 0)
+                continue;
+            
+            //the time the balls touch, if they already overlap it happens now
+            final double delay = Math.max(0, -(approach + Math.sqrt(discriminant)) / speed);
+            
+            queue.add(new Event(time + delay, TYPE_BALL, index, other, counts[index], counts[other], order++));
+        }
+    }
+    
+    /**
+     * Predict when the ball reaches an edge on one axis
+     * @param index The ball
+     * @param type The axis {@link #TYPE_EDGE_X} or {@link #TYPE_EDGE_Y}
+     * @param location The location of the ball on the axis
+     * @param velocity The velocity of the ball on the axis
+     * @param min The lowest edge on the axis
+     * @param max The highest edge on the axis
+     * @param radius The radius of the ball
+     */
+    private void predict(final int index, final int type, final double location, final double velocity, final int min, final int max, final double radius)
+    {
+        //the ball isn't moving on this axis
+        if (velocity == 0)
+            return;
+        
+        double delay;
+        
+        if (max - min < radius + radius)
+        {
+            //the ball doesn't fit, so bounce once every update the same as the regular update does
+            delay = 1;
+        }
+        else
+        {
+            //if the ball is already past the edge it happens now
+            delay = Math.max(0, (((velocity > 0) ? max - radius : min + radius) - location) / velocity);
+        }
+        
+        queue.add(new Event(time + delay, type, index, -1, counts[index], 0, order++));
+    }
+    
+    /**
+     * Bounce the ball off the edge of its boundary
+     * @param index The ball
+     * @param horizontal true = left or right edge, false = top or bottom edge
+     */
+    private void bounce(final int index, final boolean horizontal)
+    {
+        final Ball ball = balls.get(index);
+        final Boundary boundary = boundaries.get(ball.getIndex());
+        
+        move(index);
+        
+        //place the ball exactly at the edge and flip the velocity
+        if (horizontal)
+        {
+            baseX[index] = (ball.getDX() > 0) ? boundary.getRight() - (ball.getWidth() / 2) : boundary.getLeft() + (ball.getWidth() / 2);
+            ball.setDX(-ball.getDX());
+        }
+        else
+        {
+            baseY[index] = (ball.getDY() > 0) ? boundary.getBottom() - (ball.getHeight() / 2) : boundary.getTop() + (ball.getHeight() / 2);
+            ball.setDY(-ball.getDY());
+        }
+    }
+    
+    /**
+     * Exchange the velocity of 2 touching balls along the line between them (elastic, equal mass)
+     * @param a The first ball
+     * @param b The second ball
+     */
+    private void collide(final int a, final int b)
+    {
+        final Ball ball = balls.get(a);
+        final Ball tmp = balls.get(b);
+        
+        move(a);
+        move(b);
+        
+        final double x = baseX[b] - baseX[a];
+        final double y = baseY[b] - baseY[a];
+        final double distance = Math.sqrt((x * x) + (y * y));
+        
+        //the direction from the ball to the other ball, pick one if they are in the same location
+        final double normalX = (distance == 0) ? 1 : x / distance;
+        final double normalY = (distance == 0) ? 0 : y / distance;
+        
+        //how fast the balls are approaching each other
+        final double speed = ((tmp.getDX() - ball.getDX()) * normalX) + ((tmp.getDY() - ball.getDY()) * normalY);
+        
+        if (speed < 0)
+        {
+            ball.setDX(ball.getDX() + (speed * normalX));
+            ball.setDY(ball.getDY() + (speed * normalY));
+            tmp.setDX(tmp.getDX() - (speed * normalX));
+            tmp.setDY(tmp.getDY() - (speed * normalY));
+        }
+    }
+}
\ No newline at end of file
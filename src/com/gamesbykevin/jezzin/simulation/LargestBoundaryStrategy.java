@@ -0,0 +1,67 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.boundaries.Boundary;
+
+import java.util.Random;
+
+/**
+ * Cuts the largest open boundary across its longest side, near the middle
+ * @author GOD
+ */
+public final class LargestBoundaryStrategy implements Strategy
+{
+    /**
+     * The number of updates to wait between walls
+     */
+    private static final int DELAY = 5;
+    
+    //our own random object, so the balls aren't affected
+    private final Random random;
+    
+    //the number of updates we have waited
+    private int wait = 0;
+    
+    public LargestBoundaryStrategy(final Random random)
+    {
+        this.random = random;
+    }
+    
+    @Override
+    public Move next(final World world)
+    {
+        //give the player some time between walls
+        if (wait++ < DELAY)
+            return null;
+        
+        //find the largest boundary that isn't solid
+        Boundary largest = null;
+        
+        for (int i = 0; i < world.getBoundaries().size(); i++)
+        {
+            final Boundary boundary = world.getBoundary(i);
+            
+            if (boundary.isSolid())
+                continue;
+            
+            if (largest == null || boundary.getArea() > largest.getArea())
+                largest = boundary;
+        }
+        
+        //there is nothing left to cut
+        if (largest == null)
+            return null;
+        
+        //start over
+        wait = 0;
+        
+        final int w = largest.getRight() - largest.getLeft();
+        final int h = largest.getBottom() - largest.getTop();
+        
+        //start near the middle, somewhere in the middle half of the boundary
+        final int x = largest.getLeft() + (w / 4) + random.nextInt(Math.max(w / 2, 1));
+        final int y = largest.getTop() + (h / 4) + random.nextInt(Math.max(h / 2, 1));
+        
+        //cut across the longest side so both halves are closer to square
+        return new Move(x, y, (w > h) ? World.DIRECTION_VERTICAL : World.DIRECTION_HORIZONTAL);
+    }
+}
\ No newline at end of file
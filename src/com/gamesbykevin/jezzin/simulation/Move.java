@@ -0,0 +1,48 @@
+package com.gamesbykevin.jezzin.simulation;
+
+/**
+ * Where to start a wall and which way to draw it
+ * @author GOD
+ */
+public final class Move
+{
+    //the starting coordinates of the wall
+    private final int x, y;
+    
+    //the direction the wall is drawn
+    private final int direction;
+    
+    public Move(final int x, final int y, final int direction)
+    {
+        this.x = x;
+        this.y = y;
+        this.direction = direction;
+    }
+    
+    /**
+     * Get the x-coordinate
+     * @return The x-coordinate to start the wall
+     */
+    public int getX()
+    {
+        return this.x;
+    }
+    
+    /**
+     * Get the y-coordinate
+     * @return The y-coordinate to start the wall
+     */
+    public int getY()
+    {
+        return this.y;
+    }
+    
+    /**
+     * Get the direction
+     * @return The direction of the wall {@link World#DIRECTION_HORIZONTAL} or {@link World#DIRECTION_VERTICAL}
+     */
+    public int getDirection()
+    {
+        return this.direction;
+    }
+}
\ No newline at end of file
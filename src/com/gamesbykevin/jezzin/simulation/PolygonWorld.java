@@ -0,0 +1,468 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.balls.BallsHelper;
+import com.gamesbykevin.jezzin.boundaries.Coverage;
+import com.gamesbykevin.jezzin.boundaries.Region;
+import com.gamesbykevin.jezzin.boundaries.RegionTree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A level where walls can be drawn at any angle.<br>
+ * The play area is made of convex polygon regions, each wall cuts a region in 2 along the line of the wall.
+ * The level settings, lives and balls come from a regular {@link World}, only the regions and the wall are different.
+ * @author GOD
+ */
+public final class PolygonWorld
+{
+    //the level settings and balls
+    private final World world;
+    
+    //the regions that still contain balls
+    private final List<Region> regions;
+    
+    //every region created in the current level, the location in the list is the id of the region
+    private final List<Region> storage;
+    
+    //used to find the region containing a location
+    private final RegionTree tree;
+    
+    //the total area of the solid regions, and of the whole level
+    private double solidArea, totalArea;
+    
+    //every filled pixel, null when the progress is calculated from the area of the solid regions
+    private Coverage coverage;
+    
+    //are we drawing the wall
+    private boolean draw;
+    
+    //the id of the region the wall is drawn in
+    private int wallIndex;
+    
+    //where the wall started, and the direction it is drawn (normalized)
+    private double wallX, wallY, directionX, directionY;
+    
+    //the length of each end of the wall, and the length when the end reaches the edge of the region
+    private double length1, length2, limit1, limit2;
+    
+    //the speed the wall grows
+    private double velocity;
+    
+    //the time elapsed in the level (milliseconds)
+    private long time;
+    
+    //the number of updates completed in the current level
+    private int tick;
+    
+    public PolygonWorld()
+    {
+        this.world = new World();
+        this.regions = new ArrayList<Region>();
+        this.storage = new ArrayList<Region>();
+        this.tree = new RegionTree();
+    }
+    
+    /**
+     * Get the world with the level settings, the lives and the balls
+     * @return The world used to setup the level
+     */
+    public World getWorld()
+    {
+        return this.world;
+    }
+    
+    /**
+     * Start a new level.<br>
+     * The balls are created the same way as a regular level with the same seed
+     * @param seed The seed of the level
+     * @param count The number of balls to be created
+     */
+    public void reset(final long seed, final int count)
+    {
+        //create the balls
+        getWorld().reset(seed, count);
+        
+        this.regions.clear();
+        this.storage.clear();
+        this.solidArea = 0;
+        
+        //nothing is filled yet
+        if (hasCoverage())
+            coverage.reset();
+        this.draw = false;
+        this.time = 0;
+        this.tick = 0;
+        
+        //create the default region
+        final Region region = createRegion(
+            new double[] {World.BOUNDS_LEFT, World.BOUNDS_RIGHT, World.BOUNDS_RIGHT, World.BOUNDS_LEFT},
+            new double[] {World.BOUNDS_TOP, World.BOUNDS_TOP, World.BOUNDS_BOTTOM, World.BOUNDS_BOTTOM}
+        );
+        
+        this.totalArea = region.getArea();
+        this.regions.add(region);
+        this.tree.build(regions);
+        
+        //all balls start in the default region
+        for (Ball ball : getWorld().getBalls())
+        {
+            ball.setIndex(region.getId());
+            region.getBalls().add(ball);
+        }
+    }
+    
+    /**
+     * Create a new region with the next id
+     */
+    private Region createRegion(final double[] x, final double[] y)
+    {
+        final Region region = new Region(storage.size(), x, y);
+        storage.add(region);
+        return region;
+    }
+    
+    /**
+     * Start drawing the wall
+     * @param startX Starting x-coordinate
+     * @param startY Starting y-coordinate
+     * @param angle The angle of the wall (radians)
+     * @param velocity The speed the wall grows
+     * @return true if the wall was started, false if the location isn't in an open region
+     */
+    public boolean startDraw(final int startX, final int startY, final double angle, final double velocity)
+    {
+        final Region region = tree.find(startX, startY);
+        
+        //the start has to be in a region that isn't solid
+        if (region == null || region.isSolid())
+            return false;
+        
+        this.wallIndex = region.getId();
+        this.wallX = startX;
+        this.wallY = startY;
+        this.directionX = Math.cos(angle);
+        this.directionY = Math.sin(angle);
+        this.velocity = velocity;
+        
+        //each end of the wall stops at the edge of the region
+        this.length1 = 0;
+        this.length2 = 0;
+        this.limit1 = region.getDistance(wallX, wallY, -directionX, -directionY);
+        this.limit2 = region.getDistance(wallX, wallY, directionX, directionY);
+        
+        this.draw = true;
+        
+        return true;
+    }
+    
+    /**
+     * Update the level
+     * @param elapsed The time of this update (milliseconds)
+     * @return The outcome of the update
+     */
+    public World.Result update(final long elapsed)
+    {
+        World.Result result = World.Result.None;
+        
+        //update the wall if we are drawing
+        if (hasDraw())
+            result = updateWall();
+        
+        //add the time
+        this.time += elapsed;
+        
+        //if counting down check if time has run out, unless the level already ended
+        if (getWorld().getTimeLeft() > 0 && getWorld().getTimeLeft() - time < 0 && result != World.Result.LevelComplete && result != World.Result.NoLives)
+            result = World.Result.TimeUp;
+        
+        //update the balls
+        updateBalls();
+        
+        //keep track of the number of updates
+        this.tick++;
+        
+        return result;
+    }
+    
+    /**
+     * Grow the wall and check if it is complete or hit a ball
+     * @return The outcome of the update
+     */
+    private World.Result updateWall()
+    {
+        //grow each end until it reaches the edge
+        this.length1 = Math.min(length1 + velocity, limit1);
+        this.length2 = Math.min(length2 + velocity, limit2);
+        
+        //once both ends reach the edge we can split the region
+        if (length1 >= limit1 && length2 >= limit2)
+        {
+            this.draw = false;
+            
+            splitRegion(storage.get(wallIndex));
+            
+            //if we have met the progress the level is complete
+            return (getTotalProgress() >= getWorld().getProgressGoal()) ? World.Result.LevelComplete : World.Result.WallComplete;
+        }
+        
+        //if there is collision with the wall
+        if (hasWallCollision())
+        {
+            //remove a life
+            getWorld().setLives(getWorld().getLives() - 1);
+            
+            //if no more lives, the game is over
+            if (getWorld().getLives() < 1)
+                return World.Result.NoLives;
+            
+            //we are done drawing
+            this.draw = false;
+            
+            //we lost a life
+            return World.Result.LifeLost;
+        }
+        
+        //nothing happened
+        return World.Result.None;
+    }
+    
+    /**
+     * Do we have ball collision with the wall?
+     * @return true = a ball in the region of the wall is touching the wall, false otherwise
+     */
+    private boolean hasWallCollision()
+    {
+        //the ends of the wall
+        final double x1 = getWallX1(), y1 = getWallY1();
+        final double x2 = getWallX2(), y2 = getWallY2();
+        
+        final double length = length1 + length2;
+        
+        for (Ball ball : storage.get(wallIndex).getBalls())
+        {
+            //how far along the wall the closest location is
+            double t = (length == 0) ? 0 : (((ball.getX() - x1) * directionX) + ((ball.getY() - y1) * directionY)) / length;
+            t = Math.max(0, Math.min(1, t));
+            
+            final double distanceX = ball.getX() - (x1 + ((x2 - x1) * t));
+            final double distanceY = ball.getY() - (y1 + ((y2 - y1) * t));
+            final double limit = (ball.getWidth() / 2) + (Wall.DIMENSION / 2);
+            
+            if ((distanceX * distanceX) + (distanceY * distanceY) <= limit * limit)
+                return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Split the region along the wall, only the balls of the region are assigned to the new regions
+     * @param region The region the wall was drawn in
+     */
+    private void splitRegion(final Region region)
+    {
+        final Region[] parts = region.split(wallX, wallY, directionX, directionY, storage.size(), storage.size() + 1);
+        
+        //the wall was along the edge, nothing to split
+        if (parts == null)
+            return;
+        
+        storage.add(parts[0]);
+        storage.add(parts[1]);
+        
+        //remove the old region
+        regions.remove(region);
+        
+        //assign the balls to the side of the wall they are on
+        for (Ball ball : region.getBalls())
+        {
+            final Region part = (Region.getSide(wallX, wallY, directionX, directionY, ball.getX(), ball.getY()) >= 0) ? parts[0] : parts[1];
+            
+            ball.setIndex(part.getId());
+            part.getBalls().add(ball);
+        }
+        
+        for (Region part : parts)
+        {
+            //a region without balls is solid, and only counts towards the progress
+            part.setSolid(part.getBalls().isEmpty());
+            
+            if (part.isSolid())
+            {
+                this.solidArea += part.getArea();
+                
+                //fill the pixels
+                if (hasCoverage())
+                    coverage.fill(part);
+            }
+            else
+            {
+                regions.add(part);
+            }
+        }
+        
+        //the regions have changed
+        tree.build(regions);
+    }
+    
+    /**
+     * Move the balls and keep them inside their region
+     */
+    private void updateBalls()
+    {
+        //balls can only collide with balls in the same region
+        if (getWorld().hasCollision())
+        {
+            for (int i = 0; i < regions.size(); i++)
+            {
+                BallsHelper.checkBallCollision(regions.get(i).getBalls());
+            }
+        }
+        
+        for (Ball ball : getWorld().getBalls())
+        {
+            //bounce off the edges of the region
+            storage.get(ball.getIndex()).bounce(ball);
+            
+            //update the current ball
+            ball.setX(ball.getX() + ball.getDX());
+            ball.setY(ball.getY() + ball.getDY());
+        }
+    }
+    
+    /**
+     * Get the total progress.<br>
+     * The area of the solid regions (or the filled pixels) is added when they are created, so nothing needs to be calculated
+     * @return The progress of the regions between 0 - 100
+     */
+    public int getTotalProgress()
+    {
+        //the filled pixels are counted as they are filled
+        if (hasCoverage())
+            return coverage.getProgress();
+        
+        return (int)(100 * (solidArea / totalArea));
+    }
+    
+    /**
+     * Choose how the progress is measured, this needs to be set before {@link #reset(long, int)}
+     * @param coverage true = track every filled pixel, false = add the area of the solid regions
+     */
+    public void setCoverage(final boolean coverage)
+    {
+        this.coverage = (coverage) ? new Coverage(World.BOUNDS_LEFT, World.BOUNDS_TOP, World.BOUNDS_RIGHT - World.BOUNDS_LEFT, World.BOUNDS_BOTTOM - World.BOUNDS_TOP) : null;
+    }
+    
+    /**
+     * Is coverage enabled?
+     * @return true if every filled pixel is tracked, false otherwise
+     */
+    public boolean hasCoverage()
+    {
+        return (this.coverage != null);
+    }
+    
+    /**
+     * Get the coverage
+     * @return Every filled pixel of the level, null if coverage isn't enabled
+     */
+    public Coverage getCoverage()
+    {
+        return this.coverage;
+    }
+    
+    /**
+     * Get the regions that still contain balls
+     * @return The list of open regions
+     */
+    public List<Region> getRegions()
+    {
+        return this.regions;
+    }
+    
+    /**
+     * Get the region with the id
+     * @param id The id of the region, see {@link Ball#getIndex()}
+     * @return The region with the id
+     */
+    public Region getRegion(final int id)
+    {
+        return storage.get(id);
+    }
+    
+    /**
+     * Find the region containing the location
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return The open region containing the location, null if none found
+     */
+    public Region findRegion(final double x, final double y)
+    {
+        return tree.find(x, y);
+    }
+    
+    /**
+     * Are we drawing the wall?
+     * @return true = yes, false = no
+     */
+    public boolean hasDraw()
+    {
+        return this.draw;
+    }
+    
+    /**
+     * Get the x-coordinate of the first end of the wall
+     * @return The x-coordinate
+     */
+    public double getWallX1()
+    {
+        return wallX - (directionX * length1);
+    }
+    
+    /**
+     * Get the y-coordinate of the first end of the wall
+     * @return The y-coordinate
+     */
+    public double getWallY1()
+    {
+        return wallY - (directionY * length1);
+    }
+    
+    /**
+     * Get the x-coordinate of the second end of the wall
+     * @return The x-coordinate
+     */
+    public double getWallX2()
+    {
+        return wallX + (directionX * length2);
+    }
+    
+    /**
+     * Get the y-coordinate of the second end of the wall
+     * @return The y-coordinate
+     */
+    public double getWallY2()
+    {
+        return wallY + (directionY * length2);
+    }
+    
+    /**
+     * Get the time
+     * @return The time elapsed in the level (milliseconds)
+     */
+    public long getTime()
+    {
+        return this.time;
+    }
+    
+    /**
+     * Get the number of updates
+     * @return The number of updates completed in the current level
+     */
+    public int getTick()
+    {
+        return this.tick;
+    }
+}
\ No newline at end of file
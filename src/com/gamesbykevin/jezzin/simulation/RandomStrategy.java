@@ -0,0 +1,45 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.boundaries.Boundary;
+
+import java.util.Random;
+
+/**
+ * Starts walls at random locations inside the open boundaries, like an impatient player would
+ * @author GOD
+ */
+public final class RandomStrategy implements Strategy
+{
+    /**
+     * The chance of starting a wall each update (1 in ...)
+     */
+    private static final int CHANCE = 10;
+    
+    //our own random object, so the balls aren't affected
+    private final Random random;
+    
+    public RandomStrategy(final Random random)
+    {
+        this.random = random;
+    }
+    
+    @Override
+    public Move next(final World world)
+    {
+        //wait a random amount of time
+        if (random.nextInt(CHANCE) != 0)
+            return null;
+        
+        //pick a random boundary, we only start walls in the ones that are open
+        final Boundary boundary = world.getBoundary(random.nextInt(world.getBoundaries().size()));
+        
+        if (boundary.isSolid())
+            return null;
+        
+        //pick a random location inside the boundary
+        final int x = boundary.getLeft() + random.nextInt(boundary.getRight() - boundary.getLeft());
+        final int y = boundary.getTop() + random.nextInt(boundary.getBottom() - boundary.getTop());
+        
+        return new Move(x, y, random.nextBoolean() ? World.DIRECTION_HORIZONTAL : World.DIRECTION_VERTICAL);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,314 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.boundaries.Boundary;
+
+import java.util.List;
+
+/**
+ * Picks the wall that makes the most area solid without being hit by a ball.<br>
+ * The path of every ball is predicted inside its boundary (bouncing off the edges, ball collisions are not predicted),
+ * then candidate walls across each open boundary are grown update by update against those paths.
+ * @author GOD
+ */
+public final class SolverStrategy implements Strategy
+{
+    /**
+     * The distance between the candidate walls (pixels)
+     */
+    private static final int STEP = 8;
+    
+    /**
+     * The number of start locations we try along each candidate wall
+     */
+    private static final int POSITIONS = 5;
+    
+    /**
+     * Extra space kept between the wall and the balls, since ball collisions aren't predicted (pixels)
+     */
+    private static final double MARGIN = 4;
+    
+    /**
+     * Half of a single update at 60 updates per second (nanoseconds)
+     */
+    public static final long BUDGET = 1000000000L / 60 / 2;
+    
+    //the speed of the wall
+    private final double velocity;
+    
+    //the time allowed to make a decision, 0 for no limit (nanoseconds)
+    private final long budget;
+    
+    //the predicted location of the balls in the current boundary for each update
+    private double[] predictX = new double[0], predictY = new double[0];
+    
+    //the radius of each ball in the current boundary
+    private double[] radius = new double[0];
+    
+    //the number of balls in the current boundary, and the number of updates predicted
+    private int count, ticks;
+    
+    /**
+     * Create a new solver
+     * @param velocity The speed of the wall
+     * @param budget The time allowed to make a decision, 0 for no limit (nanoseconds)
+     */
+    public SolverStrategy(final double velocity, final long budget)
+    {
+        this.velocity = velocity;
+        this.budget = budget;
+    }
+    
+    @Override
+    public Move next(final World world)
+    {
+        final long start = System.nanoTime();
+        
+        //the best wall found so far
+        Move best = null;
+        double bestScore = 0;
+        
+        for (int index = 0; index < world.getBoundaries().size(); index++)
+        {
+            final Boundary boundary = world.getBoundary(index);
+            
+            //we can't start a wall in a solid boundary
+            if (boundary.isSolid())
+                continue;
+            
+            final int w = boundary.getRight() - boundary.getLeft();
+            final int h = boundary.getBottom() - boundary.getTop();
+            
+            //predict the balls long enough for any wall to complete
+            predict(world, index, (int)Math.ceil(Math.max(w, h) / velocity) + 2);
+            
+            for (int direction = World.DIRECTION_HORIZONTAL; direction <= World.DIRECTION_VERTICAL; direction++)
+            {
+                final boolean horizontal = (direction == World.DIRECTION_HORIZONTAL);
+                
+                //the length of the wall, and the distance we can place it across the boundary
+                final int length = (horizontal) ? w : h;
+                final int across = (horizontal) ? h : w;
+                
+                //don't place walls right next to the edge
+                for (int line = Wall.DIMENSION; line <= across - Wall.DIMENSION; line += STEP)
+                {
+                    for (int position = 1; position <= POSITIONS; position++)
+                    {
+                        final int along = (length * position) / (POSITIONS + 1);
+                        
+                        final int x = boundary.getLeft() + ((horizontal) ? along : line);
+                        final int y = boundary.getTop() + ((horizontal) ? line : along);
+                        
+                        final double score = evaluate(boundary, x, y, horizontal);
+                        
+                        if (score > bestScore)
+                        {
+                            bestScore = score;
+                            best = new Move(x, y, direction);
+                        }
+                    }
+                    
+                    //if we are out of time use the best wall so far
+                    if (budget > 0 && System.nanoTime() - start > budget)
+                        return best;
+                }
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Predict the path of each ball in the boundary, the same way the balls are moved in the world
+     * @param world The current level
+     * @param index The index of the boundary
+     * @param ticks The number of updates to predict
+     */
+    private void predict(final World world, final int index, final int ticks)
+    {
+        final Boundary boundary = world.getBoundary(index);
+        
+        //the balls in this boundary
+        final List<Ball> balls = boundary.getBalls();
+        
+        //make sure we have enough room
+        if (predictX.length < balls.size() * (ticks + 1))
+        {
+            predictX = new double[balls.size() * (ticks + 1)];
+            predictY = new double[balls.size() * (ticks + 1)];
+        }
+        
+        if (radius.length < balls.size())
+            radius = new double[balls.size()];
+        
+        this.count = 0;
+        this.ticks = ticks;
+        
+        for (int i = 0; i < balls.size(); i++)
+        {
+            final Ball ball = balls.get(i);
+            
+            final double r = ball.getWidth() / 2;
+            final int offset = count * (ticks + 1);
+            
+            double x = ball.getX();
+            double y = ball.getY();
+            double dx = ball.getDX();
+            double dy = ball.getDY();
+            
+            for (int tick = 0; tick <= ticks; tick++)
+            {
+                predictX[offset + tick] = x;
+                predictY[offset + tick] = y;
+                
+                //bounce off the edges of the boundary
+                if (dx < 0 && x < boundary.getLeft() + r)
+                {
+                    dx = -dx;
+                    x = boundary.getLeft() + r;
+                }
+                else if (dx > 0 && x > boundary.getRight() - r)
+                {
+                    dx = -dx;
+                    x = boundary.getRight() - r;
+                }
+                
+                if (dy < 0 && y < boundary.getTop() + r)
+                {
+                    dy = -dy;
+                    y = boundary.getTop() + r;
+                }
+                else if (dy > 0 && y > boundary.getBottom() - r)
+                {
+                    dy = -dy;
+                    y = boundary.getBottom() - r;
+                }
+                
+                //move the ball
+                x += dx;
+                y += dy;
+            }
+            
+            radius[count] = r;
+            count++;
+        }
+    }
+    
+    /**
+     * Grow a wall the same way the world does, and check it against the predicted balls
+     * @param boundary The boundary the wall is drawn in
+     * @param startX starting x-coordinate
+     * @param startY starting y-coordinate
+     * @param horizontal Is the wall drawn horizontally
+     * @return The score of the wall, 0 if the wall would be hit by a ball or won't complete
+     */
+    private double evaluate(final Boundary boundary, final int startX, final int startY, final boolean horizontal)
+    {
+        //the wall when it is started
+        double x = (horizontal) ? startX : startX - (Wall.DIMENSION / 2);
+        double y = (horizontal) ? startY - (Wall.DIMENSION / 2) : startY;
+        double w = (horizontal) ? 1 : Wall.DIMENSION;
+        double h = (horizontal) ? Wall.DIMENSION : 1;
+        
+        final double dx = (horizontal) ? velocity : 0;
+        final double dy = (horizontal) ? 0 : velocity;
+        
+        for (int tick = 1; tick <= ticks; tick++)
+        {
+            //grow the wall
+            x -= dx;
+            w += dx + dx;
+            y -= dy;
+            h += dy + dy;
+            
+            //is each end outside the boundary
+            final boolean complete1 = !boundary.contains((int)x, (int)y);
+            final boolean complete2 = !boundary.contains((int)(x + w), (int)(y + h));
+            
+            //stay in bounds
+            if (horizontal)
+            {
+                if (x + w > boundary.getRight())
+                    w = boundary.getRight() - x;
+                if (x < boundary.getLeft())
+                    x = boundary.getLeft();
+            }
+            else
+            {
+                if (y + h > boundary.getBottom())
+                    h = boundary.getBottom() - y;
+                if (y < boundary.getTop())
+                    y = boundary.getTop();
+            }
+            
+            //the balls are where they were before this update moves them
+            if (complete1 && complete2)
+                return score(boundary, (horizontal) ? (int)(y + (h / 2)) : (int)(x + (w / 2)), horizontal, tick - 1);
+            
+            //make sure no ball is touching the wall
+            for (int i = 0; i < count; i++)
+            {
+                final int offset = (i * (ticks + 1)) + tick - 1;
+                
+                //the closest point of the wall to the ball
+                final double closestX = Math.max(x, Math.min(predictX[offset], x + w));
+                final double closestY = Math.max(y, Math.min(predictY[offset], y + h));
+                
+                final double distanceX = predictX[offset] - closestX;
+                final double distanceY = predictY[offset] - closestY;
+                final double limit = radius[i] + MARGIN;
+                
+                if ((distanceX * distanceX) + (distanceY * distanceY) <= limit * limit)
+                    return 0;
+            }
+        }
+        
+        //the wall won't complete in time
+        return 0;
+    }
+    
+    /**
+     * Score the split of a boundary
+     * @param boundary The boundary being split
+     * @param split The coordinate where the boundary is split
+     * @param horizontal Is the wall drawn horizontally
+     * @param tick The update the balls are checked at
+     * @return The area that will be solid, with a small bonus for making the open area smaller
+     */
+    private double score(final Boundary boundary, final int split, final boolean horizontal, final int tick)
+    {
+        //the area of both sides
+        final int area1 = (horizontal) ?
+            (boundary.getRight() - boundary.getLeft()) * (split - boundary.getTop()) :
+            (split - boundary.getLeft()) * (boundary.getBottom() - boundary.getTop());
+        final int area2 = boundary.getArea() - area1;
+        
+        //count the balls on each side
+        int balls1 = 0, balls2 = 0;
+        
+        for (int i = 0; i < count; i++)
+        {
+            final int offset = (i * (ticks + 1)) + tick;
+            
+            final int location = (horizontal) ? (int)predictY[offset] : (int)predictX[offset];
+            
+            if (location < split)
+            {
+                balls1++;
+            }
+            else
+            {
+                balls2++;
+            }
+        }
+        
+        //the area that becomes solid
+        final int solid = ((balls1 == 0) ? area1 : 0) + ((balls2 == 0) ? area2 : 0);
+        
+        //the largest area that is still open
+        final int open = Math.max((balls1 > 0) ? area1 : 0, (balls2 > 0) ? area2 : 0);
+        
+        return solid + ((boundary.getArea() - open) * 0.1) + 1;
+    }
+}
\ No newline at end of file
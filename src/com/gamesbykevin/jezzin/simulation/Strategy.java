@@ -0,0 +1,16 @@
+package com.gamesbykevin.jezzin.simulation;
+
+/**
+ * Decides where the next wall is drawn when there is no player
+ * @author GOD
+ */
+public interface Strategy
+{
+    /**
+     * Pick the next wall.<br>
+     * This is only called when no wall is being drawn
+     * @param world The current level
+     * @return The wall to start, null if we want to wait
+     */
+    public Move next(final World world);
+}
\ No newline at end of file
@@ -0,0 +1,427 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.balls.BallsHelper;
+import com.gamesbykevin.jezzin.boundaries.BoundariesHelper;
+import com.gamesbykevin.jezzin.boundaries.TileGrid;
+
+/**
+ * A level where the play area is a grid of tiles instead of a list of boundaries.<br>
+ * When a wall is complete the area that can't be reached by a ball is filled, so the regions can be any shape.
+ * The level settings, lives and balls come from a regular {@link World}, only the play area and the wall are different.
+ * @author GOD
+ */
+public final class TileWorld
+{
+    /**
+     * The default size of a tile (pixels)
+     */
+    public static final int TILE_SIZE = 2;
+    
+    /**
+     * The smallest size of a tile (pixels).<br>
+     * With 1 pixel tiles the fill after a wall has 4 times the tiles and the slowest updates go over the frame budget
+     */
+    public static final int TILE_SIZE_MIN = 2;
+    
+    //the level settings and balls
+    private final World world;
+    
+    //the play area
+    private final TileGrid grid;
+    
+    //the wall being drawn
+    private final Wall wall;
+    
+    //has each end of the wall reached a solid tile
+    private boolean complete1, complete2;
+    
+    //the time elapsed in the level (milliseconds)
+    private long time;
+    
+    //the number of updates completed in the current level
+    private int tick;
+    
+    /**
+     * Create a level with the default tile size
+     */
+    public TileWorld()
+    {
+        this(TILE_SIZE);
+    }
+    
+    /**
+     * Create a level
+     * @param size The size of a tile (pixels), at least {@link #TILE_SIZE_MIN}
+     */
+    public TileWorld(final int size)
+    {
+        if (size < TILE_SIZE_MIN)
+            throw new IllegalArgumentException("The tile size has to be at least " + TILE_SIZE_MIN + ": " + size);
+        
+        this.world = new World();
+        this.grid = new TileGrid(World.BOUNDS_LEFT, World.BOUNDS_TOP, World.BOUNDS_RIGHT - World.BOUNDS_LEFT, World.BOUNDS_BOTTOM - World.BOUNDS_TOP, size);
+        this.wall = new Wall();
+    }
+    
+    /**
+     * Get the world with the level settings, the lives and the balls
+     * @return The world used to setup the level
+     */
+    public World getWorld()
+    {
+        return this.world;
+    }
+    
+    /**
+     * Start a new level.<br>
+     * The balls are created the same way as a regular level with the same seed
+     * @param seed The seed of the level
+     * @param count The number of balls to be created
+     */
+    public void reset(final long seed, final int count)
+    {
+        //create the balls
+        getWorld().reset(seed, count);
+        
+        //make sure the balls start inside the area, the same as the edges of a regular boundary would
+        for (int i = 0; i < getWorld().getBalls().size(); i++)
+        {
+            final Ball ball = getWorld().getBalls().get(i);
+            final double radius = ball.getWidth() / 2;
+            
+            ball.setX(Math.max(World.BOUNDS_LEFT + radius, Math.min(World.BOUNDS_RIGHT - radius, ball.getX())));
+            ball.setY(Math.max(World.BOUNDS_TOP + radius, Math.min(World.BOUNDS_BOTTOM - radius, ball.getY())));
+        }
+        
+        //every tile is open
+        getGrid().reset();
+        
+        //stop drawing
+        getWall().reset();
+        
+        this.time = 0;
+        this.tick = 0;
+    }
+    
+    /**
+     * Start drawing the wall
+     * @param startX Starting x-coordinate
+     * @param startY Starting y-coordinate
+     * @param direction The direction of the wall {@link World#DIRECTION_HORIZONTAL} or {@link World#DIRECTION_VERTICAL}
+     * @param velocity The speed the wall grows
+     * @return true if the wall was started, false if the location is solid
+     */
+    public boolean startDraw(final int startX, final int startY, final int direction, final double velocity)
+    {
+        //the start has to be on an open tile
+        if (getGrid().isSolid(startX, startY))
+            return false;
+        
+        getWall().reset();
+        
+        //can only move either vertical or horizontal
+        getWall().setDX((direction == World.DIRECTION_HORIZONTAL) ? velocity : 0);
+        getWall().setDY((direction == World.DIRECTION_HORIZONTAL) ? 0 : velocity);
+        
+        //setup location, the same as a regular wall
+        if (getWall().getDX() != 0)
+        {
+            getWall().setX(startX);
+            getWall().setY(startY - (Wall.DIMENSION / 2));
+            getWall().setWidth(1);
+            getWall().setHeight(Wall.DIMENSION);
+        }
+        else
+        {
+            getWall().setX(startX - (Wall.DIMENSION / 2));
+            getWall().setY(startY);
+            getWall().setWidth(Wall.DIMENSION);
+            getWall().setHeight(1);
+        }
+        
+        this.complete1 = false;
+        this.complete2 = false;
+        
+        //flag draw start
+        getWall().setDraw(true);
+        
+        return true;
+    }
+    
+    /**
+     * Update the level
+     * @param elapsed The time of this update (milliseconds)
+     * @return The outcome of the update
+     */
+    public World.Result update(final long elapsed)
+    {
+        World.Result result = World.Result.None;
+        
+        //update the wall if we are drawing
+        if (getWall().hasDraw())
+            result = updateWall();
+        
+        //add the time
+        this.time += elapsed;
+        
+        //if counting down check if time has run out, unless the level already ended
+        if (getWorld().getTimeLeft() > 0 && getWorld().getTimeLeft() - time < 0 && result != World.Result.LevelComplete && result != World.Result.NoLives)
+            result = World.Result.TimeUp;
+        
+        //update the balls, a fast ball can also pass through the wall while moving
+        if (updateBalls() && getWall().hasDraw() && result == World.Result.None)
+            result = loseLife();
+        
+        //keep track of the number of updates
+        this.tick++;
+        
+        return result;
+    }
+    
+    /**
+     * Grow the wall and check if it is complete or hit a ball
+     * @return The outcome of the update
+     */
+    private World.Result updateWall()
+    {
+        final double dx = getWall().getDX();
+        final double dy = getWall().getDY();
+        
+        //grow the first end until it reaches a solid tile
+        if (!complete1)
+        {
+            getWall().setX(getWall().getX() - dx);
+            getWall().setY(getWall().getY() - dy);
+            getWall().setWidth(getWall().getWidth() + dx);
+            getWall().setHeight(getWall().getHeight() + dy);
+            
+            //move back 1 pixel at a time until the end is on an open tile
+            while (getGrid().isSolid(getWall().getX() + ((dx != 0) ? 0 : Wall.DIMENSION / 2), getWall().getY() + ((dy != 0) ? 0 : Wall.DIMENSION / 2)))
+            {
+                getWall().setX(getWall().getX() + ((dx != 0) ? 1 : 0));
+                getWall().setY(getWall().getY() + ((dy != 0) ? 1 : 0));
+                getWall().setWidth(getWall().getWidth() - ((dx != 0) ? 1 : 0));
+                getWall().setHeight(getWall().getHeight() - ((dy != 0) ? 1 : 0));
+                this.complete1 = true;
+            }
+        }
+        
+        //grow the second end until it reaches a solid tile
+        if (!complete2)
+        {
+            getWall().setWidth(getWall().getWidth() + dx);
+            getWall().setHeight(getWall().getHeight() + dy);
+            
+            //move back 1 pixel at a time until the end is on an open tile
+            while (getGrid().isSolid(getWall().getX() + ((dx != 0) ? getWall().getWidth() - 1 : Wall.DIMENSION / 2), getWall().getY() + ((dy != 0) ? getWall().getHeight() - 1 : Wall.DIMENSION / 2)))
+            {
+                getWall().setWidth(getWall().getWidth() - ((dx != 0) ? 1 : 0));
+                getWall().setHeight(getWall().getHeight() - ((dy != 0) ? 1 : 0));
+                this.complete2 = true;
+            }
+        }
+        
+        //if a ball is touching the wall we lose a life, this is checked first so a ball can't be closed inside the wall
+        for (int i = 0; i < getWorld().getBalls().size(); i++)
+        {
+            final Ball ball = getWorld().getBalls().get(i);
+            
+            if (BoundariesHelper.hasSweptCollision(getWall(), ball, ball.getX(), ball.getY()))
+                return loseLife();
+        }
+        
+        //once both ends reach a solid tile the wall is complete
+        if (complete1 && complete2)
+        {
+            //the wall becomes solid, and the area without balls is captured
+            getGrid().setSolid(getWall().getX(), getWall().getY(), getWall().getX() + getWall().getWidth(), getWall().getY() + getWall().getHeight());
+            getGrid().capture(getWorld().getBalls());
+            
+            //we are done drawing
+            getWall().reset();
+            
+            //if we have met the progress the level is complete
+            return (getTotalProgress() >= getWorld().getProgressGoal()) ? World.Result.LevelComplete : World.Result.WallComplete;
+        }
+        
+        //nothing happened
+        return World.Result.None;
+    }
+    
+    /**
+     * The wall was hit by a ball, remove a life
+     * @return {@link World.Result#NoLives} if the game is over, {@link World.Result#LifeLost} otherwise
+     */
+    private World.Result loseLife()
+    {
+        //remove a life
+        getWorld().setLives(getWorld().getLives() - 1);
+        
+        //if no more lives, the game is over
+        if (getWorld().getLives() < 1)
+            return World.Result.NoLives;
+        
+        //we are done drawing
+        getWall().reset();
+        
+        //we lost a life
+        return World.Result.LifeLost;
+    }
+    
+    /**
+     * Move the balls and bounce them off the solid tiles.<br>
+     * The same as a regular level, the update is split into steps so no ball moves further than {@link World#STEP_MAX} at once
+     * @return true = a ball passed through the wall while moving, false otherwise
+     */
+    private boolean updateBalls()
+    {
+        int steps = 1;
+        
+        //the number of steps needed so no ball moves too far at once
+        for (int i = 0; i < getWorld().getBalls().size(); i++)
+        {
+            final Ball ball = getWorld().getBalls().get(i);
+            final double distance = Math.sqrt((ball.getDX() * ball.getDX()) + (ball.getDY() * ball.getDY()));
+            
+            if (distance > World.STEP_MAX * steps)
+                steps = (int)Math.ceil(distance / World.STEP_MAX);
+        }
+        
+        //did a ball pass through the wall
+        boolean hit = false;
+        
+        for (int step = 0; step < steps; step++)
+        {
+            //balls in different regions are always separated by a wall, so all balls can be checked together
+            if (getWorld().hasCollision())
+                BallsHelper.checkBallCollision(getWorld().getBalls());
+            
+            for (int i = 0; i < getWorld().getBalls().size(); i++)
+            {
+                final Ball ball = getWorld().getBalls().get(i);
+                
+                //where the ball started this step
+                final double x = ball.getX();
+                final double y = ball.getY();
+                
+                //move on each axis, and bounce if the leading side reaches a solid tile
+                ball.setX(x + (ball.getDX() / steps));
+                
+                if (hasSolid(ball, true))
+                {
+                    ball.setX(x);
+                    ball.setDX(-ball.getDX());
+                }
+                
+                ball.setY(y + (ball.getDY() / steps));
+                
+                if (hasSolid(ball, false))
+                {
+                    ball.setY(y);
+                    ball.setDY(-ball.getDY());
+                }
+                
+                //slow balls can't pass through the wall, it is checked when the wall grows
+                if (steps > 1 && getWall().hasDraw() && BoundariesHelper.hasSweptCollision(getWall(), ball, x, y))
+                    hit = true;
+            }
+        }
+        
+        return hit;
+    }
+    
+    /**
+     * Is the leading side of the ball touching a solid tile?<br>
+     * The corners of the side aren't checked, so a ball moving along a solid tile doesn't bounce off it
+     * @param ball The ball we want to check
+     * @param horizontal true = check the side the ball moves towards horizontally, false = vertically
+     * @return true = yes, false = no
+     */
+    private boolean hasSolid(final Ball ball, final boolean horizontal)
+    {
+        final double radius = ball.getWidth() / 2;
+        final int size = getGrid().getSize();
+        
+        if (horizontal)
+        {
+            //the side of the ball in the direction it is moving
+            final double x = ball.getX() + ((ball.getDX() > 0) ? radius : -radius);
+            
+            for (double y = ball.getY() - radius + 1; y < ball.getY() + radius - 1; y += size)
+            {
+                if (getGrid().isSolid(x, y))
+                    return true;
+            }
+            
+            return getGrid().isSolid(x, ball.getY() + radius - 1);
+        }
+        else
+        {
+            //the side of the ball in the direction it is moving
+            final double y = ball.getY() + ((ball.getDY() > 0) ? radius : -radius);
+            
+            for (double x = ball.getX() - radius + 1; x < ball.getX() + radius - 1; x += size)
+            {
+                if (getGrid().isSolid(x, y))
+                    return true;
+            }
+            
+            return getGrid().isSolid(ball.getX() + radius - 1, y);
+        }
+    }
+    
+    /**
+     * Get the total progress
+     * @return The solid tiles between 0 - 100
+     */
+    public int getTotalProgress()
+    {
+        return getGrid().getProgress();
+    }
+    
+    /**
+     * Get the play area
+     * @return The grid of tiles
+     */
+    public TileGrid getGrid()
+    {
+        return this.grid;
+    }
+    
+    /**
+     * Get the wall
+     * @return The wall being drawn
+     */
+    public Wall getWall()
+    {
+        return this.wall;
+    }
+    
+    /**
+     * Are we drawing the wall?
+     * @return true = yes, false = no
+     */
+    public boolean hasDraw()
+    {
+        return getWall().hasDraw();
+    }
+    
+    /**
+     * Get the time
+     * @return The time elapsed in the level (milliseconds)
+     */
+    public long getTime()
+    {
+        return this.time;
+    }
+    
+    /**
+     * Get the number of updates
+     * @return The number of updates completed in the current level
+     */
+    public int getTick()
+    {
+        return this.tick;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.gamesbykevin.jezzin.simulation;
+
+/**
+ * The wall the player is currently drawing
+ * @author GOD
+ */
+public final class Wall
+{
+    /**
+     * The pixel thickness of the wall
+     */
+    public static final int DIMENSION = 16;
+    
+    //the location and size of the wall
+    private double x, y, width, height;
+    
+    //the speed the wall grows in each direction
+    private double dx, dy;
+    
+    //the index of the boundary the wall is drawn in
+    private int index;
+    
+    //are we drawing the wall
+    private boolean draw = false;
+    
+    protected Wall()
+    {
+        //reset
+        reset();
+    }
+    
+    /**
+     * Reset the wall, we are no longer drawing
+     */
+    public final void reset()
+    {
+        setX(0);
+        setY(0);
+        setWidth(0);
+        setHeight(0);
+        setDX(0);
+        setDY(0);
+        setDraw(false);
+    }
+    
+    /**
+     * Get the x-coordinate
+     * @return The left side of the wall
+     */
+    public double getX()
+    {
+        return this.x;
+    }
+    
+    /**
+     * Assign the x-coordinate
+     * @param x The left side of the wall
+     */
+    public void setX(final double x)
+    {
+        this.x = x;
+    }
+    
+    /**
+     * Get the y-coordinate
+     * @return The top side of the wall
+     */
+    public double getY()
+    {
+        return this.y;
+    }
+    
+    /**
+     * Assign the y-coordinate
+     * @param y The top side of the wall
+     */
+    public void setY(final double y)
+    {
+        this.y = y;
+    }
+    
+    /**
+     * Get the width
+     * @return The width of the wall
+     */
+    public double getWidth()
+    {
+        return this.width;
+    }
+    
+    /**
+     * Assign the width
+     * @param width The width of the wall
+     */
+    public void setWidth(final double width)
+    {
+        this.width = width;
+    }
+    
+    /**
+     * Get the height
+     * @return The height of the wall
+     */
+    public double getHeight()
+    {
+        return this.height;
+    }
+    
+    /**
+     * Assign the height
+     * @param height The height of the wall
+     */
+    public void setHeight(final double height)
+    {
+        this.height = height;
+    }
+    
+    /**
+     * Get the x-velocity
+     * @return The pixels the wall grows horizontally in each direction per update
+     */
+    public double getDX()
+    {
+        return this.dx;
+    }
+    
+    /**
+     * Assign the x-velocity
+     * @param dx The pixels the wall grows horizontally in each direction per update
+     */
+    public void setDX(final double dx)
+    {
+        this.dx = dx;
+    }
+    
+    /**
+     * Get the y-velocity
+     * @return The pixels the wall grows vertically in each direction per update
+     */
+    public double getDY()
+    {
+        return this.dy;
+    }
+    
+    /**
+     * Assign the y-velocity
+     * @param dy The pixels the wall grows vertically in each direction per update
+     */
+    public void setDY(final double dy)
+    {
+        this.dy = dy;
+    }
+    
+    /**
+     * Get the index
+     * @return The id of the boundary the wall is drawn in
+     */
+    public int getIndex()
+    {
+        return this.index;
+    }
+    
+    /**
+     * Assign the index
+     * @param index The id of the boundary the wall is drawn in
+     */
+    public void setIndex(final int index)
+    {
+        this.index = index;
+    }
+    
+    /**
+     * Flag that we are drawing the wall
+     * @param draw true = yes, false = no
+     */
+    public void setDraw(final boolean draw)
+    {
+        this.draw = draw;
+    }
+    
+    /**
+     * Are we drawing the wall?
+     * @return true = yes, false = no
+     */
+    public boolean hasDraw()
+    {
+        return this.draw;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,1121 @@
+package com.gamesbykevin.jezzin.simulation;
+
+import com.gamesbykevin.jezzin.balls.Ball;
+import com.gamesbykevin.jezzin.balls.BallsHelper;
+import com.gamesbykevin.jezzin.boundaries.BoundariesHelper;
+import com.gamesbykevin.jezzin.boundaries.Boundary;
+import com.gamesbykevin.jezzin.boundaries.Coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The logic of a single level: the balls, the boundaries and the wall being drawn.<br>
+ * Nothing here depends on android, so a level can also be simulated on a plain JVM.
+ * @author GOD
+ */
+public final class World
+{
+    /**
+     * The outcome of a single update
+     */
+    public enum Result
+    {
+        None,
+        WallComplete,
+        LevelComplete,
+        LifeLost,
+        NoLives,
+        TimeUp
+    }
+    
+    /**
+     * Default bounds where the balls bounce
+     */
+    public static final int BOUNDS_LEFT = 10;
+    public static final int BOUNDS_TOP = 75;
+    public static final int BOUNDS_RIGHT = 470;
+    public static final int BOUNDS_BOTTOM = 725;
+    
+    /**
+     * The size of the balls
+     */
+    public static final int BALL_DIMENSION = 32;
+    
+    /**
+     * The maximum velocity for the balls
+     */
+    public static final double VELOCITY_MAX = (double)BALL_DIMENSION / 4.0;
+    
+    /**
+     * The minimum velocity for the balls
+     */
+    public static final double VELOCITY_MIN = (double)BALL_DIMENSION / 20.0;
+    
+    /**
+     * The furthest a ball can move in a single step, any further and it could pass through the wall or another ball
+     */
+    public static final double STEP_MAX = (double)BALL_DIMENSION / 2.0;
+    
+    /**
+     * The maximum number of balls allowed
+     */
+    public static final int BALL_MAX = 15;
+    
+    /**
+     * The minimum number of balls allowed
+     */
+    public static final int BALL_MIN = 1;
+    
+    /**
+     * The size of a cell in the spawn grid compared to the size of a ball, so each ball can be placed randomly within its cell
+     */
+    public static final double SPAWN_CELL_RATIO = 1.5;
+    
+    /**
+     * The smallest gap between two balls when they are placed (pixels)
+     */
+    public static final int SPAWN_GAP = 2;
+    
+    /**
+     * The required progress to complete the level
+     */
+    public static final int PROGRESS_GOAL = 75;
+    
+    /**
+     * The wall is drawn horizontally
+     */
+    public static final int DIRECTION_HORIZONTAL = 0;
+    
+    /**
+     * The wall is drawn vertically
+     */
+    public static final int DIRECTION_VERTICAL = 1;
+    
+    /**
+     * The most walls that can be drawn at the same time, one for each finger on the screen
+     */
+    public static final int WALL_MAX = 5;
+    
+    //random object used by the level, seeded at the start of each level
+    private final Random random;
+    
+    //the seed of the current level
+    private long seed;
+    
+    //list of balls in play
+    private final List<Ball> balls;
+    
+    //the list of bounds for the current level that still contain balls
+    private final List<Boundary> boundaries;
+    
+    //every boundary created in the current level, the location in the list is the id of the boundary
+    private final List<Boundary> storage;
+    
+    //the total area of the solid bounds
+    private int solidArea;
+    
+    //the walls being drawn, in the order they were started
+    private final List<Wall> walls;
+    
+    //the walls a ball passed through during the latest update
+    private final List<Wall> hits;
+    
+    //do we apply ball collision with the other balls
+    private boolean collision = true;
+    
+    //the current velocity restriction
+    private double velocityMin = VELOCITY_MIN, velocityMax = VELOCITY_MAX;
+    
+    //the progress required to complete the level
+    private int progressGoal = PROGRESS_GOAL;
+    
+    //the dimensions of a ball
+    private final int dimension = BALL_DIMENSION;
+    
+    //the lives remaining
+    private int lives;
+    
+    //the time elapsed in the level (milliseconds)
+    private long time;
+    
+    //the time to count down from, 0 if there is no count down (milliseconds)
+    private long timeLeft;
+    
+    //the number of updates completed in the current level
+    private int tick;
+    
+    //moves the balls from collision to collision, null when the balls are moved every update
+    private EventSimulation events;
+    
+    //every filled pixel, null when the progress is calculated from the area of the solid boundaries
+    private Coverage coverage;
+    
+    /**
+     * Create an empty world, call {@link #reset(long, int)} to start a level
+     */
+    public World()
+    {
+        //create our random object
+        this.random = new Random();
+        
+        //create new lists
+        this.balls = new ArrayList<Ball>();
+        this.boundaries = new ArrayList<Boundary>();
+        this.storage = new ArrayList<Boundary>();
+        
+        //create our lists of walls
+        this.walls = new ArrayList<Wall>(WALL_MAX);
+        this.hits = new ArrayList<Wall>(WALL_MAX);
+    }
+    
+    /**
+     * Start a new level.<br>
+     * The same seed and settings will always create the same level
+     * @param seed The seed of the level
+     * @param count The number of balls to be created
+     */
+    public void reset(final long seed, final int count)
+    {
+        //seed our random object
+        this.seed = seed;
+        this.random.setSeed(seed);
+        
+        //no updates have happened yet
+        this.tick = 0;
+        this.time = 0;
+        
+        //reset boundaries
+        resetBoundaries();
+        
+        //reset the balls
+        resetBalls(count);
+        
+        //place the balls in the boundary
+        BoundariesHelper.assignBoundary(this);
+        
+        //predict the collisions of the new balls
+        if (isEventDriven())
+            events.reset();
+    }
+    
+    /**
+     * Reset the boundaries to a single default boundary
+     */
+    private void resetBoundaries()
+    {
+        //clear list
+        getBoundaries().clear();
+        this.storage.clear();
+        this.solidArea = 0;
+        
+        //nothing is filled yet
+        if (hasCoverage())
+            coverage.reset();
+        
+        //create default boundary
+        Boundary boundary = createBoundary(
+            BOUNDS_LEFT,
+            BOUNDS_TOP,
+            BOUNDS_RIGHT - BOUNDS_LEFT,
+            BOUNDS_BOTTOM - BOUNDS_TOP
+        );
+        
+        //the default will not be solid
+        boundary.setSolid(false);
+        
+        //add default boundary to list
+        getBoundaries().add(boundary);
+        
+        //stop drawing
+        getWalls().clear();
+    }
+    
+    /**
+     * Reset the balls.<br>
+     * The balls will be placed randomly with a random velocity
+     * @param count The number of balls to be created
+     */
+    private void resetBalls(int count)
+    {
+        if (count > BALL_MAX)
+            count = BALL_MAX;
+        if (count < BALL_MIN)
+            count = BALL_MIN;
+        
+        //create new list
+        List<Ball.Type> options = new ArrayList<Ball.Type>();
+        
+        //add all types to the list
+        for (Ball.Type type : Ball.Type.values())
+        {
+            options.add(type);
+        }
+        
+        //remove any existing balls
+        getBalls().clear();
+        
+        //the area the balls can be placed
+        final int w = BOUNDS_RIGHT - BOUNDS_LEFT;
+        final int h = BOUNDS_BOTTOM - BOUNDS_TOP;
+        
+        /**
+         * When collision is applied each ball gets its own cell in a grid covering the area.
+         * The cells are larger than a ball, and the center of the ball is placed randomly within the
+         * cell (jitter) far enough from the edge that no two balls can touch
+         */
+        final int cellSize = (int)Math.ceil(getDimension() * SPAWN_CELL_RATIO);
+        final int columns = w / cellSize;
+        final int rows = h / cellSize;
+        final int cellWidth = (columns > 0) ? w / columns : 0;
+        final int cellHeight = (rows > 0) ? h / rows : 0;
+        
+        //the closest the center of a ball can be to the edge of its cell
+        final int margin = (getDimension() / 2) + (SPAWN_GAP / 2);
+        
+        //the cells still available
+        final int[] cells = new int[(hasCollision()) ? columns * rows : 0];
+        
+        if (hasCollision())
+        {
+            //if there isn't enough room there is no point in trying
+            if (count > cells.length)
+                throw new IllegalArgumentException("Not enough room for " + count + " balls, the maximum is " + cells.length);
+            
+            for (int i = 0; i < cells.length; i++)
+            {
+                cells[i] = i;
+            }
+        }
+        
+        //continue until we reach the count
+        while (getBalls().size() < count)
+        {
+            //pick random type
+            final int index = getRandom().nextInt(options.size());
+            
+            //create a new ball of type
+            Ball ball = new Ball(Ball.Type.values()[index]);
+            
+            //assign dimensions
+            ball.setWidth(getDimension());
+            ball.setHeight(getDimension());
+            
+            //if we want to apply collision
+            if (hasCollision())
+            {
+                //pick a random cell that hasn't been used, and move it out of the way
+                final int pick = getBalls().size() + getRandom().nextInt(cells.length - getBalls().size());
+                final int cell = cells[pick];
+                cells[pick] = cells[getBalls().size()];
+                cells[getBalls().size()] = cell;
+                
+                //pick random location for the center within the cell
+                ball.setX(((cell % columns) * cellWidth) + margin + getRandom().nextInt(cellWidth - (margin * 2) + 1) + BOUNDS_LEFT);
+                ball.setY(((cell / columns) * cellHeight) + margin + getRandom().nextInt(cellHeight - (margin * 2) + 1) + BOUNDS_TOP);
+            }
+            else
+            {
+                //pick random location
+                ball.setX(getRandom().nextInt(w - getDimension()) + BOUNDS_LEFT);
+                ball.setY(getRandom().nextInt(h - getDimension()) + BOUNDS_TOP);
+            }
+            
+            //pick random velocity
+            ball.setDX((getRandom().nextDouble() * (getVelocityMax() - getVelocityMin())) + getVelocityMin());
+            ball.setDY((getRandom().nextDouble() * (getVelocityMax() - getVelocityMin())) + getVelocityMin());
+            
+            //remove option from our list
+            options.remove(index);
+            
+            //if our list is empty, fill list again
+            if (options.isEmpty())
+            {
+                //add all types to the list
+                for (Ball.Type type : Ball.Type.values())
+                {
+                    options.add(type);
+                }
+            }
+            
+            //add ball to list
+            getBalls().add(ball);
+        }
+    }
+    
+    /**
+     * Start drawing a new wall.<br>
+     * The wall can only be started inside a boundary that isn't solid, and only while less than {@link #WALL_MAX} walls are drawn.
+     * @param startX starting x-coordinate
+     * @param startY starting y-coordinate
+     * @param direction The direction of the wall {@link #DIRECTION_HORIZONTAL} or {@link #DIRECTION_VERTICAL}
+     * @param velocity The speed of the wall
+     * @return true if we are successful in starting the draw, false otherwise
+     */
+    public boolean startDraw(final int startX, final int startY, final int direction, final double velocity)
+    {
+        //we can't draw any more walls at the same time
+        if (getWalls().size() >= WALL_MAX)
+            return false;
+        
+        //track the start index
+        int startI = -1;
+        
+        //check each boundary to locate the start index
+        for (int i = 0; i < getBoundaries().size(); i++)
+        {
+            if (getBoundary(i).contains(startX, startY))
+            {
+                //store the index
+                startI = i;
+                
+                //no need to continue
+                break;
+            }
+        }
+        
+        //if the start index was not found, return false
+        if (startI < 0)
+            return false;
+        
+        //if the start is solid, return false
+        if (getBoundary(startI).isSolid())
+            return false;
+        
+        //create a new wall
+        final Wall wall = new Wall();
+        
+        //store the id of the boundary
+        wall.setIndex(getBoundary(startI).getId());
+        
+        //can only move either vertical or horizontal
+        wall.setDX((direction == DIRECTION_HORIZONTAL) ? velocity : 0);
+        wall.setDY((direction == DIRECTION_HORIZONTAL) ? 0 : velocity);
+        
+        //start
+        wall.setX(startX);
+        wall.setY(startY);
+        
+        //setup location
+        if (wall.getDX() != 0)
+        {
+            wall.setWidth(1);
+            wall.setHeight(Wall.DIMENSION);
+            wall.setY(wall.getY() - (wall.getHeight() / 2));
+        }
+        else
+        {
+            wall.setWidth(Wall.DIMENSION);
+            wall.setHeight(1);
+            wall.setX(wall.getX() - (wall.getWidth() / 2));
+        }
+        
+        //flag draw start
+        wall.setDraw(true);
+        
+        //add to the walls being drawn
+        getWalls().add(wall);
+        
+        //we were successful
+        return true;
+    }
+    
+    /**
+     * Advance the level a single update
+     * @param elapsed The time this update represents (milliseconds)
+     * @return The outcome of the update
+     */
+    public Result update(final long elapsed)
+    {
+        Result result = Result.None;
+        
+        //update the walls if we are drawing
+        if (hasDraw())
+            result = updateWalls();
+        
+        //add the time
+        this.time += elapsed;
+        
+        //if counting down check if time has run out, unless the level already ended
+        if (getTimeLeft() > 0 && getTimeLeft() - getTime() < 0 && result != Result.LevelComplete && result != Result.NoLives)
+            result = Result.TimeUp;
+        
+        if (isEventDriven())
+        {
+            //move the balls to where they are at the next update
+            events.advance(getTick() + 1);
+        }
+        else
+        {
+            //update the balls, a fast ball can also pass through a wall while moving
+            updateBalls();
+            
+            //each wall that was passed through costs a life, unless the level already ended
+            for (int i = 0; i < hits.size() && !hasEnded(result); i++)
+            {
+                result = getResult(result, loseLife(hits.get(i)));
+            }
+            
+            //remove the walls that are done
+            removeWalls();
+        }
+        
+        //keep track of the number of updates
+        this.tick++;
+        
+        //return our result
+        return result;
+    }
+    
+    /**
+     * Grow each wall in the order they were started, and remove the walls that are done
+     * @return The most important outcome of the walls, see {@link #getResult(Result, Result)}
+     */
+    private Result updateWalls()
+    {
+        Result result = Result.None;
+        
+        for (int i = 0; i < getWalls().size() && !hasEnded(result); i++)
+        {
+            final Wall wall = getWalls().get(i);
+            
+            //skip walls that were stopped by another wall completing
+            if (wall.hasDraw())
+                result = getResult(result, updateWall(wall));
+        }
+        
+        //remove the walls that are done
+        removeWalls();
+        
+        return result;
+    }
+    
+    /**
+     * Grow the wall and check if it is complete or hit a ball
+     * @param wall The wall to update
+     * @return The outcome of the update
+     */
+    private Result updateWall(final Wall wall)
+    {
+        //update the progress
+        wall.setX(wall.getX() - wall.getDX());
+        wall.setWidth(wall.getWidth() + wall.getDX() + wall.getDX());
+        wall.setY(wall.getY() - wall.getDY());
+        wall.setHeight(wall.getHeight() + wall.getDY() + wall.getDY());
+        
+        //the boundary the wall is in
+        final Boundary boundary = getBoundaryById(wall.getIndex());
+        
+        //if the progress is not inside the boundary, we hit the wall and are done
+        final boolean progress1Complete = !boundary.contains((int)wall.getX(), (int)wall.getY());
+        final boolean progress2Complete = !boundary.contains((int)(wall.getX() + wall.getWidth()), (int)(wall.getY() + wall.getHeight()));
+        
+        //make sure we stay in bounds
+        BoundariesHelper.checkProgress(this, wall);
+        
+        //if both have completed we need to separate
+        if (progress1Complete && progress2Complete)
+        {
+            //split the boundary into 2 smaller ones, and assign its balls to them
+            final Boundary[] parts = BoundariesHelper.splitBoundary(this, wall);
+            
+            //move the solid boundaries out of the way
+            compactBoundaries();
+            
+            //the other walls in the same boundary continue in the new boundaries
+            moveWalls(wall, parts);
+            
+            //the boundaries changed so the predicted collisions did too
+            if (isEventDriven())
+                events.reset();
+            
+            //we are done drawing
+            wall.reset();
+            
+            //if we have met the progress the level is complete
+            return (getTotalProgress() >= getProgressGoal()) ? Result.LevelComplete : Result.WallComplete;
+        }
+        
+        //if there is collision with the progress tracker
+        if (BoundariesHelper.hasProgressCollision(this, wall))
+            return loseLife(wall);
+        
+        //nothing happened
+        return Result.None;
+    }
+    
+    /**
+     * Move the other walls drawn in a boundary that was split to the new boundary containing the center of the wall.<br>
+     * A wall that ends up in a solid boundary is stopped, the area already counts towards the progress
+     * @param wall The wall that split the boundary
+     * @param parts The 2 new boundaries
+     */
+    private void moveWalls(final Wall wall, final Boundary[] parts)
+    {
+        for (int i = 0; i < getWalls().size(); i++)
+        {
+            final Wall tmp = getWalls().get(i);
+            
+            //only the other walls in the boundary that was split
+            if (tmp == wall || !tmp.hasDraw() || tmp.getIndex() != wall.getIndex())
+                continue;
+            
+            //the center of the wall
+            final int x = (int)(tmp.getX() + (tmp.getWidth() / 2));
+            final int y = (int)(tmp.getY() + (tmp.getHeight() / 2));
+            
+            //the boundary the center is in
+            final Boundary boundary = (parts[0].contains(x, y)) ? parts[0] : parts[1];
+            
+            if (boundary.isSolid())
+            {
+                //there is nothing left to split
+                tmp.reset();
+            }
+            else
+            {
+                //continue drawing in the new boundary, the ends past the split are completed on the next update
+                tmp.setIndex(boundary.getId());
+            }
+        }
+    }
+    
+    /**
+     * Remove the walls that are no longer drawn from the list
+     */
+    private void removeWalls()
+    {
+        for (int i = getWalls().size() - 1; i >= 0; i--)
+        {
+            if (!getWalls().get(i).hasDraw())
+                getWalls().remove(i);
+        }
+    }
+    
+    /**
+     * Did the level end?
+     * @param result The outcome of the update so far
+     * @return true if the level is complete or the game is over, false otherwise
+     */
+    private static boolean hasEnded(final Result result)
+    {
+        return (result == Result.LevelComplete || result == Result.NoLives || result == Result.TimeUp);
+    }
+    
+    /**
+     * Pick the most important outcome when more than 1 wall changed during an update.<br>
+     * The end of the level is the most important, then losing a life, then completing a wall
+     * @param result The outcome so far
+     * @param next The outcome of the next wall
+     * @return The outcome of the update
+     */
+    private static Result getResult(final Result result, final Result next)
+    {
+        if (hasEnded(result) || next == Result.None)
+            return result;
+        if (hasEnded(next) || result == Result.None)
+            return next;
+        
+        //losing a life is more important than completing a wall
+        return (next == Result.LifeLost) ? next : result;
+    }
+    
+    /**
+     * The wall was hit by a ball, remove a life
+     * @param wall The wall that was hit
+     * @return {@link Result#NoLives} if the game is over, {@link Result#LifeLost} otherwise
+     */
+    private Result loseLife(final Wall wall)
+    {
+        //remove a life
+        setLives(getLives() - 1);
+        
+        //if no more lives, the game is over
+        if (getLives() < 1)
+            return Result.NoLives;
+        
+        //we are done drawing
+        wall.reset();
+        
+        //we lost a life
+        return Result.LifeLost;
+    }
+    
+    /**
+     * Move the balls and keep them inside their boundary.<br>
+     * If a ball moves further than {@link #STEP_MAX} in one update, the update is split into smaller steps
+     * so the balls can't pass through each other or the edges, and each step is swept against the walls.
+     * The walls a ball passed through are kept in {@link #hits}
+     */
+    private void updateBalls()
+    {
+        //the number of steps needed so no ball moves too far at once
+        final int steps = getSteps();
+        
+        //no wall has been passed through yet
+        hits.clear();
+        
+        for (int step = 0; step < steps; step++)
+        {
+            //is the collision check option enabled, balls can only collide with balls in the same boundary
+            if (hasCollision())
+            {
+                for (int i = 0; i < getBoundaries().size(); i++)
+                {
+                    BallsHelper.checkBallCollision(getBoundary(i).getBalls());
+                }
+            }
+            
+            for (int index = 0; index < getBalls().size(); index++)
+            {
+                Ball ball = getBalls().get(index);
+                
+                //manage the ball velocity with its assigned boundary
+                BallsHelper.checkBallVelocity(ball, getBoundaryById(ball.getIndex()));
+                
+                //update the current ball
+                ball.setX(ball.getX() + (ball.getDX() / steps));
+                ball.setY(ball.getY() + (ball.getDY() / steps));
+            }
+            
+            //slow balls can't pass through a wall, it is checked when the wall grows
+            if (steps > 1)
+                checkSweptCollision(steps);
+        }
+    }
+    
+    /**
+     * Sweep the balls that moved this step against each wall.<br>
+     * Each wall only checks the balls of its own boundary, so the cost grows with the number of walls
+     * and not with the number of walls times the number of balls
+     * @param steps The number of steps in this update
+     */
+    private void checkSweptCollision(final int steps)
+    {
+        for (int i = 0; i < getWalls().size(); i++)
+        {
+            final Wall wall = getWalls().get(i);
+            
+            //skip walls that were already passed through
+            if (hits.contains(wall))
+                continue;
+            
+            for (Ball ball : getBoundaryById(wall.getIndex()).getBalls())
+            {
+                //the ball moved from here this step
+                final double x = ball.getX() - (ball.getDX() / steps);
+                final double y = ball.getY() - (ball.getDY() / steps);
+                
+                if (BoundariesHelper.hasSweptCollision(wall, ball, x, y))
+                {
+                    hits.add(wall);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get the number of steps needed to move the balls this update
+     * @return The number of steps so no ball moves further than {@link #STEP_MAX} in a single step
+     */
+    private int getSteps()
+    {
+        int steps = 1;
+        
+        for (int index = 0; index < getBalls().size(); index++)
+        {
+            final Ball ball = getBalls().get(index);
+            
+            //the distance the ball moves in one update
+            final double distance = Math.sqrt((ball.getDX() * ball.getDX()) + (ball.getDY() * ball.getDY()));
+            
+            if (distance > STEP_MAX * steps)
+                steps = (int)Math.ceil(distance / STEP_MAX);
+        }
+        
+        return steps;
+    }
+    
+    /**
+     * Remove the solid boundaries from the list of boundaries.<br>
+     * Only their area is kept, the solid parts of the play area are never drawn
+     */
+    private void compactBoundaries()
+    {
+        for (int i = getBoundaries().size() - 1; i >= 0; i--)
+        {
+            final Boundary boundary = getBoundary(i);
+            
+            //only remove boundaries that are solid with no balls assigned
+            if (!boundary.isSolid() || !boundary.getBalls().isEmpty())
+                continue;
+            
+            //remove from the list
+            getBoundaries().remove(i);
+            
+            //keep track of the area
+            this.solidArea += boundary.getArea();
+            
+            //fill the pixels
+            if (hasCoverage())
+                coverage.fill(boundary);
+        }
+    }
+    
+    /**
+     * Get the total progress.<br>
+     * This will be the total area of all solid boundaries, or the filled pixels when coverage is enabled.
+     * @return The progress of the boundaries between 0 - 100
+     */
+    public int getTotalProgress()
+    {
+        //the filled pixels are counted as they are filled
+        if (hasCoverage())
+            return coverage.getProgress();
+        
+        //the area that has been removed from the list of boundaries
+        double area = solidArea;
+        
+        //calculate the total area completed
+        for (int i = 0; i < getBoundaries().size(); i++)
+        {
+            //if solid add to the total
+            if (getBoundary(i).isSolid())
+                area += getBoundary(i).getArea();
+        }
+        
+        //return the result
+        return (int)(100 * (area / ((BOUNDS_RIGHT - BOUNDS_LEFT) * (BOUNDS_BOTTOM - BOUNDS_TOP))));
+    }
+    
+    /**
+     * Calculate a checksum of the boundary layout
+     * @return A checksum of each boundary location, size, and solid flag, and the total solid area
+     */
+    public long getLayoutChecksum()
+    {
+        long checksum = 17 + solidArea;
+        
+        for (int i = 0; i < getBoundaries().size(); i++)
+        {
+            checksum = (31 * checksum) + getBoundary(i).getLeft();
+            checksum = (31 * checksum) + getBoundary(i).getTop();
+            checksum = (31 * checksum) + getBoundary(i).getRight();
+            checksum = (31 * checksum) + getBoundary(i).getBottom();
+            checksum = (31 * checksum) + (getBoundary(i).isSolid() ? 1 : 0);
+        }
+        
+        return checksum;
+    }
+    
+    /**
+     * Calculate a checksum of the balls
+     * @return A checksum of the exact position and velocity of every ball
+     */
+    public long getBallChecksum()
+    {
+        long checksum = 17;
+        
+        for (int i = 0; i < getBalls().size(); i++)
+        {
+            checksum = (31 * checksum) + Double.doubleToLongBits(getBalls().get(i).getX());
+            checksum = (31 * checksum) + Double.doubleToLongBits(getBalls().get(i).getY());
+            checksum = (31 * checksum) + Double.doubleToLongBits(getBalls().get(i).getDX());
+            checksum = (31 * checksum) + Double.doubleToLongBits(getBalls().get(i).getDY());
+        }
+        
+        return checksum;
+    }
+    
+    /**
+     * Get the random object.<br>
+     * This is seeded at the start of each level, so anything that affects the level should use it
+     * @return The random object for the current level
+     */
+    public Random getRandom()
+    {
+        return this.random;
+    }
+    
+    /**
+     * Get the seed
+     * @return The seed of the current level
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+    
+    /**
+     * Get the tick
+     * @return The number of updates completed in the current level
+     */
+    public int getTick()
+    {
+        return this.tick;
+    }
+    
+    /**
+     * Get the list of balls
+     * @return The complete list of balls
+     */
+    public List<Ball> getBalls()
+    {
+        //event driven balls are only placed at their current location when needed
+        if (isEventDriven())
+            events.sample();
+        
+        return this.balls;
+    }
+    
+    /**
+     * Get the boundaries
+     * @return The list of boundaries
+     */
+    public List<Boundary> getBoundaries()
+    {
+        //each boundary has a list of its balls, so make sure they are at their current location
+        if (isEventDriven())
+            events.sample();
+        
+        return this.boundaries;
+    }
+    
+    /**
+     * Create a new boundary with the next id, the boundary still needs to be added to the list
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param w width
+     * @param h height
+     * @return The new boundary
+     */
+    public Boundary createBoundary(final int x, final int y, final int w, final int h)
+    {
+        final Boundary boundary = new Boundary(storage.size(), x, y, w, h);
+        
+        //the id is the location in storage
+        storage.add(boundary);
+        
+        return boundary;
+    }
+    
+    /**
+     * Get the boundary with the id
+     * @param id The id of the boundary, see {@link Ball#getIndex()}
+     * @return The boundary with the id
+     */
+    public Boundary getBoundaryById(final int id)
+    {
+        //each boundary has a list of its balls, so make sure they are at their current location
+        if (isEventDriven())
+            events.sample();
+        
+        return storage.get(id);
+    }
+    
+    /**
+     * Get the boundary at the specified index
+     * @param index The index location of the boundary
+     * @return The boundary at the specified index
+     */
+    public Boundary getBoundary(final int index)
+    {
+        return getBoundaries().get(index);
+    }
+    
+    /**
+     * Get the walls
+     * @return The walls being drawn, in the order they were started
+     */
+    public List<Wall> getWalls()
+    {
+        return this.walls;
+    }
+    
+    /**
+     * Are we drawing any walls?
+     * @return true = yes, false = no
+     */
+    public boolean hasDraw()
+    {
+        return !getWalls().isEmpty();
+    }
+    
+    /**
+     * Assign collision to the balls
+     * @param collision true means the balls can collide with one another, false no collision
+     */
+    public void setCollision(final boolean collision)
+    {
+        this.collision = collision;
+    }
+    
+    /**
+     * Is ball collision setup?
+     * @return true if the balls collide and bounce off one another, otherwise false
+     */
+    public boolean hasCollision()
+    {
+        return this.collision;
+    }
+    
+    /**
+     * Choose how the balls are moved, this needs to be set before {@link #reset(long, int)}.<br>
+     * Event driven balls move exactly from one collision to the next, and only cost time when they collide.
+     * The wall is still checked against the location of the balls at each update
+     * @param eventDriven true = calculate the collisions ahead of time, false = move the balls a little every update
+     */
+    public void setEventDriven(final boolean eventDriven)
+    {
+        this.events = (eventDriven) ? new EventSimulation(this, balls, storage) : null;
+    }
+    
+    /**
+     * Are the balls event driven?
+     * @return true if the collisions are calculated ahead of time, false if the balls are moved every update
+     */
+    public boolean isEventDriven()
+    {
+        return (this.events != null);
+    }
+    
+    /**
+     * Choose how the progress is measured, this needs to be set before {@link #reset(long, int)}.<br>
+     * With coverage every filled pixel is tracked, so the progress is exact for any shape
+     * @param coverage true = track every filled pixel, false = add the area of the solid boundaries
+     */
+    public void setCoverage(final boolean coverage)
+    {
+        this.coverage = (coverage) ? new Coverage(BOUNDS_LEFT, BOUNDS_TOP, BOUNDS_RIGHT - BOUNDS_LEFT, BOUNDS_BOTTOM - BOUNDS_TOP) : null;
+    }
+    
+    /**
+     * Is coverage enabled?
+     * @return true if every filled pixel is tracked, false otherwise
+     */
+    public boolean hasCoverage()
+    {
+        return (this.coverage != null);
+    }
+    
+    /**
+     * Get the coverage
+     * @return Every filled pixel of the level, null if coverage isn't enabled
+     */
+    public Coverage getCoverage()
+    {
+        return this.coverage;
+    }
+    
+    /**
+     * Get the number of ball collisions handled
+     * @return The number of events handled when event driven, otherwise 0
+     */
+    public long getEvents()
+    {
+        return (isEventDriven()) ? events.getEvents() : 0;
+    }
+    
+    /**
+     * Assign the velocity range of the balls, used when the balls are created
+     * @param velocityMin The minimum speed
+     * @param velocityMax The maximum speed
+     */
+    public void setVelocity(final double velocityMin, final double velocityMax)
+    {
+        this.velocityMin = velocityMin;
+        this.velocityMax = velocityMax;
+    }
+    
+    /**
+     * Get velocity minimum
+     * @return The minimum amount of pixels the balls are allowed to move
+     */
+    public double getVelocityMin()
+    {
+        return this.velocityMin;
+    }
+    
+    /**
+     * Get velocity maximum
+     * @return The maximum amount of pixels the balls are allowed to move
+     */
+    public double getVelocityMax()
+    {
+        return this.velocityMax;
+    }
+    
+    /**
+     * Assign the progress goal
+     * @param progressGoal The progress required to complete the level (0 - 100)
+     */
+    public void setProgressGoal(final int progressGoal)
+    {
+        this.progressGoal = progressGoal;
+    }
+    
+    /**
+     * Get the progress goal
+     * @return The progress required to complete the level (0 - 100)
+     */
+    public int getProgressGoal()
+    {
+        return this.progressGoal;
+    }
+    
+    /**
+     * Get the dimension size of a single ball
+     * @return The width/height of a ball
+     */
+    public int getDimension()
+    {
+        return this.dimension;
+    }
+    
+    /**
+     * Assign the # of lives
+     * @param lives The desired amount of lives
+     */
+    public void setLives(final int lives)
+    {
+        this.lives = (lives < 0) ? 0 : lives;
+    }
+    
+    /**
+     * Get the # of lives
+     * @return The number of lives remaining
+     */
+    public int getLives()
+    {
+        return this.lives;
+    }
+    
+    /**
+     * Get the elapsed time
+     * @return The time elapsed in the level (milliseconds)
+     */
+    public long getTime()
+    {
+        return this.time;
+    }
+    
+    /**
+     * Assign the time to count down from
+     * @param timeLeft The time to count down from, 0 if there is no count down (milliseconds)
+     */
+    public void setTimeLeft(final long timeLeft)
+    {
+        this.timeLeft = timeLeft;
+    }
+    
+    /**
+     * Get the time to count down from
+     * @return The time to count down from, 0 if there is no count down (milliseconds)
+     */
+    public long getTimeLeft()
+    {
+        return this.timeLeft;
+    }
+}
\ No newline at end of file
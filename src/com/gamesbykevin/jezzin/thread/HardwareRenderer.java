@@ -0,0 +1,119 @@
+package com.gamesbykevin.jezzin.thread;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+import java.lang.reflect.Method;
+
+/**
+ * Draws each frame with the gpu using the hardware canvas of the surface holder (Android 8.0 and up).<br>
+ * The holder locks the surface the same way as a software canvas, so the surface isn't destroyed or resized while a frame is drawn.<br>
+ * The images are uploaded as textures the first time they are drawn and the draw calls are batched by the gpu,
+ * so the screens draw the same as they do in software.<br>
+ * If the hardware canvas can't be created before the first frame, the software renderer is used instead
+ * @author GOD
+ */
+public final class HardwareRenderer implements Renderer
+{
+    /**
+     * The first api level that has a hardware canvas for a surface holder
+     */
+    private static final int API_LEVEL = 26;
+    
+    //the method to lock the hardware canvas, we are built against an older api
+    private static final Method LOCK;
+    
+    static
+    {
+        Method method = null;
+        
+        if (Build.VERSION.SDK_INT >= API_LEVEL)
+        {
+            try
+            {
+                method = SurfaceHolder.class.getMethod("lockHardwareCanvas");
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+            }
+        }
+        
+        LOCK = method;
+    }
+    
+    //area where game play is rendered
+    private final SurfaceHolder holder;
+    
+    //the renderer used if the hardware canvas isn't available
+    private final SoftwareRenderer fallback;
+    
+    //has a hardware frame been shown, once the surface is used by the gpu it can't be locked in software
+    private boolean started = false;
+    
+    //did the hardware canvas fail
+    private boolean failed = false;
+    
+    /**
+     * Create the renderer
+     * @param holder The holder of the surface we draw on
+     */
+    public HardwareRenderer(final SurfaceHolder holder)
+    {
+        this.holder = holder;
+        this.fallback = new SoftwareRenderer(holder);
+        this.failed = !isSupported();
+    }
+    
+    /**
+     * Does this device have a hardware canvas for a surface holder?
+     * @return true = yes, false = no
+     */
+    public static boolean isSupported()
+    {
+        return (LOCK != null);
+    }
+    
+    @Override
+    public Canvas lockCanvas()
+    {
+        if (failed)
+            return fallback.lockCanvas();
+        
+        try
+        {
+            //null if there is no surface to draw on
+            return (Canvas)LOCK.invoke(holder);
+        }
+        catch (Exception e)
+        {
+            //once the gpu has drawn to the surface, only skip this frame
+            if (started)
+                return null;
+            
+            e.printStackTrace();
+            
+            //draw in software from now on
+            this.failed = true;
+            
+            return fallback.lockCanvas();
+        }
+    }
+    
+    @Override
+    public void unlockCanvasAndPost(final Canvas canvas)
+    {
+        //the holder posts the frame and releases the lock for either canvas
+        holder.unlockCanvasAndPost(canvas);
+        
+        if (!failed)
+            this.started = true;
+    }
+    
+    @Override
+    public boolean isHardwareAccelerated()
+    {
+        return !failed;
+    }
+}
\ No newline at end of file
@@ -4,6 +4,8 @@ import android.graphics.Canvas;
 import android.view.SurfaceHolder;
 import com.gamesbykevin.androidframework.anim.Animation;
 
+import com.gamesbykevin.jezzin.Latency;
+import com.gamesbykevin.jezzin.Startup;
 import com.gamesbykevin.jezzin.panel.GamePanel;
 
 /**
@@ -17,8 +19,15 @@ public class MainThread extends Thread
      */
     public static final boolean DEBUG = false;
     
-    //the assigned fps for this game
-    private static final int FPS = 30;
+    /**
+     * The assigned fps for this game
+     */
+    public static final int FPS = 30;
+    
+    /**
+     * Do we draw with the gpu when the device supports it? (false = always draw in software)
+     */
+    public static final boolean HARDWARE = true;
     
     //our game panel
     private final GamePanel panel;
@@ -26,6 +35,9 @@ public class MainThread extends Thread
     //area where game play is rendered
     private final SurfaceHolder holder;
     
+    //gets the canvas for each frame and shows it
+    private final Renderer renderer;
+    
     //is the thread running
     private boolean running;
     
@@ -45,6 +57,21 @@ public class MainThread extends Thread
         //assign the necessary references
         this.holder = holder;
         this.panel = panel;
+        
+        //pick the renderer once, the software renderer is used where the gpu can't draw
+        this.renderer = (HARDWARE && HardwareRenderer.isSupported()) ? new HardwareRenderer(holder) : new SoftwareRenderer(holder);
+        
+        if (DEBUG)
+            System.out.println("Hardware rendering " + renderer.isHardwareAccelerated());
+    }
+    
+    /**
+     * Get the renderer
+     * @return The renderer providing the canvas for each frame
+     */
+    public Renderer getRenderer()
+    {
+        return this.renderer;
     }
     
     @Override
@@ -73,7 +100,7 @@ public class MainThread extends Thread
                 try 
                 {
                     //attempt to lock the canvas to edit the pixels of the surface
-                    canvas = holder.lockCanvas();
+                    canvas = renderer.lockCanvas();
 
                     //make sure no other threads are accessing the holder
                     synchronized (holder)
@@ -98,7 +125,13 @@ public class MainThread extends Thread
                         try
                         {
                             //render the pixels on the canvas to the screen
-                            holder.unlockCanvasAndPost(canvas);
+                            renderer.unlockCanvasAndPost(canvas);
+                            
+                            //the start up is complete once the first frame is shown
+                            Startup.mark(Startup.Mark.FirstFrame);
+                            
+                            //the walls started during this update are now shown
+                            Latency.posted();
                         }
                         catch (Exception e)
                         {
@@ -0,0 +1,29 @@
+package com.gamesbykevin.jezzin.thread;
+
+import android.graphics.Canvas;
+
+/**
+ * Provides the canvas for each frame and shows it on the screen once it is drawn.<br>
+ * The game is always drawn with a {@link Canvas}, so every screen renders the same way no matter which renderer is used
+ * @author GOD
+ */
+public interface Renderer
+{
+    /**
+     * Get the canvas to draw the next frame
+     * @return The canvas, null if there is no surface to draw on (the game is still updated)
+     */
+    public Canvas lockCanvas();
+    
+    /**
+     * Show the frame drawn on the canvas
+     * @param canvas The canvas from {@link #lockCanvas()}
+     */
+    public void unlockCanvasAndPost(final Canvas canvas);
+    
+    /**
+     * Is the frame drawn by the gpu?
+     * @return true = yes, false = no
+     */
+    public boolean isHardwareAccelerated();
+}
\ No newline at end of file
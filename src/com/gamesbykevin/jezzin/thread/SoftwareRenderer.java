@@ -0,0 +1,41 @@
+package com.gamesbykevin.jezzin.thread;
+
+import android.graphics.Canvas;
+import android.view.SurfaceHolder;
+
+/**
+ * Draws each frame into the pixels of the surface with the cpu, this works on every device
+ * @author GOD
+ */
+public final class SoftwareRenderer implements Renderer
+{
+    //area where game play is rendered
+    private final SurfaceHolder holder;
+    
+    /**
+     * Create the renderer
+     * @param holder The holder of the surface we draw on
+     */
+    public SoftwareRenderer(final SurfaceHolder holder)
+    {
+        this.holder = holder;
+    }
+    
+    @Override
+    public Canvas lockCanvas()
+    {
+        return holder.lockCanvas();
+    }
+    
+    @Override
+    public void unlockCanvasAndPost(final Canvas canvas)
+    {
+        holder.unlockCanvasAndPost(canvas);
+    }
+    
+    @Override
+    public boolean isHardwareAccelerated()
+    {
+        return false;
+    }
+}
\ No newline at end of file